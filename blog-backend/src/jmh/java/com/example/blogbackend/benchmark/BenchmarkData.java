@@ -0,0 +1,102 @@
+package com.example.blogbackend.benchmark;
+
+import com.example.blogbackend.entity.Comment;
+import com.example.blogbackend.entity.Message;
+import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.entity.Role;
+import com.example.blogbackend.entity.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * 基准测试共用的样例数据
+ */
+final class BenchmarkData {
+    static final LocalDateTime NOW = LocalDateTime.of(2024, 1, 1, 12, 0);
+
+    private BenchmarkData() {
+    }
+
+    static User user(int id) {
+        return User.builder()
+                .userId(id)
+                .username("user" + id)
+                .email("user" + id + "@example.com")
+                .avatar("/avatars/" + id + ".png")
+                .bio("这是用户 " + id + " 的个人简介")
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .disabled(false)
+                .roles(Collections.singletonList(Role.builder().roleId(2).roleName("ROLE_USER").build()))
+                .build();
+    }
+
+    static String tags(int count) {
+        List<String> tags = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            tags.add("标签" + i);
+        }
+        return String.join(",", tags);
+    }
+
+    static Post post(int id, int commentCount) {
+        User author = user(id % 50 + 1);
+        List<Comment> comments = new ArrayList<>();
+        for (int i = 0; i < commentCount; i++) {
+            comments.add(Comment.builder()
+                    .commentId(id * 100 + i)
+                    .postId(id)
+                    .userId(i + 1)
+                    .content("第 " + i + " 条评论，写得很好，受益匪浅。")
+                    .createdAt(NOW)
+                    .updatedAt(NOW)
+                    .user(user(i + 1))
+                    .build());
+        }
+        return Post.builder()
+                .postId(id)
+                .userId(author.getUserId())
+                .title("文章标题 " + id)
+                .content("正文内容。".repeat(200))
+                .summary("这是文章 " + id + " 的摘要")
+                .createdAt(NOW)
+                .updatedAt(NOW)
+                .tags(tags(5))
+                .authorName(author.getUsername())
+                .authorAvatar(author.getAvatar())
+                .isHidden(false)
+                .author(author)
+                .comments(comments)
+                .commentCount(commentCount)
+                .build();
+    }
+
+    static List<Post> posts(int count, int commentsPerPost) {
+        List<Post> posts = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            posts.add(post(i, commentsPerPost));
+        }
+        return posts;
+    }
+
+    static List<Message> messages(int count) {
+        String[] types = {"comment", "favorite", null};
+        List<Message> messages = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            messages.add(Message.builder()
+                    .messageId(i)
+                    .userId(1)
+                    .postId(i % 20 + 1)
+                    .commentId(i)
+                    .type(types[i % types.length])
+                    .isRead(i % 2 == 0 ? Boolean.TRUE : null)
+                    .createdAt(NOW)
+                    .postTitle(i % 5 == 0 ? null : "文章标题 " + i)
+                    .build());
+        }
+        return messages;
+    }
+}
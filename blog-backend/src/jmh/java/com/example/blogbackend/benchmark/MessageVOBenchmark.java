@@ -0,0 +1,45 @@
+package com.example.blogbackend.benchmark;
+
+import com.example.blogbackend.entity.Message;
+import com.example.blogbackend.vo.MessageVO;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MessageController 中消息到 MessageVO 的转换
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MessageVOBenchmark {
+    private List<Message> messages;
+
+    @Setup
+    public void setUp() {
+        messages = BenchmarkData.messages(100);
+    }
+
+    @Benchmark
+    public List<MessageVO> mapMessages() {
+        List<MessageVO> result = new ArrayList<>(messages.size());
+        for (Message message : messages) {
+            result.add(MessageVO.fromMessage(message));
+        }
+        return result;
+    }
+}
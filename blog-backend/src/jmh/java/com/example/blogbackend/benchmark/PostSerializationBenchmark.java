@@ -0,0 +1,51 @@
+package com.example.blogbackend.benchmark;
+
+import com.example.blogbackend.entity.Post;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 文章列表的 JSON 序列化（含嵌套的 author 与 comments）
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PostSerializationBenchmark {
+    @Param({"10", "50"})
+    private int postCount;
+
+    @Param({"0", "20"})
+    private int commentsPerPost;
+
+    private ObjectMapper objectMapper;
+    private List<Post> posts;
+
+    @Setup
+    public void setUp() {
+        // 与 Spring MVC 使用的默认配置一致
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        posts = BenchmarkData.posts(postCount, commentsPerPost);
+    }
+
+    @Benchmark
+    public byte[] serializePosts() throws Exception {
+        return objectMapper.writeValueAsBytes(posts);
+    }
+}
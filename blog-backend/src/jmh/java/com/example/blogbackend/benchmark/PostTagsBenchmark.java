@@ -0,0 +1,52 @@
+package com.example.blogbackend.benchmark;
+
+import com.example.blogbackend.entity.Post;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Post 标签字符串与列表之间的转换
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PostTagsBenchmark {
+    @Param({"0", "3", "10"})
+    private int tagCount;
+
+    private Post post;
+    private List<String> tagsList;
+
+    @Setup
+    public void setUp() {
+        post = new Post();
+        post.setTags(BenchmarkData.tags(tagCount));
+        tagsList = post.getTagsList();
+    }
+
+    @Benchmark
+    public List<String> getTagsList() {
+        return post.getTagsList();
+    }
+
+    @Benchmark
+    public String setTagsList() {
+        post.setTagsList(tagsList);
+        return post.getTags();
+    }
+}
@@ -0,0 +1,55 @@
+package com.example.blogbackend.security;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JwtAuthenticationFilter 公开路径判断（每个请求都会执行）
+ * 放在 security 包下以便直接调用包内可见的 isPublicPath
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PublicPathBenchmark {
+    @Param({
+            "GET /posts",
+            "GET /posts/123",
+            "POST /auth/authenticate",
+            "GET /users/me",
+            "POST /posts/123/comments",
+            "GET /admin/users"
+    })
+    private String request;
+
+    private JwtAuthenticationFilter filter;
+    private String method;
+    private String path;
+
+    @Setup
+    public void setUp() {
+        // isPublicPath 不依赖 JwtService 与 UserDetailsService
+        filter = new JwtAuthenticationFilter(null, null);
+        int space = request.indexOf(' ');
+        method = request.substring(0, space);
+        path = request.substring(space + 1);
+    }
+
+    @Benchmark
+    public boolean isPublicPath() {
+        return filter.isPublicPath(path, method);
+    }
+}
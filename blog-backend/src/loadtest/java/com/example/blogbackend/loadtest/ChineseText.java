@@ -0,0 +1,112 @@
+package com.example.blogbackend.loadtest;
+
+import java.util.Random;
+
+/**
+ * 随机中文文本：标题、摘要、正文、评论与标签名
+ */
+public final class ChineseText {
+    /**
+     * 技术主题词，同时用作标题关键词与高频标签，压测中的搜索关键词也取自这里
+     */
+    public static final String[] TOPICS = {
+            "Java", "Spring", "数据库", "缓存", "性能优化", "并发编程", "索引", "架构设计", "微服务", "算法",
+            "前端", "Vue", "单元测试", "持续部署", "网络安全", "计算机网络", "分布式", "消息队列", "容器", "监控告警",
+            "SQL Server", "MyBatis", "JVM", "垃圾回收", "操作系统", "Linux", "Redis", "搜索引擎", "机器学习", "数据结构",
+            "设计模式", "代码重构", "接口设计", "日志", "限流", "事务", "锁", "线程池", "序列化", "压缩"
+    };
+
+    private static final String[] TAG_SUFFIXES = {
+            "入门", "实战", "源码", "原理", "调优", "踩坑", "笔记", "面试", "最佳实践", "案例", "总结", "进阶"
+    };
+
+    private static final String[] WORDS = {
+            "我们", "这个", "问题", "方法", "通过", "可以", "需要", "实现", "系统", "数据", "用户", "请求",
+            "服务", "接口", "配置", "时间", "结果", "测试", "分析", "使用", "发现", "其中", "如果", "因为",
+            "所以", "但是", "然后", "以及", "对于", "已经", "没有", "一个", "几个", "非常", "比较", "简单",
+            "复杂", "重要", "主要", "不同", "相同", "进行", "处理", "优化", "提升", "减少", "增加", "保证",
+            "性能", "稳定", "场景", "方案", "设计", "代码", "逻辑", "模块", "版本", "线上", "本地", "环境",
+            "文档", "经验", "思路", "细节", "原因", "影响", "效果", "成本", "并发", "延迟", "吞吐", "内存",
+            "磁盘", "网络", "连接", "查询", "索引", "缓存", "日志", "监控", "异常", "错误", "重试", "超时"
+    };
+
+    private static final String[] PUNCTUATION = {"，", "，", "，", "、"};
+    private static final String[] ENDINGS = {"。", "。", "。", "！", "？"};
+
+    private ChineseText() {
+    }
+
+    public static String word(Random random) {
+        return WORDS[random.nextInt(WORDS.length)];
+    }
+
+    public static String topic(Random random) {
+        return TOPICS[random.nextInt(TOPICS.length)];
+    }
+
+    public static String sentence(Random random) {
+        StringBuilder sb = new StringBuilder();
+        int words = 6 + random.nextInt(14);
+        for (int i = 0; i < words; i++) {
+            if (i > 0 && random.nextInt(5) == 0) {
+                sb.append(PUNCTUATION[random.nextInt(PUNCTUATION.length)]);
+            }
+            sb.append(random.nextInt(12) == 0 ? topic(random) : word(random));
+        }
+        return sb.append(ENDINGS[random.nextInt(ENDINGS.length)]).toString();
+    }
+
+    public static String title(Random random) {
+        return topic(random) + word(random) + "的" + word(random) + TAG_SUFFIXES[random.nextInt(TAG_SUFFIXES.length)];
+    }
+
+    /**
+     * 正文长度为对数正态分布：多数几百字，少量长文
+     */
+    public static String article(Random random) {
+        int target = (int) Math.min(20000, Math.max(100, 600 * Math.exp(random.nextGaussian() * 0.8)));
+        StringBuilder sb = new StringBuilder(target + 64);
+        while (sb.length() < target) {
+            int sentences = 3 + random.nextInt(5);
+            for (int i = 0; i < sentences; i++) {
+                sb.append(sentence(random));
+            }
+            sb.append("\n\n");
+        }
+        return sb.toString();
+    }
+
+    public static String comment(Random random) {
+        StringBuilder sb = new StringBuilder(sentence(random));
+        if (random.nextInt(3) == 0) {
+            sb.append(sentence(random));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * 截取前若干个字符作为摘要
+     */
+    public static String summary(String content, int maxChars) {
+        String text = content.replace("\n", "");
+        return text.length() <= maxChars ? text : text.substring(0, maxChars) + "…";
+    }
+
+    /**
+     * 生成 count 个互不相同的标签名：主题词在前，其后是主题词与后缀组合出的长尾标签
+     */
+    public static String[] tagNames(int count) {
+        String[] names = new String[count];
+        int combos = TOPICS.length * TAG_SUFFIXES.length;
+        for (int i = 0; i < count; i++) {
+            if (i < TOPICS.length) {
+                names[i] = TOPICS[i];
+                continue;
+            }
+            int k = i - TOPICS.length;
+            String name = TOPICS[k % TOPICS.length] + TAG_SUFFIXES[(k / TOPICS.length) % TAG_SUFFIXES.length];
+            names[i] = k < combos ? name : name + (k / combos + 1);
+        }
+        return names;
+    }
+}
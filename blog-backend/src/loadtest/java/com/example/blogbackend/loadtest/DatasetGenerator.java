@@ -0,0 +1,445 @@
+package com.example.blogbackend.loadtest;
+
+import com.example.blogbackend.entity.Comment;
+import com.example.blogbackend.entity.Favorite;
+import com.example.blogbackend.entity.Message;
+import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.entity.User;
+import com.example.blogbackend.service.MarkdownService;
+import com.example.blogbackend.service.impl.MarkdownServiceImpl;
+import com.example.blogbackend.util.ExcerptUtils;
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.Builder;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.SimpleCommandLinePropertySource;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * 合成数据生成器
+ * 用现有实体构造数据，通过 JDBC 批量插入并行写入：
+ * 文章热度（评论、收藏、消息所属文章）服从 Zipf 分布，标签为长尾分布，文本为随机中文
+ *
+ * 独立运行（例如对 SQL Server 生成生产规模数据）：
+ * mvn -P loadtest test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *   -Dexec.args="-cp %classpath com.example.blogbackend.loadtest.DatasetGenerator
+ *   --url=jdbc:sqlserver://localhost:1433;databaseName=BlogDB;encrypt=false;useBulkCopyForBatchInsert=true
+ *   --username=sa --password=123 --comments=5000000 --messages=4000000"
+ */
+@Slf4j
+public class DatasetGenerator {
+    private final DataSource dataSource;
+    private final Spec spec;
+
+    public DatasetGenerator(DataSource dataSource, Spec spec) {
+        this.dataSource = dataSource;
+        this.spec = spec;
+    }
+
+    /**
+     * 生成参数
+     */
+    @Data
+    @Builder
+    public static class Spec {
+        @Builder.Default
+        private int users = 2000;
+        @Builder.Default
+        private int posts = 10000;
+        @Builder.Default
+        private int comments = 50000;
+        @Builder.Default
+        private int favorites = 20000;
+        @Builder.Default
+        private int messages = 50000;
+        @Builder.Default
+        private int tags = 2000; // 标签总数（长尾）
+        @Builder.Default
+        private double zipfExponent = 1.07; // 文章热度与标签的 Zipf 指数
+        @Builder.Default
+        private int batchSize = 1000;
+        @Builder.Default
+        private int parallelism = Runtime.getRuntime().availableProcessors();
+        @Builder.Default
+        private long seed = 42L;
+        private String passwordHash; // 所有用户共用的密码哈希
+    }
+
+    /**
+     * 第 ordinal 个生成用户的邮箱（从 1 开始）
+     */
+    public static String email(int ordinal) {
+        return "user" + ordinal + "@loadtest.local";
+    }
+
+    public void generate() {
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(spec.parallelism);
+        try {
+            // 用户单线程按顺序写入，使第 i 个新 UserId 对应第 i 个用户名，文章的 AuthorName 依赖这一点
+            int userBase = maxId("Users", "UserId");
+            insert(pool, "Users", "INSERT INTO Users (Username, Password, Email, Avatar, Bio, CreatedAt, UpdatedAt, Disabled) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?, ?)", spec.users, false, (index, random, sink) -> {
+                int ordinal = userBase + index + 1;
+                LocalDateTime createdAt = pastTime(random);
+                User user = User.builder()
+                        .username("user" + ordinal)
+                        .password(spec.passwordHash)
+                        .email(email(ordinal))
+                        .avatar("/avatars/" + (ordinal % 100) + ".png")
+                        .bio(ChineseText.sentence(random))
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt)
+                        .disabled(false)
+                        .build();
+                sink.add(user.getUsername(), user.getPassword(), user.getEmail(), user.getAvatar(), user.getBio(),
+                        timestamp(user.getCreatedAt()), timestamp(user.getUpdatedAt()), user.getDisabled());
+            });
+            execute("INSERT INTO UserRoles (UserId, RoleId) SELECT u.UserId, r.RoleId FROM Users u, Roles r " +
+                    "WHERE u.UserId > ? AND r.RoleName = 'ROLE_USER'", userBase);
+            execute("UPDATE Users SET RolesCache = 'ROLE_USER' WHERE UserId > ?", userBase);
+            int[] userIds = load("SELECT UserId FROM Users WHERE UserId > ?", userBase, 1)[0];
+            ZipfSampler activeUsers = new ZipfSampler(userIds.length, 0.8, spec.seed + 1);
+
+            String[] tagNames = ChineseText.tagNames(spec.tags);
+            ZipfSampler tagSampler = new ZipfSampler(tagNames.length, spec.zipfExponent, spec.seed + 2);
+            int postBase = maxId("Posts", "PostId");
+            // 缓存容量为 0：每篇文章只渲染一次，不需要缓存
+            MarkdownService markdownService = new MarkdownServiceImpl(0);
+            insert(pool, "Posts", "INSERT INTO Posts (UserId, Title, Content, ContentHtml, ContentHash, Summary, Excerpt, ReadingMinutes, " +
+                    "CreatedAt, UpdatedAt, IsHidden, Tags, AuthorName, AuthorAvatar) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)",
+                    spec.posts, true, (index, random, sink) -> {
+                int author = activeUsers.sample(random);
+                int ordinal = userBase + author + 1;
+                String content = ChineseText.article(random);
+                String plainText = ExcerptUtils.toPlainText(content);
+                LocalDateTime createdAt = pastTime(random);
+                Post post = Post.builder()
+                        .userId(userIds[author])
+                        .title(ChineseText.title(random))
+                        .content(content)
+                        .contentHtml(markdownService.render(content))
+                        .contentHash(markdownService.contentHash(content))
+                        .summary(random.nextInt(3) == 0 ? null : ChineseText.summary(content, 100)) // 部分文章没有手写摘要
+                        .excerpt(ExcerptUtils.excerpt(plainText, ExcerptUtils.DEFAULT_EXCERPT_WIDTH))
+                        .readingMinutes(ExcerptUtils.readingMinutes(plainText))
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt)
+                        .isHidden(false)
+                        .authorName("user" + ordinal)
+                        .authorAvatar("/avatars/" + (ordinal % 100) + ".png")
+                        .build();
+                post.setTagsList(sampleTags(tagNames, tagSampler, random));
+                sink.add(post.getUserId(), post.getTitle(), post.getContent(), post.getContentHtml(), post.getContentHash(), post.getSummary(),
+                        post.getExcerpt(), post.getReadingMinutes(), timestamp(post.getCreatedAt()), timestamp(post.getUpdatedAt()), post.getIsHidden(),
+                        post.getTags(), post.getAuthorName(), post.getAuthorAvatar());
+            });
+            // [0] PostId, [1] 作者 UserId
+            int[][] posts = load("SELECT PostId, UserId FROM Posts WHERE PostId > ?", postBase, 2);
+            ZipfSampler popularPosts = new ZipfSampler(posts[0].length, spec.zipfExponent, spec.seed + 3);
+
+            int commentBase = maxId("Comments", "CommentId");
+            insert(pool, "Comments", "INSERT INTO Comments (PostId, UserId, Content, CreatedAt, UpdatedAt) " +
+                    "VALUES (?, ?, ?, ?, ?)", spec.comments, true, (index, random, sink) -> {
+                LocalDateTime createdAt = pastTime(random);
+                Comment comment = Comment.builder()
+                        .postId(posts[0][popularPosts.sample(random)])
+                        .userId(userIds[activeUsers.sample(random)])
+                        .content(ChineseText.comment(random))
+                        .createdAt(createdAt)
+                        .updatedAt(createdAt)
+                        .build();
+                sink.add(comment.getPostId(), comment.getUserId(), comment.getContent(),
+                        timestamp(comment.getCreatedAt()), timestamp(comment.getUpdatedAt()));
+            });
+
+            // 按用户分片，保证同一用户的收藏不重复
+            int favoritesPerUser = spec.favorites / userIds.length;
+            int remainder = spec.favorites % userIds.length;
+            int maxPerUser = Math.max(1, posts[0].length / 2);
+            insert(pool, "Favorites", "INSERT INTO Favorites (UserId, PostId, CreatedAt) VALUES (?, ?, ?)",
+                    userIds.length, true, (index, random, sink) -> {
+                int quota = Math.min(maxPerUser, favoritesPerUser + (index < remainder ? 1 : 0));
+                Set<Integer> chosen = new HashSet<>();
+                int attempts = 0;
+                while (chosen.size() < quota) {
+                    // 热门文章被反复抽中时改为均匀抽样，避免死循环
+                    int post = attempts++ < quota * 20 ? popularPosts.sample(random) : random.nextInt(posts[0].length);
+                    if (!chosen.add(post)) {
+                        continue;
+                    }
+                    Favorite favorite = new Favorite();
+                    favorite.setUserId(userIds[index]);
+                    favorite.setPostId(posts[0][post]);
+                    favorite.setCreatedAt(pastTime(random));
+                    sink.add(favorite.getUserId(), favorite.getPostId(), timestamp(favorite.getCreatedAt()));
+                }
+            });
+
+            // [0] CommentId, [1] PostId, [2] 文章作者 UserId
+            int[][] comments = load("SELECT c.CommentId, c.PostId, p.UserId FROM Comments c " +
+                    "JOIN Posts p ON p.PostId = c.PostId WHERE c.CommentId > ?", commentBase, 3);
+            insert(pool, "Messages", "INSERT INTO Messages (UserId, PostId, CommentId, Type, IsRead, CreatedAt) " +
+                    "VALUES (?, ?, ?, ?, ?, ?)", spec.messages, true, (index, random, sink) -> {
+                // 消息发给文章作者：评论消息取自已生成的评论，收藏消息按文章热度抽样
+                Message message;
+                if (comments[0].length > 0 && random.nextBoolean()) {
+                    int comment = random.nextInt(comments[0].length);
+                    message = Message.builder().userId(comments[2][comment]).postId(comments[1][comment])
+                            .commentId(comments[0][comment]).type("comment").build();
+                } else {
+                    int post = popularPosts.sample(random);
+                    message = Message.builder().userId(posts[1][post]).postId(posts[0][post]).type("favorite").build();
+                }
+                message.setIsRead(random.nextInt(4) == 0);
+                message.setCreatedAt(pastTime(random));
+                sink.add(message.getUserId(), message.getPostId(), message.getCommentId(), message.getType(),
+                        message.getIsRead(), timestamp(message.getCreatedAt()));
+            });
+            rebuildStats();
+        } catch (SQLException e) {
+            throw new IllegalStateException("生成数据失败: " + e.getMessage(), e);
+        } finally {
+            pool.shutdownNow();
+        }
+        log.warn("数据生成完成: 用户 {}，文章 {}，评论 {}，收藏 {}，消息 {}，耗时 {} s",
+                spec.users, spec.posts, spec.comments, spec.favorites, spec.messages, (System.nanoTime() - start) / 1_000_000_000);
+    }
+
+    /**
+     * 把 [0, count) 切分成若干片并行写入，每片使用独立的连接、随机数和批量语句；
+     * parallel 为 false 时只用一片，按下标顺序写入
+     */
+    private void insert(ExecutorService pool, String table, String sql, int count, boolean parallel, RowGenerator generator) {
+        if (count <= 0) {
+            return;
+        }
+        long start = System.nanoTime();
+        int slices = parallel ? Math.max(1, Math.min(spec.parallelism * 4, (count + spec.batchSize - 1) / spec.batchSize)) : 1;
+        int sliceSize = (count + slices - 1) / slices;
+        List<Future<Long>> futures = new ArrayList<>();
+        for (int slice = 0; slice < slices; slice++) {
+            int from = slice * sliceSize;
+            int to = Math.min(count, from + sliceSize);
+            Random random = new Random(spec.seed * 31 + table.hashCode() * 17L + slice);
+            futures.add(pool.submit(() -> writeSlice(sql, from, to, random, generator)));
+        }
+        long rows = 0;
+        try {
+            for (Future<Long> future : futures) {
+                rows += future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("写入 " + table + " 被中断", e);
+        } catch (ExecutionException e) {
+            futures.forEach(f -> f.cancel(true));
+            throw new IllegalStateException("写入 " + table + " 失败: " + e.getCause().getMessage(), e.getCause());
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        log.warn("{} 写入 {} 行，耗时 {} s，{} 行/秒", table, rows, String.format("%.1f", seconds), Math.round(rows / seconds));
+    }
+
+    private long writeSlice(String sql, int from, int to, Random random, RowGenerator generator) throws SQLException {
+        try (Connection connection = dataSource.getConnection()) {
+            boolean autoCommit = connection.getAutoCommit();
+            connection.setAutoCommit(false);
+            try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                BatchSink sink = new BatchSink(connection, statement);
+                for (int index = from; index < to; index++) {
+                    generator.generate(index, random, sink);
+                }
+                sink.flush();
+                return sink.rows;
+            } catch (SQLException e) {
+                connection.rollback();
+                throw e;
+            } finally {
+                connection.setAutoCommit(autoCommit);
+            }
+        }
+    }
+
+    private List<String> sampleTags(String[] tagNames, ZipfSampler sampler, Random random) {
+        int count = 1 + random.nextInt(Math.min(5, tagNames.length));
+        Set<String> tags = new LinkedHashSet<>();
+        while (tags.size() < count) {
+            tags.add(tagNames[sampler.sample(random)]);
+        }
+        return new ArrayList<>(tags);
+    }
+
+    /**
+     * 读取本次新生成的行，按第一列（ID）升序返回各列
+     */
+    private int[][] load(String sql, int base, int columns) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql + " ORDER BY 1")) {
+            statement.setFetchSize(10000);
+            statement.setInt(1, base);
+            int[][] result = new int[columns][1024];
+            int rows = 0;
+            try (ResultSet rs = statement.executeQuery()) {
+                while (rs.next()) {
+                    if (rows == result[0].length) {
+                        for (int c = 0; c < columns; c++) {
+                            result[c] = Arrays.copyOf(result[c], rows * 2);
+                        }
+                    }
+                    for (int c = 0; c < columns; c++) {
+                        result[c][rows] = rs.getInt(c + 1);
+                    }
+                    rows++;
+                }
+            }
+            for (int c = 0; c < columns; c++) {
+                result[c] = Arrays.copyOf(result[c], rows);
+            }
+            return result;
+        }
+    }
+
+    /**
+     * 数据绕过服务层直接写入，管理后台统计需按生成后的数据重算一次
+     */
+    private void rebuildStats() throws SQLException {
+        String[] statements = {
+                "DELETE FROM SiteStats",
+                "INSERT INTO SiteStats (Metric, Total, UpdatedAt) SELECT 'POSTS', COUNT(*), CURRENT_TIMESTAMP FROM Posts WHERE DeletedAt IS NULL",
+                "INSERT INTO SiteStats (Metric, Total, UpdatedAt) SELECT 'COMMENTS', COUNT(*), CURRENT_TIMESTAMP FROM Comments",
+                "INSERT INTO SiteStats (Metric, Total, UpdatedAt) SELECT 'FAVORITES', COUNT(*), CURRENT_TIMESTAMP FROM Favorites",
+                "INSERT INTO SiteStats (Metric, Total, UpdatedAt) SELECT 'USERS', COUNT(*), CURRENT_TIMESTAMP FROM Users WHERE DeletedAt IS NULL",
+                "DELETE FROM DailyStats",
+                "INSERT INTO DailyStats (StatDate, Metric, Total) SELECT CAST(CreatedAt AS DATE), 'POSTS', COUNT(*) FROM Posts GROUP BY CAST(CreatedAt AS DATE)",
+                "INSERT INTO DailyStats (StatDate, Metric, Total) SELECT CAST(CreatedAt AS DATE), 'COMMENTS', COUNT(*) FROM Comments GROUP BY CAST(CreatedAt AS DATE)",
+                "INSERT INTO DailyStats (StatDate, Metric, Total) SELECT CAST(CreatedAt AS DATE), 'FAVORITES', COUNT(*) FROM Favorites GROUP BY CAST(CreatedAt AS DATE)",
+                "INSERT INTO DailyStats (StatDate, Metric, Total) SELECT CAST(CreatedAt AS DATE), 'USERS', COUNT(*) FROM Users GROUP BY CAST(CreatedAt AS DATE)"
+        };
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement()) {
+            for (String sql : statements) {
+                statement.executeUpdate(sql);
+            }
+        }
+    }
+
+    private int maxId(String table, String idColumn) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement("SELECT COALESCE(MAX(" + idColumn + "), 0) FROM " + table);
+             ResultSet rs = statement.executeQuery()) {
+            rs.next();
+            return rs.getInt(1);
+        }
+    }
+
+    private void execute(String sql, int param) throws SQLException {
+        try (Connection connection = dataSource.getConnection();
+             PreparedStatement statement = connection.prepareStatement(sql)) {
+            statement.setInt(1, param);
+            statement.executeUpdate();
+        }
+    }
+
+    private static LocalDateTime pastTime(Random random) {
+        return LocalDateTime.now().minusMinutes(random.nextInt(60 * 24 * 365));
+    }
+
+    private static Timestamp timestamp(LocalDateTime time) {
+        return time == null ? null : Timestamp.valueOf(time);
+    }
+
+    @FunctionalInterface
+    private interface RowGenerator {
+        /**
+         * 生成下标为 index 的一个（或一组）数据行并写入 sink
+         */
+        void generate(int index, Random random, BatchSink sink) throws SQLException;
+    }
+
+    /**
+     * 攒够 batchSize 行后执行批量插入并提交
+     */
+    private final class BatchSink {
+        private final Connection connection;
+        private final PreparedStatement statement;
+        private int pending;
+        private long rows;
+
+        BatchSink(Connection connection, PreparedStatement statement) {
+            this.connection = connection;
+            this.statement = statement;
+        }
+
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                statement.setObject(i + 1, values[i]);
+            }
+            statement.addBatch();
+            rows++;
+            if (++pending >= spec.batchSize) {
+                flush();
+            }
+        }
+
+        void flush() throws SQLException {
+            if (pending > 0) {
+                statement.executeBatch();
+                connection.commit();
+                pending = 0;
+            }
+        }
+    }
+
+    /**
+     * 独立运行入口，参数形如 --url=... --username=... --password=... --users=100000
+     */
+    public static void main(String[] args) {
+        SimpleCommandLinePropertySource options = new SimpleCommandLinePropertySource(args);
+        Spec spec = Spec.builder()
+                .users(intOption(options, "users", 100_000))
+                .posts(intOption(options, "posts", 500_000))
+                .comments(intOption(options, "comments", 5_000_000))
+                .favorites(intOption(options, "favorites", 1_000_000))
+                .messages(intOption(options, "messages", 3_400_000))
+                .tags(intOption(options, "tags", 5000))
+                .batchSize(intOption(options, "batch-size", 2000))
+                .parallelism(intOption(options, "parallelism", Runtime.getRuntime().availableProcessors()))
+                .passwordHash(new BCryptPasswordEncoder().encode(
+                        options.containsProperty("user-password") ? options.getProperty("user-password") : "loadtest123"))
+                .build();
+
+        HikariConfig config = new HikariConfig();
+        config.setJdbcUrl(options.getProperty("url"));
+        config.setUsername(options.getProperty("username"));
+        config.setPassword(options.getProperty("password"));
+        config.setMaximumPoolSize(spec.getParallelism() + 1);
+        try (HikariDataSource dataSource = new HikariDataSource(config)) {
+            new DatasetGenerator(dataSource, spec).generate();
+        }
+    }
+
+    private static int intOption(SimpleCommandLinePropertySource options, String name, int defaultValue) {
+        return options.containsProperty(name) ? Integer.parseInt(options.getProperty(name)) : defaultValue;
+    }
+}
@@ -0,0 +1,260 @@
+package com.example.blogbackend.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * 闭环压测驱动：固定数量的虚拟用户按权重随机选择场景并连续发起请求，
+ * 每个接口单独记录延迟直方图
+ */
+@Slf4j
+public class LoadDriver {
+    private static final long MAX_LATENCY_MICROS = 60_000_000L;
+
+    private final String baseUrl;
+    private final Settings settings;
+    private final HttpClient client;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final List<Scenario> scenarios = new ArrayList<>();
+    private final Map<String, EndpointStats> stats = new LinkedHashMap<>();
+    private final List<String> tokens = new ArrayList<>();
+    private int totalWeight;
+
+    public LoadDriver(String baseUrl, Settings settings) {
+        this.baseUrl = baseUrl;
+        this.settings = settings;
+        this.client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        register("feed", "GET /posts", r -> get("/posts?page=" + (1 + r.nextInt(5)) + "&pageSize=10", null));
+        register("post-detail", "GET /posts/{id}", r -> get("/posts/" + postId(r), null));
+        register("search", "GET /posts?keyword", r -> get("/posts?page=1&pageSize=10&keyword="
+                + URLEncoder.encode(ChineseText.TOPICS[r.nextInt(ChineseText.TOPICS.length)], StandardCharsets.UTF_8), null));
+        register("comments", "GET /posts/{id}/comments", r -> get("/posts/" + postId(r) + "/comments", token(r))); // 评论列表需要登录
+        register("add-comment", "POST /posts/{id}/comments", r -> HttpRequest.newBuilder(uri("/posts/" + postId(r) + "/comments"))
+                .header("Authorization", "Bearer " + token(r))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString("{\"content\":\"压测评论 " + r.nextInt(1_000_000) + "\"}"))
+                .build());
+        register("message-count", "GET /messages/count", r -> get("/messages/count", token(r)));
+        register("messages", "GET /messages", r -> get("/messages", token(r)));
+    }
+
+    /**
+     * 登录一批用户，获取后续请求使用的 token
+     */
+    public void login() throws Exception {
+        for (int userId = 1; userId <= settings.loginUsers; userId++) {
+            String body = objectMapper.writeValueAsString(Map.of(
+                    "email", DatasetGenerator.email(userId), "password", settings.password));
+            HttpResponse<String> response = client.send(HttpRequest.newBuilder(uri("/auth/login"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(body))
+                    .build(), HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                throw new IllegalStateException("压测用户登录失败: " + DatasetGenerator.email(userId) + "，状态码 " + response.statusCode());
+            }
+            JsonNode json = objectMapper.readTree(response.body());
+            tokens.add(json.get("token").asText());
+        }
+    }
+
+    /**
+     * 预热后开始计量，返回各接口的统计结果
+     */
+    public LoadReport run() throws InterruptedException {
+        long warmupEnd = System.nanoTime() + Duration.ofSeconds(settings.warmupSeconds).toNanos();
+        long end = warmupEnd + Duration.ofSeconds(settings.durationSeconds).toNanos();
+        CountDownLatch done = new CountDownLatch(settings.concurrency);
+        for (int i = 0; i < settings.concurrency; i++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    loop(end);
+                } finally {
+                    done.countDown();
+                }
+            }, "load-" + i);
+            worker.setDaemon(true);
+            worker.start();
+        }
+
+        Thread.sleep(Math.max(0, (warmupEnd - System.nanoTime()) / 1_000_000));
+        // 丢弃预热阶段的数据
+        stats.values().forEach(EndpointStats::reset);
+        long measureStart = System.nanoTime();
+        done.await();
+        double seconds = (System.nanoTime() - measureStart) / 1e9;
+
+        LoadReport report = new LoadReport(settings.concurrency, seconds);
+        stats.forEach((endpoint, s) -> report.add(endpoint, s.recorder.getIntervalHistogram(), s.errors.sum()));
+        return report;
+    }
+
+    private void loop(long end) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        while (System.nanoTime() < end) {
+            Scenario scenario = pick(random);
+            EndpointStats endpoint = stats.get(scenario.endpoint);
+            HttpRequest request = scenario.request.apply(random);
+            long start = System.nanoTime();
+            try {
+                HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() >= 400) {
+                    endpoint.errors.increment();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                endpoint.errors.increment();
+            }
+            endpoint.recorder.recordValue(Math.min((System.nanoTime() - start) / 1000, MAX_LATENCY_MICROS));
+        }
+    }
+
+    private void register(String name, String endpoint, Function<ThreadLocalRandom, HttpRequest> request) {
+        int weight = settings.mix.getOrDefault(name, 0);
+        if (weight <= 0) {
+            return;
+        }
+        totalWeight += weight;
+        scenarios.add(new Scenario(endpoint, totalWeight, request));
+        stats.put(endpoint, new EndpointStats());
+    }
+
+    private Scenario pick(ThreadLocalRandom random) {
+        int value = random.nextInt(totalWeight);
+        for (Scenario scenario : scenarios) {
+            if (value < scenario.cumulativeWeight) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private int postId(ThreadLocalRandom random) {
+        return 1 + random.nextInt(settings.posts);
+    }
+
+    private String token(ThreadLocalRandom random) {
+        return tokens.get(random.nextInt(tokens.size()));
+    }
+
+    private HttpRequest get(String path, String token) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(uri(path)).GET();
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private URI uri(String path) {
+        return URI.create(baseUrl + path);
+    }
+
+    private static final class Scenario {
+        final String endpoint;
+        final int cumulativeWeight;
+        final Function<ThreadLocalRandom, HttpRequest> request;
+
+        Scenario(String endpoint, int cumulativeWeight, Function<ThreadLocalRandom, HttpRequest> request) {
+            this.endpoint = endpoint;
+            this.cumulativeWeight = cumulativeWeight;
+            this.request = request;
+        }
+    }
+
+    private static final class EndpointStats {
+        // 单位: 微秒，最大记录 60 秒
+        final Recorder recorder = new Recorder(MAX_LATENCY_MICROS, 3);
+        final LongAdder errors = new LongAdder();
+
+        void reset() {
+            recorder.reset();
+            errors.reset();
+        }
+    }
+
+    /**
+     * 压测参数
+     */
+    public static final class Settings {
+        int posts;
+        int concurrency;
+        int loginUsers;
+        int warmupSeconds;
+        int durationSeconds;
+        String password;
+        Map<String, Integer> mix = Collections.emptyMap();
+    }
+
+    /**
+     * 压测结果，延迟单位为毫秒
+     */
+    public static final class LoadReport {
+        private final Map<String, Object> report = new LinkedHashMap<>();
+        private final Map<String, Map<String, Object>> endpoints = new LinkedHashMap<>();
+        private final double seconds;
+
+        LoadReport(int concurrency, double seconds) {
+            this.seconds = seconds;
+            report.put("concurrency", concurrency);
+            report.put("durationSeconds", Math.round(seconds * 10) / 10.0);
+            report.put("endpoints", endpoints);
+        }
+
+        void add(String endpoint, Histogram histogram, long errors) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("count", histogram.getTotalCount());
+            row.put("errors", errors);
+            row.put("throughput", Math.round(histogram.getTotalCount() / seconds * 10) / 10.0);
+            row.put("p50", millis(histogram.getValueAtPercentile(50)));
+            row.put("p90", millis(histogram.getValueAtPercentile(90)));
+            row.put("p99", millis(histogram.getValueAtPercentile(99)));
+            row.put("p999", millis(histogram.getValueAtPercentile(99.9)));
+            row.put("max", millis(histogram.getMaxValue()));
+            endpoints.put(endpoint, row);
+        }
+
+        public Map<String, Object> toMap() {
+            return report;
+        }
+
+        /**
+         * 以表格形式输出到控制台
+         */
+        public String toTable() {
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format("%-28s %9s %7s %9s %9s %9s %9s %9s %9s%n",
+                    "endpoint", "count", "errors", "req/s", "p50(ms)", "p90(ms)", "p99(ms)", "p999(ms)", "max(ms)"));
+            endpoints.forEach((endpoint, row) -> sb.append(String.format("%-28s %9d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    endpoint, row.get("count"), row.get("errors"), row.get("throughput"),
+                    row.get("p50"), row.get("p90"), row.get("p99"), row.get("p999"), row.get("max"))));
+            return sb.toString();
+        }
+
+        private static double millis(long micros) {
+            return Math.round(micros / 10.0) / 100.0;
+        }
+    }
+}
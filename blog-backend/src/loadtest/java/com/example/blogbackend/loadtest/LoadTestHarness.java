@@ -0,0 +1,83 @@
+package com.example.blogbackend.loadtest;
+
+import com.example.blogbackend.BlogBackendApplication;
+import com.example.blogbackend.cache.ContentChangedEvent;
+import com.example.blogbackend.service.UserAvailabilityService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.core.env.Environment;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import javax.sql.DataSource;
+import java.io.File;
+
+/**
+ * 端到端压测入口
+ * 以 loadtest profile 启动应用（H2，SQL Server 兼容模式），初始化数据后按配置的流量组成施压，
+ * 输出各接口的吞吐量与延迟分位数，并写入 JSON 报告
+ *
+ * 运行: mvn -P loadtest verify -Dloadtest.args="--blog.loadtest.duration-seconds=120"
+ */
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        SpringApplication application = new SpringApplication(BlogBackendApplication.class);
+        application.setAdditionalProfiles("loadtest");
+        try (ConfigurableApplicationContext context = application.run(args)) {
+            Environment env = context.getEnvironment();
+            new DatasetGenerator(context.getBean(DataSource.class), spec(env, context.getBean(PasswordEncoder.class))).generate();
+            // 启动时数据尚未写入，重建用户名/邮箱过滤器
+            context.getBean(UserAvailabilityService.class).rebuild();
+            // 数据绕过服务层写入，通知版本号、响应缓存与首页快照
+            context.publishEvent(ContentChangedEvent.all());
+
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            LoadDriver driver = new LoadDriver("http://localhost:" + port, settings(env));
+            driver.login();
+            LoadDriver.LoadReport report = driver.run();
+
+            System.out.println();
+            System.out.println(report.toTable());
+            File reportFile = new File(env.getProperty("blog.loadtest.report-file", "target/loadtest-report.json"));
+            new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT).writeValue(reportFile, report.toMap());
+            System.out.println("压测报告已写入: " + reportFile.getAbsolutePath());
+        }
+    }
+
+    private static DatasetGenerator.Spec spec(Environment env, PasswordEncoder passwordEncoder) {
+        return DatasetGenerator.Spec.builder()
+                .users(env.getProperty("blog.loadtest.users", Integer.class, 2000))
+                .posts(env.getProperty("blog.loadtest.posts", Integer.class, 10000))
+                .comments(env.getProperty("blog.loadtest.comments", Integer.class, 50000))
+                .favorites(env.getProperty("blog.loadtest.favorites", Integer.class, 20000))
+                .messages(env.getProperty("blog.loadtest.messages", Integer.class, 50000))
+                .tags(env.getProperty("blog.loadtest.generator.tags", Integer.class, 2000))
+                .zipfExponent(env.getProperty("blog.loadtest.generator.zipf-exponent", Double.class, 1.07))
+                .batchSize(env.getProperty("blog.loadtest.generator.batch-size", Integer.class, 1000))
+                .parallelism(env.getProperty("blog.loadtest.generator.parallelism", Integer.class, 4))
+                .seed(env.getProperty("blog.loadtest.generator.seed", Long.class, 42L))
+                // BCrypt 编码代价较高，所有用户共用同一个密码哈希
+                .passwordHash(passwordEncoder.encode(env.getProperty("blog.loadtest.password", "loadtest123")))
+                .build();
+    }
+
+    private static LoadDriver.Settings settings(Environment env) {
+        LoadDriver.Settings settings = new LoadDriver.Settings();
+        settings.posts = env.getProperty("blog.loadtest.posts", Integer.class, 10000);
+        settings.concurrency = env.getProperty("blog.loadtest.concurrency", Integer.class, 32);
+        settings.loginUsers = Math.min(env.getProperty("blog.loadtest.login-users", Integer.class, 50),
+                env.getProperty("blog.loadtest.users", Integer.class, 2000));
+        settings.warmupSeconds = env.getProperty("blog.loadtest.warmup-seconds", Integer.class, 10);
+        settings.durationSeconds = env.getProperty("blog.loadtest.duration-seconds", Integer.class, 60);
+        settings.password = env.getProperty("blog.loadtest.password", "loadtest123");
+        settings.mix = Binder.get(env)
+                .bind("blog.loadtest.mix", Bindable.mapOf(String.class, Integer.class))
+                .orElseThrow(() -> new IllegalStateException("未配置 blog.loadtest.mix"));
+        return settings;
+    }
+}
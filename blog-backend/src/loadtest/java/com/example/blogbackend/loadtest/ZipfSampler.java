@@ -0,0 +1,55 @@
+package com.example.blogbackend.loadtest;
+
+import java.util.Arrays;
+import java.util.Random;
+
+/**
+ * Zipf 分布采样：排名为 k 的元素被选中的概率与 1/k^s 成正比
+ * 排名与元素下标之间做一次随机置换，避免热门元素集中在 ID 最小的一段
+ */
+public final class ZipfSampler {
+    private final double[] cdf;
+    private final int[] permutation;
+
+    public ZipfSampler(int size, double exponent, long seed) {
+        if (size <= 0) {
+            throw new IllegalArgumentException("元素数量必须大于 0");
+        }
+        cdf = new double[size];
+        double sum = 0;
+        for (int k = 0; k < size; k++) {
+            sum += 1.0 / Math.pow(k + 1, exponent);
+            cdf[k] = sum;
+        }
+        for (int k = 0; k < size; k++) {
+            cdf[k] /= sum;
+        }
+
+        permutation = new int[size];
+        for (int i = 0; i < size; i++) {
+            permutation[i] = i;
+        }
+        Random random = new Random(seed);
+        for (int i = size - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int tmp = permutation[i];
+            permutation[i] = permutation[j];
+            permutation[j] = tmp;
+        }
+    }
+
+    /**
+     * 按 Zipf 分布返回 [0, size) 内的下标
+     */
+    public int sample(Random random) {
+        int rank = Arrays.binarySearch(cdf, random.nextDouble());
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        return permutation[Math.min(rank, cdf.length - 1)];
+    }
+
+    public int size() {
+        return cdf.length;
+    }
+}
@@ -0,0 +1,172 @@
+package com.example.blogbackend.cache;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.entity.User;
+import com.example.blogbackend.mapper.PostMapper;
+import com.example.blogbackend.mapper.UserMapper;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PermissionDeniedDataAccessException;
+import org.springframework.jdbc.BadSqlGrammarException;
+import org.springframework.stereotype.Component;
+
+import java.sql.SQLException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * 管理后台列表的总数
+ * 无关键词时取分区统计的近似行数（减去等待清理的软删除行），关键词统计最多数到上限；
+ * 结果缓存一段时间，翻页不再重复统计
+ */
+@Slf4j
+@Component
+public class ApproximateCounts {
+    private static final int MAX_ENTRIES = 200;
+    /**
+     * SQL Server 权限不足的错误码：229 对象权限、297/300 缺少 VIEW DATABASE STATE 等服务器权限
+     */
+    private static final Set<Integer> PERMISSION_ERROR_CODES = Set.of(229, 297, 300);
+
+    private final PostMapper postMapper;
+    private final UserMapper userMapper;
+    private final long ttlMs;
+    private final int keywordCap;
+    private final long statsRetryMs;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > MAX_ENTRIES;
+        }
+    };
+    /**
+     * 没有权限或数据库不支持时为 false，此后只做精确计数
+     */
+    private volatile boolean partitionStatsAvailable = true;
+    /**
+     * 超时等临时性失败后，在该时间之前改为精确计数
+     */
+    private volatile long partitionStatsRetryAt;
+
+    public ApproximateCounts(
+            PostMapper postMapper,
+            UserMapper userMapper,
+            @Value("${blog.admin.count-ttl-ms:30000}") long ttlMs,
+            @Value("${blog.admin.keyword-count-cap:1000}") int keywordCap,
+            @Value("${blog.admin.stats-retry-ms:60000}") long statsRetryMs) {
+        this.postMapper = postMapper;
+        this.userMapper = userMapper;
+        this.ttlMs = ttlMs;
+        this.keywordCap = keywordCap;
+        this.statsRetryMs = statsRetryMs;
+    }
+
+    /**
+     * 文章总数
+     * @param keyword 关键词，为 null 时统计全部文章
+     */
+    public Count posts(String keyword) {
+        if (keyword != null) {
+            return cached("posts|" + keyword, () -> capped(postMapper.countByKeywordCapped(keyword, keywordCap + 1)));
+        }
+        return cached("posts", () -> estimate(
+                () -> postMapper.estimateRowCount() - postMapper.countDeleted(),
+                () -> postMapper.selectCount(new LambdaQueryWrapper<Post>().isNull(Post::getDeletedAt))));
+    }
+
+    /**
+     * 用户总数
+     * @param keyword 关键词，为 null 时统计全部用户
+     */
+    public Count users(String keyword) {
+        if (keyword != null) {
+            return cached("users|" + keyword, () -> capped(userMapper.countByKeywordCapped(keyword, keywordCap + 1)));
+        }
+        return cached("users", () -> estimate(
+                () -> userMapper.estimateRowCount() - userMapper.countDeleted(),
+                () -> userMapper.selectCount(new LambdaQueryWrapper<User>().isNull(User::getDeletedAt))));
+    }
+
+    private Count capped(int count) {
+        return count > keywordCap ? new Count(keywordCap, true) : new Count(count, false);
+    }
+
+    private Count estimate(Supplier<Long> fromStats, Supplier<Long> exact) {
+        if (partitionStatsAvailable && System.currentTimeMillis() >= partitionStatsRetryAt) {
+            try {
+                Long estimated = fromStats.get();
+                if (estimated != null) {
+                    return new Count(Math.max(0, estimated), true);
+                }
+            } catch (Exception e) {
+                if (isUnsupported(e)) {
+                    log.warn("无法读取分区统计，改为精确计数: {}", e.getMessage());
+                    partitionStatsAvailable = false;
+                } else {
+                    log.warn("读取分区统计失败，{}ms 内改为精确计数: {}", statsRetryMs, e.getMessage());
+                    partitionStatsRetryAt = System.currentTimeMillis() + statsRetryMs;
+                }
+            }
+        }
+        return new Count(exact.get(), false);
+    }
+
+    /**
+     * 没有 VIEW DATABASE STATE 权限或不是 SQL Server（如压测用的 H2）时重试也不会成功；
+     * 超时、连接中断、请求时限耗尽等其他异常只是暂时跳过
+     */
+    private static boolean isUnsupported(Exception e) {
+        if (e instanceof BadSqlGrammarException || e instanceof PermissionDeniedDataAccessException) {
+            return true;
+        }
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException && PERMISSION_ERROR_CODES.contains(((SQLException) cause).getErrorCode())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Count cached(String key, Supplier<Count> loader) {
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Entry entry = entries.get(key);
+            if (entry != null && entry.expiresAt > now) {
+                return entry.count;
+            }
+        }
+        Count count = loader.get();
+        synchronized (entries) {
+            entries.put(key, new Entry(count, now + ttlMs));
+        }
+        return count;
+    }
+
+    @Getter
+    public static class Count {
+        private final long total;
+        /**
+         * 为 true 时 total 是估计值或上限
+         */
+        private final boolean approximate;
+
+        Count(long total, boolean approximate) {
+            this.total = total;
+            this.approximate = approximate;
+        }
+    }
+
+    private static class Entry {
+        private final Count count;
+        private final long expiresAt;
+
+        Entry(Count count, long expiresAt) {
+            this.count = count;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.entity.CacheInvalidation;
+import com.example.blogbackend.mapper.CacheInvalidationMapper;
+import com.example.blogbackend.util.NodeIdentity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 基于数据库表的跨节点缓存失效通道
+ * 本节点的内容变更与写操作在同一事务内写入 CacheInvalidations，其他节点按递增游标轮询，
+ * 读到后以 remote 事件在本地重新发布，由各缓存自行失效。无需消息中间件
+ */
+@Slf4j
+@Component
+public class CacheInvalidationFeed {
+    static final String SCOPE_FEED = "feed";
+    static final String SCOPE_TAGS = "tags";
+    static final String SCOPE_USERS = "users";
+
+    private final CacheInvalidationMapper invalidationMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ContentVersionRegistry contentVersions;
+    private final boolean enabled;
+    private final int batchSize;
+    private final int lookbackSeconds;
+    private final int retentionHours;
+    private final String nodeId;
+    /**
+     * 回看窗口内已处理过的记录ID及其创建时间，用于回看时去重
+     */
+    private final Map<Long, LocalDateTime> applied = new ConcurrentHashMap<>();
+    private volatile long cursor = -1;
+    private volatile LocalDateTime lastPollAt;
+
+    public CacheInvalidationFeed(
+            CacheInvalidationMapper invalidationMapper,
+            ApplicationEventPublisher eventPublisher,
+            ContentVersionRegistry contentVersions,
+            @Value("${blog.cache.invalidation.enabled:true}") boolean enabled,
+            @Value("${blog.cache.invalidation.batch-size:500}") int batchSize,
+            @Value("${blog.cache.invalidation.lookback-seconds:30}") int lookbackSeconds,
+            @Value("${blog.cache.invalidation.retention-hours:24}") int retentionHours) {
+        this.invalidationMapper = invalidationMapper;
+        this.eventPublisher = eventPublisher;
+        this.contentVersions = contentVersions;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.lookbackSeconds = lookbackSeconds;
+        this.retentionHours = retentionHours;
+        this.nodeId = NodeIdentity.ID;
+    }
+
+    /**
+     * 在写操作的事务内记录本节点的变更，随事务一起提交或回滚
+     * 优先于其他监听器执行，把记录ID回填到事件中供 ContentVersionRegistry 使用
+     * 写入失败时让业务写操作一起回滚，否则其他节点永远读不到这次变更
+     */
+    @EventListener
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (!enabled || event.isRemote()) {
+            return;
+        }
+        try {
+            CacheInvalidation row = CacheInvalidation.builder()
+                    .postId(event.getPostId())
+                    .userId(event.getUserId())
+                    .scopes(scopes(event))
+                    .sourceNode(nodeId)
+                    .createdAt(LocalDateTime.now())
+                    .build();
+            invalidationMapper.insert(row);
+            event.setSequence(row.getInvalidationId());
+            event.setChangedAt(millis(row));
+        } catch (RuntimeException e) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                throw e;
+            }
+            // 没有事务时业务数据已经写入，只能记录错误；其他节点的响应缓存、详情缓存按各自的过期时间、
+            // 首页快照按定时刷新兜底，但这次变更不会推进其他节点的 ETag
+            log.error("写入缓存失效记录失败: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * 轮询其他节点的失效记录
+     * 自增ID按分配顺序而非提交顺序可见：游标之前的ID可能在上次轮询之后才提交，
+     * 因此每次按创建时间回看 lookback-seconds 秒内、游标之前的记录，已处理的ID跳过。
+     * 提交晚于创建超过回看窗口（含节点间时钟偏差）的记录会被漏掉，窗口应大于最长的写事务
+     */
+    @Scheduled(fixedDelayString = "${blog.cache.invalidation.poll-interval-ms:1000}")
+    public void poll() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime pollAt = LocalDateTime.now();
+            if (cursor < 0) {
+                long start = invalidationMapper.findMaxId();
+                contentVersions.seed();
+                cursor = start;
+                lastPollAt = pollAt;
+                log.info("缓存失效轮询启动，节点: {}, 起始游标: {}", nodeId, cursor);
+                return;
+            }
+            LocalDateTime since = lastPollAt.minusSeconds(lookbackSeconds);
+            List<CacheInvalidation> late = invalidationMapper.findCreatedSince(since, cursor, batchSize);
+            if (late.size() == batchSize) {
+                log.warn("回看窗口内的失效记录超过{}条，部分晚提交的记录可能被漏掉", batchSize);
+            }
+            late.forEach(this::apply);
+
+            List<CacheInvalidation> rows;
+            do {
+                rows = invalidationMapper.findAfter(cursor, batchSize);
+                for (CacheInvalidation row : rows) {
+                    cursor = Math.max(cursor, row.getInvalidationId());
+                    apply(row);
+                }
+            } while (rows.size() == batchSize);
+
+            lastPollAt = pollAt;
+            applied.values().removeIf(createdAt -> createdAt.isBefore(since));
+        } catch (Exception e) {
+            log.warn("轮询缓存失效记录失败: {}", e.getMessage());
+        }
+    }
+
+    private void apply(CacheInvalidation row) {
+        if (applied.putIfAbsent(row.getInvalidationId(), row.getCreatedAt()) != null
+                || nodeId.equals(row.getSourceNode())) {
+            return;
+        }
+        log.debug("应用其他节点的缓存失效: {}", row);
+        eventPublisher.publishEvent(toEvent(row));
+    }
+
+    /**
+     * 每小时清理过期的失效记录
+     */
+    @Scheduled(cron = "0 17 * * * *")
+    public void purge() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int deleted = invalidationMapper.deleteBefore(LocalDateTime.now().minusHours(retentionHours));
+            if (deleted > 0) {
+                log.info("清理缓存失效记录 {} 条", deleted);
+                contentVersions.refreshFloor();
+            }
+        } catch (Exception e) {
+            log.warn("清理缓存失效记录失败: {}", e.getMessage());
+        }
+    }
+
+    private static String scopes(ContentChangedEvent event) {
+        List<String> scopes = new ArrayList<>();
+        if (event.isFeed()) {
+            scopes.add(SCOPE_FEED);
+        }
+        if (event.isTags()) {
+            scopes.add(SCOPE_TAGS);
+        }
+        if (event.isUsers()) {
+            scopes.add(SCOPE_USERS);
+        }
+        return String.join(",", scopes);
+    }
+
+    private static ContentChangedEvent toEvent(CacheInvalidation row) {
+        List<String> scopes = row.getScopes() == null || row.getScopes().isEmpty()
+                ? List.of()
+                : Arrays.asList(row.getScopes().split(","));
+        ContentChangedEvent event = new ContentChangedEvent(
+                row.getPostId(),
+                row.getUserId(),
+                scopes.contains(SCOPE_FEED),
+                scopes.contains(SCOPE_TAGS),
+                scopes.contains(SCOPE_USERS),
+                true);
+        event.setSequence(row.getInvalidationId());
+        event.setChangedAt(millis(row));
+        return event;
+    }
+
+    private static long millis(CacheInvalidation row) {
+        return row.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blogbackend.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.Set;
+
+/**
+ * 已缓存的响应：gzip 压缩后的响应体与需要回放的响应头
+ */
+@Getter
+@AllArgsConstructor
+public class CachedResponse {
+    private final String contentType;
+    private final String etag;
+    private final String lastModified;
+    private final String cacheControl;
+    private final byte[] gzippedBody;
+    /**
+     * 失效标签，如 post:12、feed、tags、users
+     */
+    private final Set<String> tags;
+}
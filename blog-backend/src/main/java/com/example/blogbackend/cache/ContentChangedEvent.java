@@ -0,0 +1,106 @@
+package com.example.blogbackend.cache;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+import lombok.Setter;
+import lombok.ToString;
+
+/**
+ * 内容变更事件，由写操作在事务内发布，提交后由 ContentVersionRegistry 推进对应版本号
+ * 其他节点的变更由 CacheInvalidationFeed 从 CacheInvalidations 表读出后以 remote 事件重新发布
+ */
+@Getter
+@ToString
+@RequiredArgsConstructor
+public class ContentChangedEvent {
+    /**
+     * 缓存失效与放弃进行中加载的监听器顺序，先于版本号推进：新 ETag 可见时旧内容已无法再被读到
+     */
+    public static final int EVICT_ORDER = 0;
+    /**
+     * ContentVersionRegistry 推进版本号的顺序
+     */
+    public static final int VERSION_ORDER = 100;
+    /**
+     * 需要读取新版本号的重建（如首页快照）的顺序，晚于版本号推进
+     */
+    public static final int REFRESH_ORDER = 200;
+
+    /**
+     * 变更的文章ID，不涉及单篇文章时为 null
+     */
+    private final Integer postId;
+    /**
+     * 变更的用户ID，不涉及单个用户时为 null
+     */
+    private final Integer userId;
+    /**
+     * 文章列表是否受影响
+     */
+    private final boolean feed;
+    /**
+     * 标签云是否受影响
+     */
+    private final boolean tags;
+    /**
+     * 用户资料（用户名、头像）是否受影响
+     */
+    private final boolean users;
+    /**
+     * 是否来自其他节点
+     */
+    private final boolean remote;
+    /**
+     * 对应的 CacheInvalidations 记录ID，由 CacheInvalidationFeed 写入或读出记录后回填；
+     * 各节点以它作为版本号，同一变更在所有节点上得到相同的 ETag
+     */
+    @Setter
+    private Long sequence;
+    /**
+     * 对应失效记录的创建时间（毫秒），与 sequence 一起回填
+     */
+    @Setter
+    private Long changedAt;
+
+    /**
+     * 文章本身的增删改、隐藏/显示
+     */
+    public static ContentChangedEvent post(Integer postId) {
+        return new ContentChangedEvent(postId, null, true, true, false, false);
+    }
+
+    /**
+     * 文章下的评论变更（列表中的评论数也随之变化）
+     */
+    public static ContentChangedEvent comments(Integer postId) {
+        return new ContentChangedEvent(postId, null, true, false, false, false);
+    }
+
+    /**
+     * 只影响列表展示的批量变更（如摘录回填）
+     */
+    public static ContentChangedEvent feed() {
+        return new ContentChangedEvent(null, null, true, false, false, false);
+    }
+
+    /**
+     * 用户资料变更，文章详情与列表中的作者信息随之变化
+     */
+    public static ContentChangedEvent users(Integer userId) {
+        return new ContentChangedEvent(null, userId, false, false, true, false);
+    }
+
+    /**
+     * 账号状态或密码变更，不影响文章展示
+     */
+    public static ContentChangedEvent account(Integer userId) {
+        return new ContentChangedEvent(null, userId, false, false, false, false);
+    }
+
+    /**
+     * 数据绕过服务层批量写入（导入、压测造数）后使所有缓存失效
+     */
+    public static ContentChangedEvent all() {
+        return new ContentChangedEvent(null, null, true, true, true, false);
+    }
+}
@@ -0,0 +1,196 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.entity.CacheInvalidation;
+import com.example.blogbackend.mapper.CacheInvalidationMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * 内容版本号登记表，用于生成文章详情、文章列表与标签云的强 ETag
+ * 启用跨节点失效时，版本号取 CacheInvalidations 的记录ID，节点启动时从表中恢复，
+ * 同一内容在所有节点、重启前后都得到相同的 ETag；未启用时版本号只在本进程内递增，
+ * ETag 中带有启动纪元，重启后所有 ETag 自然失效
+ * 版本号不低于下限 floor：清理失效记录或文章条目过多时抬高下限，并丢弃不高于下限的文章条目
+ */
+@Slf4j
+@Component
+public class ContentVersionRegistry {
+    private static final String SHARED_EPOCH = "s";
+
+    private final CacheInvalidationMapper invalidationMapper;
+    private final int maxPosts;
+    private final AtomicLong clock = new AtomicLong();
+    private final Map<Integer, Version> posts = new ConcurrentHashMap<>();
+    private final AtomicReference<Version> floor;
+    private final AtomicReference<Version> feed = new AtomicReference<>(Version.NONE);
+    private final AtomicReference<Version> tags = new AtomicReference<>(Version.NONE);
+    private final AtomicReference<Version> users = new AtomicReference<>(Version.NONE);
+    private volatile String epoch;
+
+    public ContentVersionRegistry(
+            CacheInvalidationMapper invalidationMapper,
+            @Value("${blog.content-versions.max-posts:10000}") int maxPosts) {
+        this.invalidationMapper = invalidationMapper;
+        this.maxPosts = maxPosts;
+        long startedAt = System.currentTimeMillis();
+        this.epoch = Long.toString(startedAt, 36);
+        this.floor = new AtomicReference<>(new Version(0, startedAt));
+    }
+
+    /**
+     * 从 CacheInvalidations 恢复各版本号并切换为跨节点一致的 ETag，由 CacheInvalidationFeed 启动轮询时调用
+     */
+    public void seed() {
+        // 丢弃启动以来按本地计数器生成的版本号，这些变更的失效记录同样在表中
+        posts.clear();
+        feed.set(Version.NONE);
+        tags.set(Version.NONE);
+        users.set(Version.NONE);
+        CacheInvalidation oldest = invalidationMapper.findOldest();
+        floor.set(oldest == null
+                ? Version.NONE
+                : new Version(oldest.getInvalidationId() - 1, millis(oldest)));
+        for (CacheInvalidation row : invalidationMapper.findLatestPerPost()) {
+            advance(row.getPostId(), version(row));
+        }
+        advance(feed, version(invalidationMapper.findLatestInScope(CacheInvalidationFeed.SCOPE_FEED)));
+        advance(tags, version(invalidationMapper.findLatestInScope(CacheInvalidationFeed.SCOPE_TAGS)));
+        advance(users, version(invalidationMapper.findLatestInScope(CacheInvalidationFeed.SCOPE_USERS)));
+        epoch = SHARED_EPOCH;
+        log.info("内容版本号已从失效记录恢复: 下限={}, 文章条目={}", floor.get().revision, posts.size());
+    }
+
+    /**
+     * 失效记录清理后抬高下限，并丢弃已被下限覆盖的文章条目
+     */
+    public void refreshFloor() {
+        CacheInvalidation oldest = invalidationMapper.findOldest();
+        if (oldest != null) {
+            raiseFloor(new Version(oldest.getInvalidationId() - 1, millis(oldest)));
+        }
+    }
+
+    /**
+     * 事务提交后推进版本号；无事务时立即推进
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentChangedEvent.VERSION_ORDER)
+    public void onContentChanged(ContentChangedEvent event) {
+        log.debug("内容变更: {}", event);
+        Version version = event.getSequence() != null
+                ? new Version(event.getSequence(), event.getChangedAt() == null ? System.currentTimeMillis() : event.getChangedAt())
+                : new Version(clock.incrementAndGet(), System.currentTimeMillis());
+        clock.accumulateAndGet(version.revision, Math::max);
+        if (event.getPostId() != null) {
+            advance(event.getPostId(), version);
+        }
+        if (event.isFeed()) {
+            advance(feed, version);
+        }
+        if (event.isTags()) {
+            advance(tags, version);
+        }
+        if (event.isUsers()) {
+            advance(users, version);
+        }
+    }
+
+    /**
+     * 文章详情（含评论）的 ETag
+     */
+    public String postEtag(Integer postId) {
+        return "\"p" + postId + "-" + epoch + "-" + post(postId).revision + "-" + current(users).revision + "\"";
+    }
+
+    /**
+     * 文章详情的最后修改时间（毫秒）
+     */
+    public long postLastModified(Integer postId) {
+        return Math.max(post(postId).timestamp, current(users).timestamp);
+    }
+
+    /**
+     * 文章列表的 ETag，不同分页与查询条件由 URL 区分
+     */
+    public String feedEtag() {
+        return "\"f-" + epoch + "-" + current(feed).revision + "-" + current(users).revision + "\"";
+    }
+
+    public long feedLastModified() {
+        return Math.max(current(feed).timestamp, current(users).timestamp);
+    }
+
+    /**
+     * 标签云的 ETag
+     */
+    public String tagsEtag() {
+        return "\"t-" + epoch + "-" + current(tags).revision + "\"";
+    }
+
+    public long tagsLastModified() {
+        return current(tags).timestamp;
+    }
+
+    private Version post(Integer postId) {
+        Version version = posts.get(postId);
+        return version == null ? floor.get() : Version.max(version, floor.get());
+    }
+
+    private Version current(AtomicReference<Version> scope) {
+        return Version.max(scope.get(), floor.get());
+    }
+
+    private void advance(Integer postId, Version version) {
+        posts.merge(postId, version, Version::max);
+        if (posts.size() > maxPosts) {
+            // 条目过多时把下限抬到已知最高版本：所有文章的 ETag 变化一次，但不会把旧内容判为未修改
+            Version highest = posts.values().stream().reduce(Version.NONE, Version::max);
+            raiseFloor(highest);
+            log.info("文章版本条目超过{}条，下限抬高到{}", maxPosts, highest.revision);
+        }
+    }
+
+    private static void advance(AtomicReference<Version> scope, Version version) {
+        if (version != null) {
+            scope.accumulateAndGet(version, Version::max);
+        }
+    }
+
+    private void raiseFloor(Version version) {
+        Version raised = floor.accumulateAndGet(version, Version::max);
+        posts.values().removeIf(entry -> entry.revision <= raised.revision);
+    }
+
+    private static Version version(CacheInvalidation row) {
+        return row == null || row.getInvalidationId() == null ? null : new Version(row.getInvalidationId(), millis(row));
+    }
+
+    private static long millis(CacheInvalidation row) {
+        return row.getCreatedAt() == null ? 0 : row.getCreatedAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Version {
+        private static final Version NONE = new Version(0, 0);
+
+        private final long revision;
+        private final long timestamp;
+
+        private Version(long revision, long timestamp) {
+            this.revision = revision;
+            this.timestamp = timestamp;
+        }
+
+        private static Version max(Version a, Version b) {
+            return a.revision >= b.revision ? a : b;
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.datasource.FreshReads;
+import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.service.PostService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PreDestroy;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 首页快照：文章列表第一页（各常用分页大小）与标签云，预先序列化为 JSON 字节
+ * 写操作后或定时在后台刷新，刷新期间及数据库不可用时继续返回上一份快照；
+ * 列表与标签云各自刷新，一部分失败不影响另一部分更新
+ */
+@Slf4j
+@Component
+public class HomepageSnapshot {
+    private final PostService postService;
+    private final ContentVersionRegistry contentVersions;
+    private final ResponseCache responseCache;
+    private final ObjectMapper objectMapper;
+    private final boolean enabled;
+    private final List<Integer> pageSizes;
+    private final int maxPageSize;
+    private final ExecutorService refresher = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "homepage-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean dirty = new AtomicBoolean();
+    private final AtomicBoolean running = new AtomicBoolean();
+
+    /**
+     * 最近一次触发刷新的内容变更时间（毫秒），启动时视为刚变更过
+     */
+    private volatile long changedAt = System.currentTimeMillis();
+    private volatile Map<Integer, Body> feedPages;
+    private volatile Body tags;
+
+    public HomepageSnapshot(
+            PostService postService,
+            ContentVersionRegistry contentVersions,
+            ResponseCache responseCache,
+            ObjectMapper objectMapper,
+            @Value("${blog.homepage.enabled:true}") boolean enabled,
+            @Value("${blog.homepage.page-sizes:10,20,50}") List<Integer> pageSizes) {
+        this.postService = postService;
+        this.contentVersions = contentVersions;
+        this.responseCache = responseCache;
+        this.objectMapper = objectMapper;
+        this.enabled = enabled;
+        this.pageSizes = pageSizes;
+        this.maxPageSize = pageSizes.stream().mapToInt(Integer::intValue).max().orElse(0);
+    }
+
+    /**
+     * 第一页文章列表，快照尚未生成或不包含该分页大小时返回 null
+     */
+    public Body feedPage(int pageSize) {
+        Map<Integer, Body> pages = feedPages;
+        return pages == null ? null : pages.get(pageSize);
+    }
+
+    /**
+     * 标签云，快照尚未生成时返回 null
+     */
+    public Body tags() {
+        return tags;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        requestRefresh();
+    }
+
+    /**
+     * 在版本号推进之后请求刷新，刷新时取到的 ETag 不会比内容更旧
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentChangedEvent.REFRESH_ORDER)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.isFeed() || event.isTags() || event.isUsers()) {
+            changedAt = System.currentTimeMillis();
+            requestRefresh();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${blog.homepage.refresh-interval-ms:30000}",
+            initialDelayString = "${blog.homepage.refresh-interval-ms:30000}")
+    public void scheduledRefresh() {
+        requestRefresh();
+    }
+
+    /**
+     * 请求后台刷新；刷新进行中收到的请求合并为紧随其后的一次刷新
+     */
+    public void requestRefresh() {
+        if (!enabled) {
+            return;
+        }
+        dirty.set(true);
+        if (running.compareAndSet(false, true)) {
+            refresher.execute(this::drain);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        refresher.shutdownNow();
+    }
+
+    private void drain() {
+        try {
+            while (dirty.getAndSet(false)) {
+                refresh();
+            }
+        } finally {
+            running.set(false);
+        }
+        // 退出前到达的刷新请求
+        if (dirty.get() && running.compareAndSet(false, true)) {
+            refresher.execute(this::drain);
+        }
+    }
+
+    private void refresh() {
+        long start = System.nanoTime();
+        Set<String> changed = new HashSet<>();
+        try {
+            Map<Integer, Body> next = buildFeedPages();
+            Map<Integer, Body> previous = feedPages;
+            feedPages = next;
+            if (previous != null && !sameContent(previous, next)) {
+                changed.add(ResponseCache.TAG_FEED);
+            }
+        } catch (Exception e) {
+            log.warn("首页文章列表快照刷新失败，继续使用上一份: {}", e.getMessage());
+        }
+        try {
+            Body next = buildTags();
+            Body previous = tags;
+            tags = next;
+            if (previous != null && !Arrays.equals(previous.json, next.json)) {
+                changed.add(ResponseCache.TAG_TAGS);
+            }
+        } catch (Exception e) {
+            log.warn("标签云快照刷新失败，继续使用上一份: {}", e.getMessage());
+        }
+        // 响应缓存中可能存有旧快照的内容
+        responseCache.invalidate(changed);
+        log.debug("首页快照刷新完成，耗时{}ms", (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private Map<Integer, Body> buildFeedPages() throws JsonProcessingException {
+        // 先取版本号再查询，保证 ETag 不会比内容更新
+        String etag = contentVersions.feedEtag();
+        long lastModified = contentVersions.feedLastModified();
+        // 快照使用上面取到的新版本号，只能读已复制到最近一次变更之后的副本
+        List<Post> posts;
+        int total;
+        long previousFreshReads = FreshReads.require(changedAt);
+        try {
+            posts = postService.getAllPostsWithPagination(0, maxPageSize);
+            total = postService.getPostCount(null);
+        } finally {
+            FreshReads.restore(previousFreshReads);
+        }
+        Map<Integer, Body> pages = new HashMap<>();
+        for (Integer pageSize : pageSizes) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("items", posts.subList(0, Math.min(pageSize, posts.size())));
+            response.put("total", total);
+            pages.put(pageSize, new Body(objectMapper.writeValueAsBytes(response), etag, lastModified));
+        }
+        return Collections.unmodifiableMap(pages);
+    }
+
+    private Body buildTags() throws JsonProcessingException {
+        String etag = contentVersions.tagsEtag();
+        long lastModified = contentVersions.tagsLastModified();
+        List<String> tagList;
+        long previousFreshReads = FreshReads.require(changedAt);
+        try {
+            tagList = postService.getAllTags();
+        } finally {
+            FreshReads.restore(previousFreshReads);
+        }
+        return new Body(objectMapper.writeValueAsBytes(tagList), etag, lastModified);
+    }
+
+    private static boolean sameContent(Map<Integer, Body> previous, Map<Integer, Body> next) {
+        return previous.keySet().equals(next.keySet()) && previous.entrySet().stream()
+                .allMatch(page -> Arrays.equals(page.getValue().json, next.get(page.getKey()).json));
+    }
+
+    /**
+     * 预先序列化的响应体及其 ETag
+     */
+    @Getter
+    @AllArgsConstructor
+    public static class Body {
+        private final byte[] json;
+        private final String etag;
+        private final long lastModified;
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blogbackend.cache;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import java.util.List;
+
+/**
+ * 共享缓存序列化 Post 时保留对接口只读或隐藏的字段
+ */
+public abstract class PostCacheMixIn {
+    @JsonProperty(access = JsonProperty.Access.READ_WRITE)
+    private String contentHtml;
+
+    @JsonProperty
+    private String contentHash;
+
+    /**
+     * 由 tags 派生，不单独序列化，避免把 null 还原成空串
+     */
+    @JsonIgnore
+    abstract List<String> getTagsList();
+}
@@ -0,0 +1,286 @@
+package com.example.blogbackend.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 匿名公开接口的响应缓存，按标签失效；条目另有过期时间，兜住漏掉的跨节点失效
+ * 条目与标签索引均为并发集合，读取不加锁；超过容量时由一个线程批量淘汰最久未访问的条目
+ * 写入时按条目自身的标签校验失效代数：请求执行期间这些标签发生过失效的结果不会被缓存，
+ * 其他标签的失效不影响写入
+ */
+@Slf4j
+@Component
+public class ResponseCache {
+    public static final String TAG_FEED = "feed";
+    public static final String TAG_TAGS = "tags";
+    public static final String TAG_USERS = "users";
+
+    /**
+     * 标签代数按哈希分段，段数固定，不随文章数量增长；不同标签落在同一段只会多放弃一次写入
+     */
+    private static final int GENERATION_STRIPES = 1024;
+
+    private final int maxEntries;
+    private final long ttlNanos;
+    private final int evictBatch;
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final Map<String, Set<String>> keysByTag = new ConcurrentHashMap<>();
+    private final AtomicLongArray generations = new AtomicLongArray(GENERATION_STRIPES);
+    /**
+     * 各分段最近一次失效的时间（毫秒）
+     */
+    private final AtomicLongArray invalidatedAt = new AtomicLongArray(GENERATION_STRIPES);
+    private final AtomicLong clearGeneration = new AtomicLong();
+    /**
+     * 最近一次清空的时间，启动时视为刚清空过：启动前其他节点的变更副本未必已复制
+     */
+    private volatile long clearedAt = System.currentTimeMillis();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final Counter hits;
+    private final Counter misses;
+
+    public ResponseCache(
+            @Value("${blog.response-cache.max-entries:2000}") int maxEntries,
+            @Value("${blog.response-cache.ttl-seconds:60}") long ttlSeconds,
+            MeterRegistry meterRegistry) {
+        this.maxEntries = maxEntries;
+        this.ttlNanos = TimeUnit.SECONDS.toNanos(ttlSeconds);
+        this.evictBatch = Math.max(1, maxEntries / 10);
+        this.hits = Counter.builder("blog.response.cache")
+                .description("匿名响应缓存查询次数")
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("blog.response.cache")
+                .description("匿名响应缓存查询次数")
+                .tag("result", "miss")
+                .register(meterRegistry);
+        Gauge.builder("blog.response.cache.size", this, ResponseCache::size)
+                .description("匿名响应缓存条目数")
+                .register(meterRegistry);
+    }
+
+    public static String postTag(Integer postId) {
+        return "post:" + postId;
+    }
+
+    public CachedResponse get(String key) {
+        Entry entry = entries.get(key);
+        long now = System.nanoTime();
+        if (entry != null && entry.expiresAt - now <= 0) {
+            remove(key, entry);
+            entry = null;
+        }
+        if (entry == null) {
+            misses.increment();
+            return null;
+        }
+        hits.increment();
+        entry.lastAccess = now;
+        return entry.response;
+    }
+
+    /**
+     * 请求开始前记下这些标签当前的失效代数与最近失效时间，写入缓存时传回
+     */
+    public Stamp stamp(Set<String> tags) {
+        int[] stripes = tags.stream().mapToInt(ResponseCache::stripe).distinct().toArray();
+        long[] values = new long[stripes.length];
+        long lastInvalidatedAt = clearedAt;
+        for (int i = 0; i < stripes.length; i++) {
+            values[i] = generations.get(stripes[i]);
+            lastInvalidatedAt = Math.max(lastInvalidatedAt, invalidatedAt.get(stripes[i]));
+        }
+        return new Stamp(clearGeneration.get(), stripes, values, lastInvalidatedAt);
+    }
+
+    /**
+     * 写入缓存，若请求执行期间条目的标签发生过失效则放弃
+     * 先登记索引再复核代数：与并发的失效交错时，要么失效能从索引找到该条目，要么复核失败后自行移除
+     * @return 是否写入
+     */
+    public boolean put(String key, CachedResponse response, Stamp stamp) {
+        if (!isCurrent(stamp)) {
+            return false;
+        }
+        Entry entry = new Entry(response, System.nanoTime() + ttlNanos);
+        entries.put(key, entry);
+        for (String tag : response.getTags()) {
+            keysByTag.compute(tag, (t, keys) -> {
+                Set<String> indexed = keys != null ? keys : ConcurrentHashMap.newKeySet();
+                indexed.add(key);
+                return indexed;
+            });
+        }
+        if (!isCurrent(stamp)) {
+            remove(key, entry);
+            return false;
+        }
+        if (entries.size() > maxEntries) {
+            evict();
+        }
+        return true;
+    }
+
+    /**
+     * 按标签失效，标签为空时什么都不做
+     */
+    public void invalidate(Set<String> tags) {
+        if (tags.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (String tag : tags) {
+            invalidatedAt.accumulateAndGet(stripe(tag), now, Math::max);
+            generations.incrementAndGet(stripe(tag));
+        }
+        int removed = 0;
+        for (String tag : tags) {
+            Set<String> keys = keysByTag.remove(tag);
+            if (keys == null) {
+                continue;
+            }
+            for (String key : keys) {
+                Entry entry = entries.get(key);
+                if (entry != null && remove(key, entry)) {
+                    removed++;
+                }
+            }
+        }
+        log.debug("响应缓存失效: 标签={}, 移除{}条", tags, removed);
+    }
+
+    public void clear() {
+        clearedAt = System.currentTimeMillis();
+        clearGeneration.incrementAndGet();
+        entries.clear();
+        keysByTag.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentChangedEvent.EVICT_ORDER)
+    public void onContentChanged(ContentChangedEvent event) {
+        Set<String> tags = new HashSet<>();
+        if (event.getPostId() != null) {
+            tags.add(postTag(event.getPostId()));
+        }
+        if (event.isFeed()) {
+            tags.add(TAG_FEED);
+        }
+        if (event.isTags()) {
+            tags.add(TAG_TAGS);
+        }
+        if (event.isUsers()) {
+            tags.add(TAG_USERS);
+        }
+        invalidate(tags);
+    }
+
+    private boolean isCurrent(Stamp stamp) {
+        if (clearGeneration.get() != stamp.clearGeneration) {
+            return false;
+        }
+        for (int i = 0; i < stamp.stripes.length; i++) {
+            if (generations.get(stamp.stripes[i]) != stamp.values[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 只有与 entry 相同的条目才会被移除，避免误删并发写入的新条目
+     */
+    private boolean remove(String key, Entry entry) {
+        if (!entries.remove(key, entry)) {
+            return false;
+        }
+        for (String tag : entry.response.getTags()) {
+            keysByTag.computeIfPresent(tag, (t, keys) -> {
+                keys.remove(key);
+                return keys.isEmpty() ? null : keys;
+            });
+        }
+        return true;
+    }
+
+    /**
+     * 超出容量时一次淘汰约十分之一最久未访问的条目，其他线程不等待
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - maxEntries;
+            if (excess <= 0) {
+                return;
+            }
+            entries.entrySet().stream()
+                    .sorted(Comparator.comparingLong(e -> e.getValue().lastAccess))
+                    .limit(excess + evictBatch)
+                    .forEach(e -> remove(e.getKey(), e.getValue()));
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static int stripe(String tag) {
+        return Math.floorMod(tag.hashCode(), GENERATION_STRIPES);
+    }
+
+    /**
+     * 请求开始时各标签的失效代数与最近失效时间
+     */
+    public static final class Stamp {
+        private final long clearGeneration;
+        private final int[] stripes;
+        private final long[] values;
+        private final long lastInvalidatedAt;
+
+        private Stamp(long clearGeneration, int[] stripes, long[] values, long lastInvalidatedAt) {
+            this.clearGeneration = clearGeneration;
+            this.stripes = stripes;
+            this.values = values;
+            this.lastInvalidatedAt = lastInvalidatedAt;
+        }
+
+        /**
+         * 这些标签最近一次失效的时间，生成可缓存的响应时只能读已复制到该时间之后的副本
+         */
+        public long getLastInvalidatedAt() {
+            return lastInvalidatedAt;
+        }
+    }
+
+    private static final class Entry {
+        private final CachedResponse response;
+        private final long expiresAt;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(CachedResponse response, long expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.datasource.FreshReads;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * 匿名读者的公开 GET 接口响应缓存
+ * 排在 Spring Security 之后，CORS 响应头仍按每个请求生成；命中时直接从内存回放 gzip 字节，
+ * 不再经过控制器、服务与 Mapper
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 10)
+public class ResponseCacheFilter extends OncePerRequestFilter {
+    private static final Pattern POST_DETAIL = Pattern.compile("/posts/(\\d+)");
+
+    private final ResponseCache responseCache;
+    private final boolean enabled;
+    private final int maxBodyBytes;
+
+    public ResponseCacheFilter(
+            ResponseCache responseCache,
+            @Value("${blog.response-cache.enabled:true}") boolean enabled,
+            @Value("${blog.response-cache.max-body-kb:512}") int maxBodyKb) {
+        this.responseCache = responseCache;
+        this.enabled = enabled;
+        this.maxBodyBytes = maxBodyKb * 1024;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled
+                || !"GET".equalsIgnoreCase(request.getMethod())
+                || request.getHeader(HttpHeaders.AUTHORIZATION) != null
+                || routeTags(request.getServletPath()) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        String key = cacheKey(request);
+        CachedResponse cached = responseCache.get(key);
+        if (cached != null) {
+            replay(cached, request, response);
+            return;
+        }
+
+        Set<String> tags = routeTags(request.getServletPath());
+        ResponseCache.Stamp stamp = responseCache.stamp(tags);
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        // 响应会被缓存，只能读已复制到这些标签最近一次失效之后的副本，否则读主库
+        long previousFreshReads = FreshReads.require(stamp.getLastInvalidatedAt());
+        try {
+            filterChain.doFilter(request, wrapper);
+            if (isCacheable(wrapper)) {
+                CachedResponse fresh = new CachedResponse(
+                        wrapper.getContentType(),
+                        wrapper.getHeader(HttpHeaders.ETAG),
+                        wrapper.getHeader(HttpHeaders.LAST_MODIFIED),
+                        wrapper.getHeader(HttpHeaders.CACHE_CONTROL),
+                        gzip(wrapper.getContentAsByteArray()),
+                        tags);
+                if (!responseCache.put(key, fresh, stamp)) {
+                    log.debug("请求期间内容已变更，放弃缓存: {}", key);
+                }
+            }
+        } finally {
+            FreshReads.restore(previousFreshReads);
+            wrapper.copyBodyToResponse();
+        }
+    }
+
+    /**
+     * 路由对应的失效标签，不可缓存的路由返回 null
+     */
+    static Set<String> routeTags(String servletPath) {
+        String path = normalize(servletPath);
+        if ("/posts".equals(path) || "/posts/bytags".equals(path)) {
+            return Set.of(ResponseCache.TAG_FEED, ResponseCache.TAG_USERS);
+        }
+        if ("/posts/tags".equals(path)) {
+            return Set.of(ResponseCache.TAG_TAGS);
+        }
+        var matcher = POST_DETAIL.matcher(path);
+        if (matcher.matches()) {
+            return Set.of(ResponseCache.postTag(Integer.valueOf(matcher.group(1))), ResponseCache.TAG_USERS);
+        }
+        return null;
+    }
+
+    /**
+     * 规范化的缓存键：去掉末尾斜杠，查询参数按名称排序
+     */
+    static String cacheKey(HttpServletRequest request) {
+        String path = normalize(request.getServletPath());
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        if (params.isEmpty()) {
+            return path;
+        }
+        StringBuilder key = new StringBuilder(path).append('?');
+        params.forEach((name, values) -> {
+            for (String value : values) {
+                key.append(name).append('=').append(value).append('&');
+            }
+        });
+        key.setLength(key.length() - 1);
+        return key.toString();
+    }
+
+    private static String normalize(String path) {
+        return path.length() > 1 && path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    private boolean isCacheable(ContentCachingResponseWrapper wrapper) {
+        String contentType = wrapper.getContentType();
+        return wrapper.getStatus() == HttpStatus.OK.value()
+                && wrapper.getContentSize() > 0
+                && wrapper.getContentSize() <= maxBodyBytes
+                && contentType != null
+                && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+    }
+
+    private void replay(CachedResponse cached, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.OK.value());
+        response.setContentType(cached.getContentType());
+        if (cached.getLastModified() != null) {
+            response.setHeader(HttpHeaders.LAST_MODIFIED, cached.getLastModified());
+        }
+        if (cached.getCacheControl() != null) {
+            response.setHeader(HttpHeaders.CACHE_CONTROL, cached.getCacheControl());
+        }
+        if (cached.getEtag() != null) {
+            response.setHeader(HttpHeaders.ETAG, cached.getEtag());
+            if (new ServletWebRequest(request, response).checkNotModified(cached.getEtag())) {
+                return;
+            }
+        }
+        response.addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        byte[] body;
+        if (acceptsGzip(request)) {
+            response.setHeader(HttpHeaders.CONTENT_ENCODING, "gzip");
+            body = cached.getGzippedBody();
+        } else {
+            body = gunzip(cached.getGzippedBody());
+        }
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+    }
+
+    private static boolean acceptsGzip(HttpServletRequest request) {
+        String acceptEncoding = request.getHeader(HttpHeaders.ACCEPT_ENCODING);
+        return acceptEncoding != null && Arrays.stream(acceptEncoding.split(","))
+                .map(String::trim)
+                .anyMatch(encoding -> encoding.equals("gzip") || encoding.startsWith("gzip;") && !encoding.matches("gzip;\\s*q=0(\\.0*)?"));
+    }
+
+    private static byte[] gzip(byte[] data) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, data.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            gzip.write(data);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] gunzip(byte[] data) throws IOException {
+        try (GZIPInputStream gzip = new GZIPInputStream(new ByteArrayInputStream(data))) {
+            return StreamUtils.copyToByteArray(gzip);
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.example.blogbackend.cache;
+
+import java.time.Duration;
+
+/**
+ * 多个节点共享的二级缓存，值为序列化后的字节
+ * 未提供实现时 TwoTierCache 只使用进程内一级缓存
+ */
+public interface SharedCache {
+    /**
+     * 读取缓存，不存在或已过期时返回 null
+     */
+    byte[] get(String cacheName, String key);
+
+    void put(String cacheName, String key, byte[] value, Duration ttl);
+
+    void evict(String cacheName, String key);
+
+    /**
+     * 清空一个缓存的全部条目
+     */
+    void clear(String cacheName);
+}
@@ -0,0 +1,140 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.deadline.RequestDeadline;
+import com.example.blogbackend.exception.DeadlineExceededException;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+/**
+ * 按键合并并发加载：同一个键同时只有一个调用者真正执行加载，其余调用者等待并共享其结果
+ * 共享结果不会直接交给调用者，每个调用者拿到的都是 copier 生成的副本，避免相互修改
+ */
+public class SingleFlight<K, V> implements MeterBinder {
+    private final String name;
+    private final UnaryOperator<V> copier;
+    private final ConcurrentMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * @param name 指标中的 name 标签
+     * @param copier 结果副本生成方式
+     */
+    public SingleFlight(String name, UnaryOperator<V> copier) {
+        this.name = name;
+        this.copier = copier;
+    }
+
+    /**
+     * 执行或加入同键的加载，加载抛出的运行时异常会原样抛给所有等待者
+     * 例外是发起者自身的超时：等待者仍有余量时重新发起或加入新的加载，而不是继承别人的超时
+     */
+    public V execute(K key, Supplier<V> loader) {
+        calls.increment();
+        while (true) {
+            CompletableFuture<V> created = new CompletableFuture<>();
+            CompletableFuture<V> existing = inFlight.putIfAbsent(key, created);
+            if (existing == null) {
+                return load(key, created, loader);
+            }
+            coalesced.increment();
+            try {
+                return copy(await(existing));
+            } catch (LeaderTimedOut e) {
+                RequestDeadline deadline = RequestDeadline.current();
+                if (deadline != null && deadline.isExpired()) {
+                    deadline.markExceeded();
+                    throw new DeadlineExceededException("等待合并加载时超过 " + deadline.getBudgetMillis() + "ms 时限");
+                }
+                inFlight.remove(key, existing);
+            }
+        }
+    }
+
+    /**
+     * 放弃该键进行中的加载：已在等待的调用者仍得到其结果，之后的调用者发起新的加载
+     * 用于内容变更后，避免变更后到达的请求拿到变更前开始加载的结果
+     */
+    public void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    public void forgetAll() {
+        inFlight.clear();
+    }
+
+    private V load(K key, CompletableFuture<V> created, Supplier<V> loader) {
+        try {
+            V value = loader.get();
+            created.complete(value);
+            return copy(value);
+        } catch (RuntimeException | Error e) {
+            // 发起者因自己的时限失败时，等待者按各自的时限决定重试还是超时
+            RequestDeadline deadline = RequestDeadline.current();
+            created.completeExceptionally(deadline != null && deadline.isExceeded() ? new LeaderTimedOut(e) : e);
+            throw e;
+        } finally {
+            inFlight.remove(key, created);
+        }
+    }
+
+    public long getCalls() {
+        return calls.sum();
+    }
+
+    /**
+     * 被合并（未执行加载而直接等待结果）的调用次数
+     */
+    public long getCoalesced() {
+        return coalesced.sum();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blog.singleflight.calls", this, SingleFlight::getCalls)
+                .description("合并加载的调用总次数")
+                .tag("name", name)
+                .register(registry);
+        FunctionCounter.builder("blog.singleflight.coalesced", this, SingleFlight::getCoalesced)
+                .description("等待其他调用者加载结果而未访问数据库的次数")
+                .tag("name", name)
+                .register(registry);
+    }
+
+    private V copy(V value) {
+        return value == null ? null : copier.apply(value);
+    }
+
+    private V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * 发起者因自身时限失败，只在等待者之间传递
+     */
+    private static final class LeaderTimedOut extends RuntimeException {
+        private LeaderTimedOut(Throwable cause) {
+            super(cause);
+        }
+    }
+}
@@ -0,0 +1,180 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.datasource.FreshReads;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 两级缓存：进程内 LRU 一级缓存 + 可选的共享二级缓存（JSON 字节）
+ * 失效会同时清除两级；写入时校验失效代数，加载期间发生过失效的结果不会写入缓存
+ */
+@Slf4j
+public class TwoTierCache<V> implements MeterBinder {
+    private final String name;
+    private final Class<V> type;
+    private final Duration ttl;
+    private final SharedCache shared;
+    private final ObjectMapper codec;
+    private final Map<String, Entry<V>> local;
+    private final LongAdder localHits = new LongAdder();
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private long generation;
+    /**
+     * 最近一次失效的时间（毫秒），启动时视为刚失效过
+     */
+    private volatile long evictedAt = System.currentTimeMillis();
+
+    /**
+     * @param shared 共享缓存，为 null 时只使用一级缓存
+     * @param codec 共享缓存的序列化方式
+     */
+    public TwoTierCache(String name, Class<V> type, int maxEntries, Duration ttl, SharedCache shared, ObjectMapper codec) {
+        this.name = name;
+        this.type = type;
+        this.ttl = ttl;
+        this.shared = shared;
+        this.codec = codec;
+        this.local = new LinkedHashMap<String, Entry<V>>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry<V>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * 依次查一级、二级缓存，都未命中时调用 loader 加载并写入两级缓存；null 结果不缓存
+     */
+    public V get(Object key, Supplier<V> loader) {
+        String cacheKey = String.valueOf(key);
+        long generationAtStart;
+        synchronized (this) {
+            Entry<V> entry = local.get(cacheKey);
+            if (entry != null && entry.expiresAt > System.nanoTime()) {
+                localHits.increment();
+                return entry.value;
+            }
+            generationAtStart = generation;
+        }
+
+        V value = readShared(cacheKey);
+        if (value != null) {
+            sharedHits.increment();
+            putLocal(cacheKey, value, generationAtStart);
+            return value;
+        }
+
+        misses.increment();
+        // 加载结果会被缓存，只能读已复制到最近一次失效之后的副本
+        long previous = FreshReads.require(evictedAt);
+        try {
+            value = loader.get();
+        } finally {
+            FreshReads.restore(previous);
+        }
+        if (value != null && putLocal(cacheKey, value, generationAtStart)) {
+            writeShared(cacheKey, value);
+        }
+        return value;
+    }
+
+    public void evict(Object key) {
+        String cacheKey = String.valueOf(key);
+        synchronized (this) {
+            generation++;
+            evictedAt = System.currentTimeMillis();
+            local.remove(cacheKey);
+        }
+        if (shared != null) {
+            shared.evict(name, cacheKey);
+        }
+    }
+
+    public void clear() {
+        synchronized (this) {
+            generation++;
+            evictedAt = System.currentTimeMillis();
+            local.clear();
+        }
+        if (shared != null) {
+            shared.clear(name);
+        }
+    }
+
+    public synchronized int size() {
+        return local.size();
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("blog.cache.requests", localHits, LongAdder::sum)
+                .description("两级缓存查询次数")
+                .tags("cache", name, "result", "l1")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.requests", sharedHits, LongAdder::sum)
+                .description("两级缓存查询次数")
+                .tags("cache", name, "result", "l2")
+                .register(registry);
+        FunctionCounter.builder("blog.cache.requests", misses, LongAdder::sum)
+                .description("两级缓存查询次数")
+                .tags("cache", name, "result", "miss")
+                .register(registry);
+        Gauge.builder("blog.cache.size", this, TwoTierCache::size)
+                .description("一级缓存条目数")
+                .tag("cache", name)
+                .register(registry);
+    }
+
+    private synchronized boolean putLocal(String cacheKey, V value, long generationAtStart) {
+        if (generation != generationAtStart) {
+            return false;
+        }
+        local.put(cacheKey, new Entry<>(value, System.nanoTime() + ttl.toNanos()));
+        return true;
+    }
+
+    private V readShared(String cacheKey) {
+        if (shared == null) {
+            return null;
+        }
+        try {
+            byte[] bytes = shared.get(name, cacheKey);
+            return bytes == null ? null : codec.readValue(bytes, type);
+        } catch (Exception e) {
+            log.warn("读取共享缓存失败: {}:{} {}", name, cacheKey, e.getMessage());
+            return null;
+        }
+    }
+
+    private void writeShared(String cacheKey, V value) {
+        if (shared == null) {
+            return;
+        }
+        try {
+            shared.put(name, cacheKey, codec.writeValueAsBytes(value), ttl);
+        } catch (Exception e) {
+            log.warn("写入共享缓存失败: {}:{} {}", name, cacheKey, e.getMessage());
+        }
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.blogbackend.config;
+
+import com.example.blogbackend.cache.PostCacheMixIn;
+import com.example.blogbackend.cache.SharedCache;
+import com.example.blogbackend.cache.SingleFlight;
+import com.example.blogbackend.cache.TwoTierCache;
+import com.example.blogbackend.entity.Comment;
+import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.entity.User;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * 文章详情加载合并，热门文章缓存失效时只有一个请求访问数据库
+     */
+    @Bean
+    public SingleFlight<Integer, Post> postDetailFlight() {
+        return new SingleFlight<>("post-detail", post -> post.toBuilder().build());
+    }
+
+    /**
+     * 文章评论加载合并
+     */
+    @Bean
+    public SingleFlight<Integer, List<Comment>> postCommentsFlight() {
+        return new SingleFlight<>("post-comments", ArrayList::new);
+    }
+
+    /**
+     * 文章详情两级缓存（共享缓存可选）
+     */
+    @Bean
+    public TwoTierCache<Post> postDetailCache(
+            ObjectProvider<SharedCache> sharedCache,
+            ObjectMapper objectMapper,
+            @Value("${blog.cache.post-detail.max-entries:5000}") int maxEntries,
+            @Value("${blog.cache.post-detail.ttl-seconds:600}") long ttlSeconds) {
+        ObjectMapper codec = objectMapper.copy().addMixIn(Post.class, PostCacheMixIn.class);
+        return new TwoTierCache<>("post-detail", Post.class, maxEntries, Duration.ofSeconds(ttlSeconds),
+                sharedCache.getIfAvailable(), codec);
+    }
+
+    /**
+     * 用户资料缓存，User 带有角色与权限，不经过 JSON 往返，只使用一级缓存
+     */
+    @Bean
+    public TwoTierCache<User> userCache(
+            @Value("${blog.cache.user.max-entries:10000}") int maxEntries,
+            @Value("${blog.cache.user.ttl-seconds:600}") long ttlSeconds) {
+        return new TwoTierCache<>("user", User.class, maxEntries, Duration.ofSeconds(ttlSeconds), null, null);
+    }
+}
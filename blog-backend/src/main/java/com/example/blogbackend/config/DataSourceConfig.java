@@ -0,0 +1,218 @@
+package com.example.blogbackend.config;
+
+import com.example.blogbackend.datasource.DataSourcePools;
+import com.example.blogbackend.datasource.DataSourceRoutingProperties;
+import com.example.blogbackend.datasource.ReadWriteRoutingDataSource;
+import com.example.blogbackend.datasource.ReadYourWritesTracker;
+import com.example.blogbackend.datasource.ReplicaHealth;
+import com.example.blogbackend.datasource.ReplicaLagMonitor;
+import com.example.blogbackend.datasource.WorkloadProperties;
+import com.example.blogbackend.datasource.WorkloadRoutingDataSource;
+import com.example.blogbackend.datasource.WorkloadType;
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * 自定义数据源（读写分离或按工作负载拆分连接池开启时生效，否则使用 Spring Boot 默认的单一连接池）
+ * 主库使用 spring.datasource，副本使用 blog.datasource.routing.replicas，连接池参数默认沿用 spring.datasource.hikari
+ * 所有连接池的指标以 hikaricp_* 按 pool 标签暴露
+ */
+@Slf4j
+@Configuration
+@EnableConfigurationProperties({DataSourceRoutingProperties.class, WorkloadProperties.class})
+@ConditionalOnExpression("${blog.datasource.routing.enabled:false} or ${blog.datasource.workloads.enabled:false}")
+public class DataSourceConfig {
+
+    /**
+     * 主库连接池：按工作负载拆分时每个类别一个，否则只有一个
+     */
+    @Bean(destroyMethod = "close")
+    public DataSourcePools<WorkloadType> primaryPools(
+            WorkloadProperties workloads,
+            DataSourceProperties properties,
+            Environment environment) {
+        Map<WorkloadType, HikariDataSource> pools = new EnumMap<>(WorkloadType.class);
+        if (!workloads.isEnabled()) {
+            pools.put(WorkloadType.PUBLIC, createPool("primary", properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword(), properties, environment));
+            return new DataSourcePools<>(pools);
+        }
+        for (WorkloadType workload : WorkloadType.values()) {
+            HikariDataSource pool = createPool("primary-" + workload.name().toLowerCase(Locale.ROOT), properties.determineUrl(),
+                    properties.determineUsername(), properties.determinePassword(), properties, environment);
+            WorkloadProperties.Pool overrides = workloads.getPools().get(workload);
+            if (overrides != null) {
+                if (overrides.getMaximumPoolSize() != null) {
+                    pool.setMaximumPoolSize(overrides.getMaximumPoolSize());
+                }
+                if (overrides.getMinimumIdle() != null) {
+                    pool.setMinimumIdle(overrides.getMinimumIdle());
+                }
+                if (overrides.getConnectionTimeoutMs() != null) {
+                    pool.setConnectionTimeout(overrides.getConnectionTimeoutMs());
+                }
+            }
+            log.info("连接池 {}: 最大连接数 {}, 取连接超时 {}ms",
+                    pool.getPoolName(), pool.getMaximumPoolSize(), pool.getConnectionTimeout());
+            pools.put(workload, pool);
+        }
+        return new DataSourcePools<>(pools);
+    }
+
+    /**
+     * 只读副本连接池，未开启读写分离时为空
+     * 副本连接池由公开读取独占：按工作负载拆分时管理后台的只读事务走主库的 ADMIN 连接池
+     */
+    @Bean(destroyMethod = "close")
+    public DataSourcePools<String> replicaPools(
+            DataSourceRoutingProperties routing,
+            DataSourceProperties properties,
+            Environment environment) {
+        Map<String, HikariDataSource> replicas = new LinkedHashMap<>();
+        if (!routing.isEnabled()) {
+            return new DataSourcePools<>(replicas);
+        }
+        for (int i = 0; i < routing.getReplicas().size(); i++) {
+            DataSourceRoutingProperties.Replica replica = routing.getReplicas().get(i);
+            String name = replica.getName() != null ? replica.getName() : "replica-" + (i + 1);
+            HikariDataSource dataSource = createPool(name, replica.getUrl(),
+                    replica.getUsername() != null ? replica.getUsername() : properties.determineUsername(),
+                    replica.getPassword() != null ? replica.getPassword() : properties.determinePassword(),
+                    properties, environment);
+            dataSource.setReadOnly(true);
+            replicas.put(name, dataSource);
+        }
+        log.info("读写分离已启用，副本: {}", replicas.keySet());
+        return new DataSourcePools<>(replicas);
+    }
+
+    /**
+     * 连接池创建之后再绑定 hikaricp_* 指标：MeterRegistry 的连接池元数据指标依赖数据源，
+     * 创建连接池时直接注入 MeterRegistry 会形成循环依赖。连接池已启动时 Hikari 也允许设置一次
+     */
+    @Bean
+    public MeterBinder hikariPoolMetrics(DataSourcePools<WorkloadType> primaryPools, DataSourcePools<String> replicaPools) {
+        return registry -> Stream.concat(primaryPools.getPools().values().stream(), replicaPools.getPools().values().stream())
+                .filter(pool -> pool.getMetricsTrackerFactory() == null && pool.getMetricRegistry() == null)
+                .forEach(pool -> pool.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+    public ReplicaHealth replicaHealth(DataSourceRoutingProperties routing, DataSourcePools<String> replicaPools) {
+        return new ReplicaHealth(List.copyOf(replicaPools.getPools().keySet()), routing.getMaxLagMs());
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+    public ReadYourWritesTracker readYourWritesTracker(DataSourceRoutingProperties routing) {
+        return new ReadYourWritesTracker(Math.max(routing.getStickyWindowMs(), routing.getMaxLagMs()));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+    public ReplicaLagMonitor replicaLagMonitor(
+            DataSourcePools<WorkloadType> primaryPools,
+            DataSourcePools<String> replicaPools,
+            ReplicaHealth replicaHealth,
+            ReadYourWritesTracker readYourWritesTracker) {
+        Map<String, DataSource> replicas = replicaPools.getPools().entrySet().stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a, LinkedHashMap::new));
+        // 心跳属于写操作，有 USER 连接池时使用它
+        HikariDataSource primary = primaryPools.getPools().getOrDefault(WorkloadType.USER,
+                primaryPools.getPools().get(WorkloadType.PUBLIC));
+        return new ReplicaLagMonitor(primary, replicas, replicaHealth, readYourWritesTracker);
+    }
+
+    /**
+     * 应用使用的数据源：延迟取连接，保证路由时已知道事务属性与工作负载类别
+     */
+    @Bean
+    @Primary
+    public DataSource dataSource(
+            DataSourceRoutingProperties routing,
+            WorkloadProperties workloads,
+            DataSourcePools<WorkloadType> primaryPools,
+            DataSourcePools<String> replicaPools,
+            ObjectProvider<ReplicaHealth> replicaHealth,
+            ObjectProvider<ReadYourWritesTracker> readYourWritesTracker) {
+        DataSource primary;
+        if (primaryPools.getPools().size() == 1) {
+            primary = primaryPools.getPools().get(WorkloadType.PUBLIC);
+        } else {
+            WorkloadRoutingDataSource workloadRouting = new WorkloadRoutingDataSource();
+            workloadRouting.setTargetDataSources(new HashMap<>(primaryPools.getPools()));
+            workloadRouting.setDefaultTargetDataSource(primaryPools.getPools().get(WorkloadType.PUBLIC));
+            workloadRouting.afterPropertiesSet();
+            primary = workloadRouting;
+        }
+        if (!routing.isEnabled()) {
+            return new LazyConnectionDataSourceProxy(primary);
+        }
+        Map<Object, Object> targets = new HashMap<>(replicaPools.getPools());
+        targets.put(ReadWriteRoutingDataSource.PRIMARY, primary);
+        ReadWriteRoutingDataSource readWriteRouting = new ReadWriteRoutingDataSource(
+                replicaHealth.getObject(), readYourWritesTracker.getObject(), workloads.isEnabled());
+        readWriteRouting.setTargetDataSources(targets);
+        readWriteRouting.setDefaultTargetDataSource(primary);
+        readWriteRouting.afterPropertiesSet();
+        return new LazyConnectionDataSourceProxy(readWriteRouting);
+    }
+
+    /**
+     * 读写分离的路由计数：数据源创建之后再注册到 MeterRegistry，避免两者互相依赖
+     */
+    @Bean
+    @ConditionalOnProperty(prefix = "blog.datasource.routing", name = "enabled", havingValue = "true")
+    public MeterBinder dataSourceRouteMetrics(DataSource dataSource) {
+        return registry -> {
+            try {
+                dataSource.unwrap(ReadWriteRoutingDataSource.class).bindTo(registry);
+            } catch (SQLException e) {
+                log.warn("注册数据源路由指标失败: {}", e.getMessage());
+            }
+        };
+    }
+
+    private static HikariDataSource createPool(
+            String name,
+            String url,
+            String username,
+            String password,
+            DataSourceProperties properties,
+            Environment environment) {
+        HikariDataSource dataSource = new HikariDataSource();
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+        dataSource.setPoolName(name);
+        dataSource.setDriverClassName(properties.determineDriverClassName());
+        dataSource.setJdbcUrl(url);
+        dataSource.setUsername(username);
+        dataSource.setPassword(password);
+        return dataSource;
+    }
+}
@@ -0,0 +1,27 @@
+package com.example.blogbackend.config;
+
+import org.apache.ibatis.mapping.DatabaseIdProvider;
+import org.apache.ibatis.mapping.VendorDatabaseIdProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.Properties;
+
+/**
+ * MyBatis 配置
+ * 按数据库产品设置 databaseId，SQL Server 专有的写法（如表提示）通过 databaseId = "sqlserver" 单独声明，
+ * 未声明 databaseId 的版本用于集成测试与压测的 H2
+ */
+@Configuration
+public class MyBatisConfig {
+
+    @Bean
+    public DatabaseIdProvider databaseIdProvider() {
+        Properties properties = new Properties();
+        properties.setProperty("Microsoft SQL Server", "sqlserver");
+        properties.setProperty("H2", "h2");
+        VendorDatabaseIdProvider provider = new VendorDatabaseIdProvider();
+        provider.setProperties(properties);
+        return provider;
+    }
+}
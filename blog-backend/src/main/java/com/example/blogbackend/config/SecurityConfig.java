@@ -39,6 +39,9 @@ public class SecurityConfig {
             // 允许所有GET请求访问这些API（修改：确保/users/me需要认证）
             .antMatchers(HttpMethod.GET, "/posts/**", "/tags/**").permitAll()
             .antMatchers(HttpMethod.GET, "/users/[0-9]+").permitAll() // 仅允许查看特定用户ID的资料
+            // 健康检查公开，其余监控接口（含 Prometheus 抓取）仅限管理员
+            .antMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+            .antMatchers("/actuator/**").hasRole("ADMIN")
             // 允许所有OPTIONS请求
             .antMatchers(HttpMethod.OPTIONS, "/**").permitAll()
             // 管理员专用接口
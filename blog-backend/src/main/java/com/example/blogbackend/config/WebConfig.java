@@ -1,12 +1,17 @@
 package com.example.blogbackend.config;
 
+import com.example.blogbackend.monitor.EndpointLatencyInterceptor;
+import lombok.RequiredArgsConstructor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 import org.springframework.lang.NonNull;
 
 @Configuration
+@RequiredArgsConstructor
 public class WebConfig implements WebMvcConfigurer {
+    private final EndpointLatencyInterceptor endpointLatencyInterceptor;
 
     @Override
     public void addCorsMappings(@NonNull CorsRegistry registry) {
@@ -17,4 +22,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowCredentials(true)
                 .maxAge(3600);
     }
-} 
\ No newline at end of file
+
+    @Override
+    public void addInterceptors(@NonNull InterceptorRegistry registry) {
+        registry.addInterceptor(endpointLatencyInterceptor);
+    }
+}
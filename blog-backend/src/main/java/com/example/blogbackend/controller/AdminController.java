@@ -1,10 +1,21 @@
 package com.example.blogbackend.controller;
 
+import com.example.blogbackend.cache.ApproximateCounts;
+import com.example.blogbackend.datasource.Workload;
+import com.example.blogbackend.datasource.WorkloadType;
+import com.example.blogbackend.dto.BulkPostRequest;
 import com.example.blogbackend.entity.User;
 import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.monitor.EndpointLatencyRecorder;
+import com.example.blogbackend.monitor.SqlProfilerInterceptor;
+import com.example.blogbackend.purge.DeletionPurger;
 import com.example.blogbackend.service.AdminService;
 import com.example.blogbackend.service.UserService;
 import com.example.blogbackend.service.PostService;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.util.KeysetCursor;
+import com.example.blogbackend.vo.AdminUserVO;
+import com.example.blogbackend.vo.BulkModerationResultVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
@@ -12,18 +23,30 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
+import javax.validation.Valid;
+
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.function.Supplier;
 
 @Slf4j
 @RestController
 @RequestMapping("/admin")
+@Workload(WorkloadType.ADMIN)
 @RequiredArgsConstructor
 public class AdminController {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final AdminService adminService;
     private final UserService userService;
     private final PostService postService;
+    private final EndpointLatencyRecorder endpointLatencyRecorder;
+    private final SqlProfilerInterceptor sqlProfilerInterceptor;
+    private final DeletionPurger deletionPurger;
+    private final ApproximateCounts approximateCounts;
+    private final SiteStatistics siteStatistics;
 
     /**
      * 提升用户为管理员
@@ -48,26 +71,43 @@ public class AdminController {
     }
     
     /**
-     * 获取所有用户列表（分页）
+     * 获取用户列表（游标分页，total 可能是近似值）
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/users")
     public ResponseEntity<Map<String, Object>> getAllUsers(
-            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String keyword
     ) {
-        log.info("收到获取所有用户请求: page={}, size={}, keyword={}", page, size, keyword);
-        
-        int offset = (page - 1) * size;
-        List<User> users = userService.getAllUsersWithRoles(keyword, offset, size);
-        int total = userService.getUserCount(keyword);
-        
+        log.info("收到获取所有用户请求: cursor={}, size={}, keyword={}", cursor, size, keyword);
+
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+        String filter = normalizeKeyword(keyword);
+        int limit = pageSize(size);
+        List<AdminUserVO> users = new ArrayList<>(userService.getAdminUserPage(filter, after, limit + 1));
+        String nextCursor = null;
+        if (users.size() > limit) {
+            users = users.subList(0, limit);
+            AdminUserVO last = users.get(limit - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getUserId()).encode();
+        }
+        ApproximateCounts.Count total = approximateCounts.users(filter);
+
         Map<String, Object> response = new HashMap<>();
         response.put("items", users);
-        response.put("total", total);
-        
-        log.info("返回用户数量: {}, 总数: {}", users.size(), total);
+        response.put("nextCursor", nextCursor);
+        response.put("total", total.getTotal());
+        response.put("totalApproximate", total.isApproximate());
+
+        log.info("返回用户数量: {}, 总数: {}", users.size(), total.getTotal());
         return ResponseEntity.ok(response);
     }
     
@@ -109,34 +149,86 @@ public class AdminController {
     }
     
     /**
-     * 获取所有文章（分页）
+     * 删除用户（软删除并下线其文章，依赖数据由后台任务清理）
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @DeleteMapping("/users/{userId}")
+    public ResponseEntity<Void> deleteUser(
+            @AuthenticationPrincipal User currentUser,
+            @PathVariable Integer userId
+    ) {
+        if (currentUser == null) {
+            log.error("删除用户失败: 管理员未登录或会话已过期");
+            return ResponseEntity.status(401).build();
+        }
+
+        // 不能删除自己
+        if (currentUser.getUserId().equals(userId)) {
+            log.warn("用户尝试删除自己的账号: {}", userId);
+            return ResponseEntity.badRequest().build();
+        }
+
+        log.info("收到删除用户请求: userId={}", userId);
+        userService.deleteUser(userId);
+        return ResponseEntity.ok().build();
+    }
+
+    /**
+     * 已删除文章与用户的后台清理进度
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/purge")
+    public ResponseEntity<Map<String, Object>> getPurgeProgress() {
+        return ResponseEntity.ok(deletionPurger.progress());
+    }
+
+    /**
+     * 站点统计：文章、评论、收藏、用户总量与最近 days 天的按天新增和活跃用户
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/stats")
+    public ResponseEntity<Map<String, Object>> getStats(@RequestParam(defaultValue = "30") int days) {
+        return ResponseEntity.ok(siteStatistics.overview(days));
+    }
+
+    /**
+     * 获取文章列表（游标分页，total 可能是近似值）
      */
     @PreAuthorize("hasRole('ROLE_ADMIN')")
     @GetMapping("/posts")
     public ResponseEntity<Map<String, Object>> getAllPosts(
-            @RequestParam(defaultValue = "1") int page,
+            @RequestParam(required = false) String cursor,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String keyword
     ) {
-        log.info("收到获取所有文章请求: page={}, size={}, keyword={}", page, size, keyword);
-        
-        int offset = (page - 1) * size;
-        List<Post> posts;
-        int total;
-        
-        if (keyword != null && !keyword.isEmpty()) {
-            posts = postService.searchPosts(keyword, offset, size);
-            total = postService.getPostCount(keyword);
-        } else {
-            posts = postService.getAllPostsWithPagination(offset, size);
-            total = postService.getPostCount(null);
+        log.info("收到获取所有文章请求: cursor={}, size={}, keyword={}", cursor, size, keyword);
+
+        KeysetCursor after;
+        try {
+            after = KeysetCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            Map<String, Object> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
         }
-        
+        String filter = normalizeKeyword(keyword);
+        int limit = pageSize(size);
+        List<Post> posts = new ArrayList<>(postService.getAdminPostPage(filter, after, limit + 1));
+        String nextCursor = null;
+        if (posts.size() > limit) {
+            posts = posts.subList(0, limit);
+            Post last = posts.get(limit - 1);
+            nextCursor = KeysetCursor.of(last.getCreatedAt(), last.getPostId()).encode();
+        }
+        ApproximateCounts.Count total = approximateCounts.posts(filter);
+
         Map<String, Object> response = new HashMap<>();
         response.put("items", posts);
-        response.put("total", total);
-        
-        log.info("返回文章数量: {}, 总数: {}", posts.size(), total);
+        response.put("nextCursor", nextCursor);
+        response.put("total", total.getTotal());
+        response.put("totalApproximate", total.isApproximate());
+
+        log.info("返回文章数量: {}, 总数: {}", posts.size(), total.getTotal());
         return ResponseEntity.ok(response);
     }
     
@@ -173,6 +265,86 @@ public class AdminController {
         return ResponseEntity.ok().build();
     }
 
+    /**
+     * 批量隐藏文章
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/posts/bulk/hide")
+    public ResponseEntity<?> hidePosts(@Valid @RequestBody BulkPostRequest request) {
+        log.info("收到批量隐藏文章请求: {} 个ID", request.getPostIds().size());
+        return bulkModeration(() -> postService.setPostsHidden(request.getPostIds(), true));
+    }
+
+    /**
+     * 批量显示文章
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/posts/bulk/show")
+    public ResponseEntity<?> showPosts(@Valid @RequestBody BulkPostRequest request) {
+        log.info("收到批量显示文章请求: {} 个ID", request.getPostIds().size());
+        return bulkModeration(() -> postService.setPostsHidden(request.getPostIds(), false));
+    }
+
+    /**
+     * 批量删除文章（软删除，依赖数据由后台任务清理）
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @PostMapping("/posts/bulk/delete")
+    public ResponseEntity<?> deletePosts(@Valid @RequestBody BulkPostRequest request) {
+        log.info("收到批量删除文章请求: {} 个ID", request.getPostIds().size());
+        return bulkModeration(() -> postService.deletePostsByAdmin(request.getPostIds()));
+    }
+
+    private static String normalizeKeyword(String keyword) {
+        return keyword == null || keyword.trim().isEmpty() ? null : keyword.trim();
+    }
+
+    private static int pageSize(int size) {
+        return Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+    }
+
+    private ResponseEntity<?> bulkModeration(Supplier<BulkModerationResultVO> action) {
+        try {
+            return ResponseEntity.ok(action.get());
+        } catch (IllegalArgumentException e) {
+            Map<String, String> response = new HashMap<>();
+            response.put("message", e.getMessage());
+            return ResponseEntity.badRequest().body(response);
+        }
+    }
+
+    /**
+     * 接口耗时报告：各路由最近 1/5/15 分钟的 p50/p90/p99/p999（毫秒）
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/perf")
+    public ResponseEntity<List<Map<String, Object>>> getPerformanceReport() {
+        return ResponseEntity.ok(endpointLatencyRecorder.report());
+    }
+
+    /**
+     * SQL 语句 Top-N 报告
+     * @param sortBy 排序字段：total（总耗时）、avg、max、calls、rows
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @GetMapping("/perf/sql")
+    public ResponseEntity<List<Map<String, Object>>> getSqlReport(
+            @RequestParam(defaultValue = "20") int top,
+            @RequestParam(defaultValue = "total") String sortBy
+    ) {
+        return ResponseEntity.ok(sqlProfilerInterceptor.topStatements(top, sortBy));
+    }
+
+    /**
+     * 清空 SQL 语句统计
+     */
+    @PreAuthorize("hasRole('ROLE_ADMIN')")
+    @DeleteMapping("/perf/sql")
+    public ResponseEntity<Void> resetSqlReport() {
+        sqlProfilerInterceptor.reset();
+        return ResponseEntity.ok().build();
+    }
+
     /**
      * 管理员自检API，确保admin用户有管理员权限
      */
@@ -4,15 +4,20 @@ import com.example.blogbackend.dto.AuthenticationRequest;
 import com.example.blogbackend.dto.AuthenticationResponse;
 import com.example.blogbackend.dto.RegisterRequest;
 import com.example.blogbackend.service.AuthenticationService;
+import com.example.blogbackend.service.UserAvailabilityService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import javax.validation.Valid;
+import java.util.HashMap;
+import java.util.Map;
 
 @Slf4j
 @RestController
@@ -20,6 +25,7 @@ import javax.validation.Valid;
 @RequiredArgsConstructor
 public class AuthenticationController {
     private final AuthenticationService authenticationService;
+    private final UserAvailabilityService userAvailabilityService;
 
     @PostMapping("/register")
     public ResponseEntity<AuthenticationResponse> register(
@@ -50,4 +56,24 @@ public class AuthenticationController {
             throw e;
         }
     }
-} 
\ No newline at end of file
+
+    /**
+     * 注册表单的用户名/邮箱可用性检查（可逐字输入调用，未命中布隆过滤器时不访问数据库）
+     */
+    @GetMapping("/availability")
+    public ResponseEntity<Map<String, Object>> checkAvailability(
+            @RequestParam(required = false) String username,
+            @RequestParam(required = false) String email
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        if (username != null && !username.trim().isEmpty()) {
+            response.put("username", username);
+            response.put("usernameAvailable", !userAvailabilityService.isUsernameTaken(username));
+        }
+        if (email != null && !email.trim().isEmpty()) {
+            response.put("email", email);
+            response.put("emailAvailable", !userAvailabilityService.isEmailTaken(email));
+        }
+        return ResponseEntity.ok(response);
+    }
+}
@@ -76,28 +76,7 @@ public class MessageController {
             }
             
             for (Message message : messages) {
-                MessageVO vo = new MessageVO();
-                vo.setId(message.getMessageId());
-                vo.setType(message.getType() != null ? message.getType() : "unknown");
-                vo.setPostId(message.getPostId());
-                vo.setCreatedAt(message.getCreatedAt());
-                vo.setRead(message.getIsRead() != null ? message.getIsRead() : false);
-                
-                // 设置消息内容
-                vo.setTitle(message.getPostTitle() != null ? message.getPostTitle() : "未知文章");
-                // 我们没有发送者名称，这里设置一个默认值
-                vo.setAuthor("系统通知");
-                
-                // 根据消息类型设置内容
-                if ("comment".equals(message.getType())) {
-                    vo.setContent("有人评论了您的文章");
-                } else if ("favorite".equals(message.getType())) {
-                    vo.setContent("有人收藏了您的文章");
-                } else {
-                    vo.setContent("新消息");
-                }
-                
-                result.add(vo);
+                result.add(MessageVO.fromMessage(message));
             }
             
             return ResponseEntity.ok(result);
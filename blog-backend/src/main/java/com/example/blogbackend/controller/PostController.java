@@ -1,15 +1,22 @@
 package com.example.blogbackend.controller;
 
+import com.example.blogbackend.cache.ContentVersionRegistry;
+import com.example.blogbackend.cache.HomepageSnapshot;
+import com.example.blogbackend.deadline.RequestDeadline;
 import com.example.blogbackend.entity.Comment;
 import com.example.blogbackend.entity.Post;
 import com.example.blogbackend.entity.User;
+import com.example.blogbackend.exception.DeadlineExceededException;
 import com.example.blogbackend.service.CommentService;
 import com.example.blogbackend.service.PostService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import javax.validation.Valid;
 import java.time.LocalDateTime;
@@ -26,6 +33,8 @@ import java.util.Map;
 public class PostController {
     private final PostService postService;
     private final CommentService commentService;
+    private final ContentVersionRegistry contentVersions;
+    private final HomepageSnapshot homepageSnapshot;
 
     @PostMapping
     public ResponseEntity<?> createPost(
@@ -60,8 +69,19 @@ public class PostController {
             @RequestParam(defaultValue = "1") int page,
             @RequestParam(defaultValue = "10") int pageSize,
             @RequestParam(required = false) String keyword,
-            @RequestParam(required = false) String tag
+            @RequestParam(required = false) String tag,
+            WebRequest webRequest
     ) {
+        // 首页直接返回预先生成的快照
+        boolean homepage = page <= 1 && (keyword == null || keyword.trim().isEmpty()) && (tag == null || tag.trim().isEmpty());
+        HomepageSnapshot.Body snapshot = homepage ? homepageSnapshot.feedPage(pageSize) : null;
+        if (snapshot != null) {
+            return snapshotResponse(snapshot, webRequest);
+        }
+        // 版本未变化时直接返回 304，不查询数据库
+        if (webRequest.checkNotModified(contentVersions.feedEtag(), contentVersions.feedLastModified())) {
+            return null;
+        }
         try {
             // 保证分页参数合法
             page = Math.max(1, page);
@@ -102,7 +122,7 @@ public class PostController {
             response.put("items", posts);
             response.put("total", totalCount);
             
-            return ResponseEntity.ok(response);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(response);
         } catch (Exception e) {
             log.error("获取文章列表失败: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body("获取文章列表失败: " + e.getMessage());
@@ -110,7 +130,11 @@ public class PostController {
     }
 
     @GetMapping("/{postId}")
-    public ResponseEntity<Post> getPostById(@PathVariable Integer postId) {
+    public ResponseEntity<Post> getPostById(@PathVariable Integer postId, WebRequest webRequest) {
+        // 文章与评论均未变化时直接返回 304
+        if (webRequest.checkNotModified(contentVersions.postEtag(postId), contentVersions.postLastModified(postId))) {
+            return null;
+        }
         try {
             log.info("接收到获取文章详情请求，文章ID: {}", postId);
             
@@ -146,8 +170,13 @@ public class PostController {
             post.setCommentCount(comments.size());
             
             log.info("文章详情获取成功，文章ID: {}, 评论数: {}", post.getPostId(), comments.size());
-            return ResponseEntity.ok(post);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(post);
         } catch (Exception e) {
+            RequestDeadline deadline = RequestDeadline.current();
+            if (e instanceof DeadlineExceededException || deadline != null && deadline.isExceeded()) {
+                // 超时由 DeadlineResponseAdvice / DeadlineFilter 返回 503，不能当作文章不存在
+                throw e;
+            }
             log.error("获取文章详情失败: {}", e.getMessage(), e);
             return ResponseEntity.notFound().build();
         }
@@ -193,12 +222,19 @@ public class PostController {
     }
 
     @GetMapping("/tags")
-    public ResponseEntity<List<String>> getAllTags() {
+    public ResponseEntity<?> getAllTags(WebRequest webRequest) {
+        HomepageSnapshot.Body snapshot = homepageSnapshot.tags();
+        if (snapshot != null) {
+            return snapshotResponse(snapshot, webRequest);
+        }
+        if (webRequest.checkNotModified(contentVersions.tagsEtag(), contentVersions.tagsLastModified())) {
+            return null;
+        }
         try {
             log.info("接收到获取所有标签请求");
             List<String> tags = postService.getAllTags();
             log.info("成功获取标签列表，共{}个标签", tags.size());
-            return ResponseEntity.ok(tags);
+            return ResponseEntity.ok().cacheControl(CacheControl.noCache()).body(tags);
         } catch (Exception e) {
             log.error("获取标签列表失败: {}", e.getMessage(), e);
             return ResponseEntity.badRequest().body(null);
@@ -272,4 +308,15 @@ public class PostController {
             return ResponseEntity.badRequest().build();
         }
     }
+
+    private ResponseEntity<?> snapshotResponse(HomepageSnapshot.Body snapshot, WebRequest webRequest) {
+        // 使用快照生成时的 ETag，保证与快照内容一致
+        if (webRequest.checkNotModified(snapshot.getEtag(), snapshot.getLastModified())) {
+            return null;
+        }
+        return ResponseEntity.ok()
+                .cacheControl(CacheControl.noCache())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(snapshot.getJson());
+    }
 } 
\ No newline at end of file
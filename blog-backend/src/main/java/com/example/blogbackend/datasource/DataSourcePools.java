@@ -0,0 +1,27 @@
+package com.example.blogbackend.datasource;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 按名称保存的一组连接池（副本或按工作负载拆分的主库连接池），随容器关闭
+ */
+public class DataSourcePools<K> implements AutoCloseable {
+    private final Map<K, HikariDataSource> pools;
+
+    public DataSourcePools(Map<K, HikariDataSource> pools) {
+        this.pools = Collections.unmodifiableMap(new LinkedHashMap<>(pools));
+    }
+
+    public Map<K, HikariDataSource> getPools() {
+        return pools;
+    }
+
+    @Override
+    public void close() {
+        pools.values().forEach(HikariDataSource::close);
+    }
+}
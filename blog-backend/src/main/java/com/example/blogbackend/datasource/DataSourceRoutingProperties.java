@@ -0,0 +1,43 @@
+package com.example.blogbackend.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 读写分离配置（blog.datasource.routing）
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.datasource.routing")
+public class DataSourceRoutingProperties {
+    /**
+     * 是否启用读写分离，关闭时只使用 spring.datasource
+     */
+    private boolean enabled = false;
+    /**
+     * 只读副本，连接池参数沿用 spring.datasource.hikari
+     */
+    private List<Replica> replicas = new ArrayList<>();
+    /**
+     * 副本延迟超过该值时只读事务回退到主库
+     */
+    private long maxLagMs = 5000;
+    /**
+     * 心跳写入与延迟检测间隔
+     */
+    private long heartbeatIntervalMs = 1000;
+    /**
+     * 用户写入后，其只读事务在该时间内仍走主库（读己之写）
+     */
+    private long stickyWindowMs = 5000;
+
+    @Data
+    public static class Replica {
+        private String name;
+        private String url;
+        private String username;
+        private String password;
+    }
+}
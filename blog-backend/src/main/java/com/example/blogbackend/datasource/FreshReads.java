@@ -0,0 +1,38 @@
+package com.example.blogbackend.datasource;
+
+/**
+ * 当前线程只读事务的新鲜度要求：只路由到已复制到指定时间点（毫秒）之后的副本，没有这样的副本时读主库
+ * 缓存与快照重新加载时以最近一次相关失效的时间作为要求：副本若尚未复制到这次变更，
+ * 读到的旧数据会被缓存下来直到下一次失效或过期；已追上的副本则可以放心承担加载
+ */
+public final class FreshReads {
+    private static final ThreadLocal<Long> REQUIRED = new ThreadLocal<>();
+
+    private FreshReads() {
+    }
+
+    /**
+     * 要求后续只读事务读到 asOfMillis 之后的数据（嵌套时取较晚者），返回之前的要求以便恢复
+     */
+    public static long require(long asOfMillis) {
+        long previous = requiredAsOf();
+        REQUIRED.set(Math.max(previous, asOfMillis));
+        return previous;
+    }
+
+    public static void restore(long previous) {
+        if (previous == 0) {
+            REQUIRED.remove();
+        } else {
+            REQUIRED.set(previous);
+        }
+    }
+
+    /**
+     * 当前要求的时间点，没有要求时返回 0
+     */
+    public static long requiredAsOf() {
+        Long required = REQUIRED.get();
+        return required == null ? 0 : required;
+    }
+}
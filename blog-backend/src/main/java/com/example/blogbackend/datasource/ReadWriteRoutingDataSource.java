@@ -0,0 +1,79 @@
+package com.example.blogbackend.datasource;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 读写分离路由：只读事务走延迟达标的副本，其余（写事务、无事务语句、写后窗口内的用户）走主库；
+ * 缓存重新加载时只选已复制到最近一次相关失效之后的副本（FreshReads），没有时走主库。
+ * 按工作负载拆分连接池时，管理后台的只读事务也走主库的 ADMIN 连接池：副本连接池不区分工作负载，
+ * 后台扫描若占满副本连接，公开读取会一起排队
+ * 必须包在 LazyConnectionDataSourceProxy 里使用，否则取连接时事务的只读标记尚未设置
+ * 路由次数先累加在本地，由 MeterBinder 注册为计数器：MeterRegistry 依赖数据源，构造时不能注入
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements MeterBinder {
+    public static final String PRIMARY = "primary";
+
+    private final ReplicaHealth replicaHealth;
+    private final ReadYourWritesTracker readYourWrites;
+    private final boolean adminOnPrimary;
+    private final LongAdder primaryRoutes = new LongAdder();
+    private final LongAdder replicaRoutes = new LongAdder();
+    private final LongAdder fallbackRoutes = new LongAdder();
+
+    /**
+     * @param adminOnPrimary 管理后台的只读事务是否走主库（按工作负载拆分连接池时开启）
+     */
+    public ReadWriteRoutingDataSource(ReplicaHealth replicaHealth, ReadYourWritesTracker readYourWrites,
+                                      boolean adminOnPrimary) {
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+        this.adminOnPrimary = adminOnPrimary;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        routeCounter(registry, "primary", primaryRoutes);
+        routeCounter(registry, "replica", replicaRoutes);
+        routeCounter(registry, "fallback", fallbackRoutes);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWrite();
+            }
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        if (adminOnPrimary && WorkloadContext.current() == WorkloadType.ADMIN) {
+            primaryRoutes.increment();
+            return PRIMARY;
+        }
+        if (readYourWrites.isSticky()) {
+            fallbackRoutes.increment();
+            return PRIMARY;
+        }
+        String replica = replicaHealth.choose(FreshReads.requiredAsOf());
+        if (replica == null) {
+            // 没有延迟达标、或尚未复制到所要求时间点的副本
+            fallbackRoutes.increment();
+            return PRIMARY;
+        }
+        replicaRoutes.increment();
+        return replica;
+    }
+
+    private static void routeCounter(MeterRegistry meterRegistry, String target, LongAdder count) {
+        FunctionCounter.builder("blog.datasource.routes", count, LongAdder::sum)
+                .description("按目标统计的数据源路由次数（fallback 为只读事务回退到主库）")
+                .tag("target", target)
+                .register(meterRegistry);
+    }
+}
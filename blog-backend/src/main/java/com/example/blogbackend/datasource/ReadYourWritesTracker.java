@@ -0,0 +1,136 @@
+package com.example.blogbackend.datasource;
+
+import com.example.blogbackend.entity.User;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.servlet.http.Cookie;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 读己之写：记录最近发生过写事务的用户，窗口期内其只读事务仍路由到主库
+ * 写入时间同时写进 Cookie，请求落到其他节点时按 Cookie 判断是否仍在窗口内；窗口应不小于副本允许的最大延迟
+ */
+public class ReadYourWritesTracker {
+    public static final String COOKIE_NAME = "blog_lw";
+    private static final String RECORDED_ATTRIBUTE = ReadYourWritesTracker.class.getName() + ".RECORDED";
+
+    private final long windowMs;
+    private final Map<Integer, Long> stickyUntil = new ConcurrentHashMap<>();
+
+    public ReadYourWritesTracker(long windowMs) {
+        this.windowMs = windowMs;
+    }
+
+    /**
+     * 当前用户开始写事务
+     */
+    public void recordWrite() {
+        Integer userId = currentUserId();
+        if (userId != null) {
+            long now = System.currentTimeMillis();
+            stickyUntil.put(userId, now + windowMs);
+            writeCookie(now);
+        }
+    }
+
+    /**
+     * 当前用户是否仍处于写后窗口内
+     */
+    public boolean isSticky() {
+        if (hasRecentWriteCookie()) {
+            return true;
+        }
+        Integer userId = currentUserId();
+        if (userId == null) {
+            return false;
+        }
+        Long until = stickyUntil.get(userId);
+        if (until == null) {
+            return false;
+        }
+        if (until < System.currentTimeMillis()) {
+            stickyUntil.remove(userId, until);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * 清理已过期的记录
+     */
+    public void purgeExpired() {
+        long now = System.currentTimeMillis();
+        stickyUntil.values().removeIf(until -> until < now);
+    }
+
+    /**
+     * 每个请求只写一次 Cookie，值为写事务开始的时间（毫秒）
+     */
+    private void writeCookie(long writtenAt) {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null || attributes.getResponse() == null
+                || attributes.getAttribute(RECORDED_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null) {
+            return;
+        }
+        attributes.setAttribute(RECORDED_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(writtenAt))
+                .httpOnly(true)
+                .path("/")
+                .sameSite("Lax")
+                .maxAge(Duration.ofMillis(windowMs))
+                .build();
+        HttpServletResponse response = attributes.getResponse();
+        response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+    }
+
+    /**
+     * Cookie 中的写入时间仍在窗口内；时间晚于本节点当前时间超过一个窗口的值视为伪造，忽略
+     */
+    private boolean hasRecentWriteCookie() {
+        ServletRequestAttributes attributes = currentRequest();
+        if (attributes == null) {
+            return false;
+        }
+        HttpServletRequest request = attributes.getRequest();
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return false;
+        }
+        long now = System.currentTimeMillis();
+        for (Cookie cookie : cookies) {
+            if (!COOKIE_NAME.equals(cookie.getName())) {
+                continue;
+            }
+            try {
+                long writtenAt = Long.parseLong(cookie.getValue());
+                return writtenAt > now - windowMs && writtenAt < now + windowMs;
+            } catch (NumberFormatException e) {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    private static ServletRequestAttributes currentRequest() {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        return attributes instanceof ServletRequestAttributes ? (ServletRequestAttributes) attributes : null;
+    }
+
+    private static Integer currentUserId() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof User) {
+            return ((User) authentication.getPrincipal()).getUserId();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,80 @@
+package com.example.blogbackend.datasource;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * 副本健康状态：由 ReplicaLagMonitor 更新复制延迟与已复制到的心跳时间，路由时在延迟达标的副本之间轮询
+ * 尚未检测过的副本视为不可用
+ */
+public class ReplicaHealth {
+    private final List<String> replicas;
+    private final long maxLagMs;
+    private final Map<String, Long> lags = new ConcurrentHashMap<>();
+    private final Map<String, Long> caughtUpTo = new ConcurrentHashMap<>();
+    private final AtomicInteger next = new AtomicInteger();
+    private volatile List<String> available = List.of();
+
+    public ReplicaHealth(List<String> replicas, long maxLagMs) {
+        this.replicas = List.copyOf(replicas);
+        this.maxLagMs = maxLagMs;
+    }
+
+    /**
+     * @param lagMs 复制延迟
+     * @param beatAt 副本上读到的心跳值：主库在该时间点之前提交的数据副本上都已可见
+     */
+    public void update(String replica, long lagMs, long beatAt) {
+        caughtUpTo.put(replica, beatAt);
+        lags.put(replica, lagMs);
+        refresh();
+    }
+
+    public void markDown(String replica) {
+        lags.remove(replica);
+        caughtUpTo.remove(replica);
+        refresh();
+    }
+
+    /**
+     * 选择一个可用且已复制到 asOfMillis 之后的副本，没有时返回 null
+     * @param asOfMillis 新鲜度要求（见 FreshReads），0 表示不要求
+     */
+    public String choose(long asOfMillis) {
+        List<String> candidates = available;
+        if (candidates.isEmpty()) {
+            return null;
+        }
+        int start = next.getAndIncrement();
+        for (int i = 0; i < candidates.size(); i++) {
+            String replica = candidates.get(Math.floorMod(start + i, candidates.size()));
+            if (caughtUpTo.getOrDefault(replica, 0L) >= asOfMillis) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 副本当前延迟（毫秒），不可用时返回 -1
+     */
+    public long lagOf(String replica) {
+        return lags.getOrDefault(replica, -1L);
+    }
+
+    public List<String> getReplicas() {
+        return replicas;
+    }
+
+    private void refresh() {
+        available = replicas.stream()
+                .filter(replica -> {
+                    Long lag = lags.get(replica);
+                    return lag != null && lag <= maxLagMs;
+                })
+                .collect(Collectors.toUnmodifiableList());
+    }
+}
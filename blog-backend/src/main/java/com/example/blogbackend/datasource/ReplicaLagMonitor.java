@@ -0,0 +1,71 @@
+package com.example.blogbackend.datasource;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 通过心跳表检测副本复制延迟
+ * 每个周期先读各副本上的心跳值，与上一周期写入主库的值比较，再写入新的心跳；
+ * 副本已追上上一次心跳时延迟记为 0，否则为当前时间与副本心跳之差。心跳值使用应用时钟，不受数据库时钟偏差影响
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+    private static final String READ_BEAT = "SELECT BeatAt FROM ReplicationHeartbeat WHERE Id = 1";
+    private static final String WRITE_BEAT = "UPDATE ReplicationHeartbeat SET BeatAt = ? WHERE Id = 1";
+
+    private final JdbcTemplate primary;
+    private final Map<String, JdbcTemplate> replicas;
+    private final ReplicaHealth replicaHealth;
+    private final ReadYourWritesTracker readYourWrites;
+    private long lastBeat = -1;
+
+    public ReplicaLagMonitor(DataSource primary, Map<String, DataSource> replicas,
+                             ReplicaHealth replicaHealth, ReadYourWritesTracker readYourWrites) {
+        this.primary = new JdbcTemplate(primary);
+        this.replicas = new LinkedHashMap<>();
+        replicas.forEach((name, dataSource) -> {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setQueryTimeout(2);
+            this.replicas.put(name, jdbcTemplate);
+        });
+        this.replicaHealth = replicaHealth;
+        this.readYourWrites = readYourWrites;
+    }
+
+    @Scheduled(fixedDelayString = "${blog.datasource.routing.heartbeat-interval-ms:1000}")
+    public void check() {
+        long now = System.currentTimeMillis();
+        replicas.forEach((name, jdbcTemplate) -> {
+            try {
+                Long beat = jdbcTemplate.queryForObject(READ_BEAT, Long.class);
+                if (lastBeat < 0 || beat == null) {
+                    // 尚无可比较的心跳
+                    return;
+                }
+                long lag = beat >= lastBeat ? 0 : now - beat;
+                long previous = replicaHealth.lagOf(name);
+                replicaHealth.update(name, lag, beat);
+                if (previous < 0) {
+                    log.info("副本 {} 可用，复制延迟 {}ms", name, lag);
+                }
+            } catch (Exception e) {
+                if (replicaHealth.lagOf(name) >= 0) {
+                    log.warn("副本 {} 检测失败，只读事务回退到主库: {}", name, e.getMessage());
+                }
+                replicaHealth.markDown(name);
+            }
+        });
+        try {
+            primary.update(WRITE_BEAT, now);
+            lastBeat = now;
+        } catch (Exception e) {
+            log.warn("写入复制心跳失败: {}", e.getMessage());
+        }
+        readYourWrites.purgeExpired();
+    }
+}
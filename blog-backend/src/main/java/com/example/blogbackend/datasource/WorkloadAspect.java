@@ -0,0 +1,45 @@
+package com.example.blogbackend.datasource;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+
+/**
+ * 在 @Workload 标注的方法执行期间设置连接池类别
+ * 排在事务切面之前，事务开始取连接时类别已经确定
+ */
+@Aspect
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 100)
+public class WorkloadAspect {
+
+    @Around("@annotation(com.example.blogbackend.datasource.Workload) || @within(com.example.blogbackend.datasource.Workload)")
+    public Object withWorkload(ProceedingJoinPoint joinPoint) throws Throwable {
+        Workload workload = resolve(joinPoint);
+        if (workload == null) {
+            return joinPoint.proceed();
+        }
+        WorkloadType previous = WorkloadContext.set(workload.value());
+        try {
+            return joinPoint.proceed();
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    private static Workload resolve(ProceedingJoinPoint joinPoint) {
+        Method method = ((MethodSignature) joinPoint.getSignature()).getMethod();
+        Class<?> targetClass = AopUtils.getTargetClass(joinPoint.getTarget());
+        Method specific = AopUtils.getMostSpecificMethod(method, targetClass);
+        Workload workload = AnnotatedElementUtils.findMergedAnnotation(specific, Workload.class);
+        return workload != null ? workload : AnnotatedElementUtils.findMergedAnnotation(targetClass, Workload.class);
+    }
+}
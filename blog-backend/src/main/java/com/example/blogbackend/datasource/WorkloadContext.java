@@ -0,0 +1,35 @@
+package com.example.blogbackend.datasource;
+
+/**
+ * 当前线程显式指定的工作负载类别
+ */
+public final class WorkloadContext {
+    private static final ThreadLocal<WorkloadType> CURRENT = new ThreadLocal<>();
+
+    private WorkloadContext() {
+    }
+
+    /**
+     * 设置当前线程的类别，返回之前的值以便恢复
+     */
+    public static WorkloadType set(WorkloadType workload) {
+        WorkloadType previous = CURRENT.get();
+        CURRENT.set(workload);
+        return previous;
+    }
+
+    public static void restore(WorkloadType previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+
+    /**
+     * 未显式指定时返回 null
+     */
+    public static WorkloadType current() {
+        return CURRENT.get();
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.blogbackend.datasource;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * 按工作负载划分的主库连接池配置（blog.datasource.workloads）
+ */
+@Data
+@ConfigurationProperties(prefix = "blog.datasource.workloads")
+public class WorkloadProperties {
+    /**
+     * 是否按工作负载拆分连接池，关闭时所有请求共用 spring.datasource 的连接池
+     */
+    private boolean enabled = false;
+    /**
+     * 各类别的连接池大小与取连接超时，未配置的项沿用 spring.datasource.hikari
+     */
+    private Map<WorkloadType, Pool> pools = new EnumMap<>(WorkloadType.class);
+
+    @Data
+    public static class Pool {
+        private Integer maximumPoolSize;
+        private Integer minimumIdle;
+        /**
+         * 等待空闲连接的最长时间，超时抛出异常
+         */
+        private Long connectionTimeoutMs;
+    }
+}
@@ -0,0 +1,25 @@
+package com.example.blogbackend.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * 按工作负载类别选择主库连接池：优先使用 @Workload 指定的类别，
+ * 否则读写事务归入 USER，其余归入 PUBLIC
+ * 需要包在 LazyConnectionDataSourceProxy 里使用，取连接时事务属性才已确定
+ */
+public class WorkloadRoutingDataSource extends AbstractRoutingDataSource {
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        WorkloadType workload = WorkloadContext.current();
+        if (workload != null) {
+            return workload;
+        }
+        if (TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            return WorkloadType.USER;
+        }
+        return WorkloadType.PUBLIC;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.blogbackend.datasource;
+
+/**
+ * 数据库工作负载类别，每类使用独立的连接池
+ */
+public enum WorkloadType {
+    /**
+     * 公开读取：文章列表、详情、标签等（未标注且非写事务时的默认类别）
+     */
+    PUBLIC,
+    /**
+     * 用户写操作：未标注的读写事务自动归入此类
+     */
+    USER,
+    /**
+     * 管理后台：列表扫描、模糊搜索与批量操作，连接少、排队等待，不占用公开读取的连接
+     */
+    ADMIN
+}
@@ -0,0 +1,85 @@
+package com.example.blogbackend.deadline;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 为每个请求按路由设置截止时间；预算耗尽导致的异常在这里统一转成 503
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@RequiredArgsConstructor
+public class DeadlineFilter extends OncePerRequestFilter {
+    private final DeadlineProperties properties;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled();
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RequestDeadline deadline = RequestDeadline.start(budgetFor(request));
+        try {
+            filterChain.doFilter(request, response);
+        } catch (ServletException | IOException | RuntimeException e) {
+            if (!deadline.isExceeded() || response.isCommitted()) {
+                throw e;
+            }
+            log.warn("请求超时: {} {} 时限 {}ms, {}", request.getMethod(), request.getRequestURI(),
+                    deadline.getBudgetMillis(), e.getMessage());
+            writeTimeout(response);
+        } finally {
+            RequestDeadline.clear();
+        }
+    }
+
+    static void writeTimeout(HttpServletResponse response) throws IOException {
+        response.resetBuffer();
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"message\":\"" + DeadlineResponseAdvice.TIMEOUT_MESSAGE + "\"}");
+    }
+
+    private long budgetFor(HttpServletRequest request) {
+        long budget = properties.getDefaultMs();
+        String path = request.getServletPath();
+        for (DeadlineProperties.Route route : properties.getRoutes()) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPattern(), path)) {
+                budget = route.getTimeoutMs();
+                break;
+            }
+        }
+        String requested = request.getHeader(properties.getHeader());
+        if (requested != null) {
+            try {
+                budget = Math.min(budget, Math.max(1, Long.parseLong(requested.trim())));
+            } catch (NumberFormatException e) {
+                log.debug("忽略无效的时限请求头: {}", requested);
+            }
+        }
+        return budget;
+    }
+}
@@ -0,0 +1,43 @@
+package com.example.blogbackend.deadline;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 请求时限配置（blog.deadline）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.deadline")
+public class DeadlineProperties {
+    private boolean enabled = true;
+    /**
+     * 未匹配任何路由时的时限
+     */
+    private long defaultMs = 10000;
+    /**
+     * 客户端可以通过该请求头缩短（不能延长）时限，单位毫秒
+     */
+    private String header = "X-Request-Timeout-Ms";
+    /**
+     * 按顺序匹配，第一个命中的生效
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        /**
+         * HTTP 方法，为空时匹配所有方法
+         */
+        private String method;
+        /**
+         * Ant 风格路径
+         */
+        private String pattern;
+        private long timeoutMs;
+    }
+}
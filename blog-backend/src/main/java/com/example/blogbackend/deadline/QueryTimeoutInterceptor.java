@@ -0,0 +1,65 @@
+package com.example.blogbackend.deadline;
+
+import lombok.extern.slf4j.Slf4j;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+
+/**
+ * 按请求剩余时间设置 JDBC queryTimeout
+ * 预算已耗尽时不再发出语句；语句因超时失败时把请求标记为已超时
+ */
+@Slf4j
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "prepare", args = {Connection.class, Integer.class}),
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class}),
+        @Signature(type = StatementHandler.class, method = "batch", args = {Statement.class})
+})
+public class QueryTimeoutInterceptor implements Interceptor {
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return invocation.proceed();
+        }
+        if ("prepare".equals(invocation.getMethod().getName())) {
+            deadline.check("执行 SQL 语句");
+            Statement statement = (Statement) invocation.proceed();
+            // JDBC 超时以秒为单位，向上取整，且不放宽已有的更严格的设置
+            int seconds = (int) Math.max(1, (deadline.remainingMillis() + 999) / 1000);
+            int current = statement.getQueryTimeout();
+            if (current == 0 || current > seconds) {
+                statement.setQueryTimeout(seconds);
+            }
+            return statement;
+        }
+        try {
+            return invocation.proceed();
+        } catch (Throwable e) {
+            if (deadline.isExpired() || hasTimeoutCause(e)) {
+                deadline.markExceeded();
+            }
+            throw e;
+        }
+    }
+
+    private static boolean hasTimeoutCause(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLTimeoutException) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,76 @@
+package com.example.blogbackend.deadline;
+
+import com.example.blogbackend.exception.DeadlineExceededException;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 当前请求的截止时间（线程绑定），由 DeadlineFilter 开启/关闭
+ * 预算耗尽或语句因超时失败后标记为已超时，响应改为 503
+ */
+public final class RequestDeadline {
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final long budgetMillis;
+    private final long deadlineNanos;
+    private volatile boolean exceeded;
+
+    private RequestDeadline(long budgetMillis) {
+        this.budgetMillis = budgetMillis;
+        this.deadlineNanos = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(budgetMillis);
+    }
+
+    /**
+     * 为当前线程开启截止时间
+     */
+    public static RequestDeadline start(long budgetMillis) {
+        RequestDeadline deadline = new RequestDeadline(budgetMillis);
+        CURRENT.set(deadline);
+        return deadline;
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程的截止时间，未开启时返回 null
+     */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 剩余毫秒数，可能为负
+     */
+    public long remainingMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean isExpired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 预算已耗尽时标记超时并抛出 DeadlineExceededException
+     * @param operation 即将执行的操作，用于错误信息
+     */
+    public void check(String operation) {
+        if (isExpired()) {
+            exceeded = true;
+            throw new DeadlineExceededException("请求超过 " + budgetMillis + "ms 时限，已放弃: " + operation);
+        }
+    }
+
+    public void markExceeded() {
+        exceeded = true;
+    }
+
+    public boolean isExceeded() {
+        return exceeded;
+    }
+
+    public long getBudgetMillis() {
+        return budgetMillis;
+    }
+}
@@ -0,0 +1,18 @@
+package com.example.blogbackend.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BulkPostRequest {
+    @NotEmpty(message = "文章ID列表不能为空")
+    private List<Integer> postIds;
+}
@@ -0,0 +1,43 @@
+package com.example.blogbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 跨节点缓存失效记录，各节点按 InvalidationId 递增轮询
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("CacheInvalidations")
+public class CacheInvalidation {
+    @TableId(value = "InvalidationId", type = IdType.AUTO)
+    private Long invalidationId;
+
+    @TableField("PostId")
+    private Integer postId;
+
+    @TableField("UserId")
+    private Integer userId;
+
+    /**
+     * 受影响的范围，逗号分隔：feed、tags、users
+     */
+    @TableField("Scopes")
+    private String scopes;
+
+    @TableField("SourceNode")
+    private String sourceNode;
+
+    @TableField("CreatedAt")
+    private LocalDateTime createdAt;
+}
@@ -0,0 +1,29 @@
+package com.example.blogbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * 按天统计的新增数量（文章、评论、收藏、注册、活跃用户）
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("DailyStats")
+public class DailyStat {
+    @TableField("StatDate")
+    private LocalDate statDate;
+
+    @TableField("Metric")
+    private String metric;
+
+    @TableField("Total")
+    private Long total;
+}
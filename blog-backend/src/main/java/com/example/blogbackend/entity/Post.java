@@ -10,7 +10,9 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 import javax.validation.constraints.NotBlank;
 import javax.validation.constraints.Size;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonFormat;
 
 import java.time.LocalDateTime;
@@ -19,7 +21,7 @@ import java.util.Arrays;
 import java.util.List;
 
 @Data
-@Builder
+@Builder(toBuilder = true)
 @NoArgsConstructor
 @AllArgsConstructor
 @TableName("Posts")
@@ -39,10 +41,28 @@ public class Post {
     @NotBlank(message = "内容不能为空")
     @TableField("Content")
     private String content;
+
+    // 服务端渲染并清理过的正文 HTML，保存时生成，客户端提交的值会被忽略
+    @TableField("ContentHtml")
+    @JsonProperty(access = JsonProperty.Access.READ_ONLY)
+    private String contentHtml;
+
+    // 生成 ContentHtml 时正文的哈希，用于判断 HTML 是否过期
+    @TableField("ContentHash")
+    @JsonIgnore
+    private String contentHash;
     
     @Size(max = 500, message = "摘要长度不能超过500")
     @TableField("Summary")
     private String summary;
+
+    // 由正文自动生成的纯文本摘录，写入时计算
+    @TableField("Excerpt")
+    private String excerpt;
+
+    // 预计阅读时长（分钟），写入时计算
+    @TableField("ReadingMinutes")
+    private Integer readingMinutes;
     
     @TableField("CreatedAt")
     @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
@@ -70,6 +90,13 @@ public class Post {
     @TableField("IsHidden")
     private Boolean isHidden;
 
+    /**
+     * 软删除时间，非空表示已删除、等待后台清理
+     */
+    @JsonIgnore
+    @TableField("DeletedAt")
+    private LocalDateTime deletedAt;
+
     @TableField(exist = false)
     private List<Comment> comments;
     
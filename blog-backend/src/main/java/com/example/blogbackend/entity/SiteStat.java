@@ -0,0 +1,30 @@
+package com.example.blogbackend.entity;
+
+import com.baomidou.mybatisplus.annotation.TableField;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * 全站统计总量，由各节点定时把内存中的增量合并进来
+ */
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@TableName("SiteStats")
+public class SiteStat {
+    @TableId("Metric")
+    private String metric;
+
+    @TableField("Total")
+    private Long total;
+
+    @TableField("UpdatedAt")
+    private LocalDateTime updatedAt;
+}
@@ -47,6 +47,20 @@ public class User implements UserDetails {
     @TableField("Disabled")
     private Boolean disabled;
 
+    /**
+     * 软删除时间，非空表示已删除、等待后台清理
+     */
+    @JsonIgnore
+    @TableField("DeletedAt")
+    private LocalDateTime deletedAt;
+
+    /**
+     * 逗号分隔的角色名，由 UserRoles 派生，角色变更时刷新
+     */
+    @JsonIgnore
+    @TableField("RolesCache")
+    private String rolesCache;
+
     @TableField(exist = false)
     private List<Role> roles;
 
@@ -0,0 +1,7 @@
+package com.example.blogbackend.exception;
+
+public class NPlusOneQueryException extends RuntimeException {
+    public NPlusOneQueryException(String message) {
+        super(message);
+    }
+}
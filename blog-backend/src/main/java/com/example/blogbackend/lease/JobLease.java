@@ -0,0 +1,47 @@
+package com.example.blogbackend.lease;
+
+import com.example.blogbackend.mapper.JobLeaseMapper;
+import com.example.blogbackend.util.NodeIdentity;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.stereotype.Component;
+
+/**
+ * 基于 JobLeases 表的任务租约
+ * 多个节点同时启动时只有拿到租约的节点执行后台任务；持有者宕机后租约到期，其他节点可以接手
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class JobLease {
+    private final JobLeaseMapper jobLeaseMapper;
+
+    /**
+     * 获取或续期租约
+     * @param name 任务名
+     * @param ttlSeconds 租约时长（秒），长任务需要在到期前再次调用续期
+     * @return 是否由本节点持有
+     */
+    public boolean tryAcquire(String name, int ttlSeconds) {
+        try {
+            return jobLeaseMapper.renew(name, NodeIdentity.ID, ttlSeconds) > 0
+                    || jobLeaseMapper.insertIfAbsent(name, NodeIdentity.ID, ttlSeconds) > 0;
+        } catch (DuplicateKeyException e) {
+            // 其他节点同时创建了租约
+            return false;
+        }
+    }
+
+    /**
+     * 释放本节点持有的租约
+     */
+    public void release(String name) {
+        try {
+            jobLeaseMapper.release(name, NodeIdentity.ID);
+        } catch (Exception e) {
+            // 释放失败时等待租约到期
+            log.warn("释放任务租约 {} 失败: {}", name, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.blogbackend.mapper;
+
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import com.example.blogbackend.entity.CacheInvalidation;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface CacheInvalidationMapper extends BaseMapper<CacheInvalidation> {
+    /**
+     * 按 ID 顺序读取游标之后的失效记录
+     * @param afterId 游标（不含）
+     * @param limit 最多读取条数
+     * @return 失效记录
+     */
+    @Select("SELECT TOP (#{limit}) * FROM CacheInvalidations " +
+           "WHERE InvalidationId > #{afterId} " +
+           "ORDER BY InvalidationId")
+    List<CacheInvalidation> findAfter(long afterId, int limit);
+
+    /**
+     * 读取游标之前、创建时间在回看窗口内的失效记录，用于找回晚于轮询提交的记录
+     * @param since 窗口起点（不含）
+     * @param upToId 游标（含）
+     * @param limit 最多读取条数
+     * @return 失效记录
+     */
+    @Select("SELECT TOP (#{limit}) * FROM CacheInvalidations " +
+           "WHERE CreatedAt > #{since} AND InvalidationId <= #{upToId} " +
+           "ORDER BY InvalidationId")
+    List<CacheInvalidation> findCreatedSince(LocalDateTime since, long upToId, int limit);
+
+    /**
+     * 当前最大的失效记录ID，节点启动时从这里开始轮询
+     */
+    @Select("SELECT COALESCE(MAX(InvalidationId), 0) FROM CacheInvalidations")
+    long findMaxId();
+
+    /**
+     * 最早的一条失效记录，其之前的记录均已被清理
+     */
+    @Select("SELECT TOP 1 * FROM CacheInvalidations ORDER BY InvalidationId")
+    CacheInvalidation findOldest();
+
+    /**
+     * 每篇文章最近一次失效记录的ID与时间，节点启动时用于恢复文章版本号
+     */
+    @Select("SELECT PostId, MAX(InvalidationId) AS InvalidationId, MAX(CreatedAt) AS CreatedAt " +
+           "FROM CacheInvalidations WHERE PostId IS NOT NULL GROUP BY PostId")
+    List<CacheInvalidation> findLatestPerPost();
+
+    /**
+     * 某个范围（feed、tags、users）最近一次失效记录的ID与时间，没有记录时返回 null
+     */
+    @Select("SELECT MAX(InvalidationId) AS InvalidationId, MAX(CreatedAt) AS CreatedAt " +
+           "FROM CacheInvalidations WHERE Scopes LIKE CONCAT('%', #{scope}, '%')")
+    CacheInvalidation findLatestInScope(String scope);
+
+    /**
+     * 清理过期的失效记录，始终保留最新的一条，使版本号下限不会回退
+     * @param before 早于该时间的记录会被删除
+     * @return 删除条数
+     */
+    @Delete("DELETE FROM CacheInvalidations WHERE CreatedAt < #{before} " +
+           "AND InvalidationId < (SELECT MAX(InvalidationId) FROM CacheInvalidations)")
+    int deleteBefore(LocalDateTime before);
+}
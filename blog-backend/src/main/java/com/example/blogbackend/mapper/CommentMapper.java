@@ -4,6 +4,7 @@ import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.blogbackend.entity.Comment;
 import com.example.blogbackend.entity.User;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Result;
@@ -21,7 +22,7 @@ public interface CommentMapper extends BaseMapper<Comment> {
            "u.Username as author_name " +
            "FROM Comments c " +
            "LEFT JOIN Users u ON c.UserId = u.UserId " +
-           "WHERE c.PostId = #{postId} " +
+           "WHERE c.PostId = #{postId} AND u.DeletedAt IS NULL " +
            "ORDER BY c.CreatedAt DESC")
     @Results({
         @Result(property = "commentId", column = "CommentId"),
@@ -43,7 +44,7 @@ public interface CommentMapper extends BaseMapper<Comment> {
            "p.Title as post_title " +
            "FROM Comments c " +
            "LEFT JOIN Posts p ON c.PostId = p.PostId " +
-           "WHERE c.UserId = #{userId} " +
+           "WHERE c.UserId = #{userId} AND p.DeletedAt IS NULL " +
            "ORDER BY c.CreatedAt DESC")
     @Results({
         @Result(property = "commentId", column = "CommentId"),
@@ -67,7 +68,7 @@ public interface CommentMapper extends BaseMapper<Comment> {
            "u.UserId as user_userId " +
            "FROM Comments c " +
            "LEFT JOIN Users u ON c.UserId = u.UserId " +
-           "WHERE c.PostId = #{postId} " +
+           "WHERE c.PostId = #{postId} AND u.DeletedAt IS NULL " +
            "ORDER BY c.CreatedAt DESC")
     @Results({
         @Result(property = "commentId", column = "CommentId"),
@@ -90,7 +91,7 @@ public interface CommentMapper extends BaseMapper<Comment> {
            "p.Title as post_title, p.UserId as post_userId " +
            "FROM Comments c " +
            "LEFT JOIN Posts p ON c.PostId = p.PostId " +
-           "WHERE c.UserId = #{userId} " +
+           "WHERE c.UserId = #{userId} AND p.DeletedAt IS NULL " +
            "ORDER BY c.CreatedAt DESC")
     @Results({
         @Result(property = "commentId", column = "CommentId"),
@@ -125,4 +126,22 @@ public interface CommentMapper extends BaseMapper<Comment> {
             one = @One(select = "com.example.blogbackend.mapper.UserMapper.findUserById"))
     })
     Comment findByIdWithUser(Integer commentId);
+
+    /**
+     * 分批删除文章下的评论（清理已删除文章时调用，需先删除引用评论的消息）
+     * @param postId 文章ID
+     * @param limit 单批最多删除行数
+     * @return 删除的行数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM Comments WHERE PostId = #{postId}")
+    int deleteBatchByPostId(Integer postId, int limit);
+
+    /**
+     * 分批删除用户的评论（清理已删除用户时调用，需先删除引用评论的消息）
+     * @param userId 用户ID
+     * @param limit 单批最多删除行数
+     * @return 删除的行数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM Comments WHERE UserId = #{userId}")
+    int deleteBatchByUserId(Integer userId, int limit);
 } 
\ No newline at end of file
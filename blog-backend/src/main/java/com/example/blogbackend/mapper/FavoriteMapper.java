@@ -3,6 +3,7 @@ package com.example.blogbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.blogbackend.entity.Favorite;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Select;
 import java.util.List;
 import java.util.Optional;
@@ -33,7 +34,7 @@ public interface FavoriteMapper extends BaseMapper<Favorite> {
            "FROM Favorites f " +
            "LEFT JOIN Users u ON f.UserId = u.UserId " +
            "LEFT JOIN Posts p ON f.PostId = p.PostId " +
-           "WHERE f.UserId = #{userId} " +
+           "WHERE f.UserId = #{userId} AND p.DeletedAt IS NULL " +
            "ORDER BY f.CreatedAt DESC")
     List<Favorite> findByUserId(Integer userId);
 
@@ -58,4 +59,22 @@ public interface FavoriteMapper extends BaseMapper<Favorite> {
      */
     @Select("SELECT COUNT(*) FROM Favorites WHERE PostId = #{postId}")
     int countByPostId(Integer postId);
+
+    /**
+     * 分批删除文章的收藏（清理已删除文章时调用）
+     * @param postId 文章ID
+     * @param limit 单批最多删除行数
+     * @return 删除的行数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM Favorites WHERE PostId = #{postId}")
+    int deleteBatchByPostId(Integer postId, int limit);
+
+    /**
+     * 分批删除用户的收藏（清理已删除用户时调用）
+     * @param userId 用户ID
+     * @param limit 单批最多删除行数
+     * @return 删除的行数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM Favorites WHERE UserId = #{userId}")
+    int deleteBatchByUserId(Integer userId, int limit);
 } 
\ No newline at end of file
@@ -0,0 +1,38 @@
+package com.example.blogbackend.mapper;
+
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Update;
+
+/**
+ * 任务租约，到期时间以数据库时钟计算
+ */
+@Mapper
+public interface JobLeaseMapper {
+    /**
+     * 续期自己持有的租约，或接手已过期的租约
+     * @param name 任务名
+     * @param owner 节点标识
+     * @param ttlSeconds 租约时长（秒）
+     * @return 1 表示持有租约
+     */
+    @Update("UPDATE JobLeases SET Owner = #{owner}, ExpiresAt = DATEADD(SECOND, #{ttlSeconds}, CURRENT_TIMESTAMP) " +
+            "WHERE Name = #{name} AND (Owner = #{owner} OR ExpiresAt < CURRENT_TIMESTAMP)")
+    int renew(String name, String owner, int ttlSeconds);
+
+    /**
+     * 租约不存在时创建
+     * @return 1 表示创建成功；并发创建时另一方会主键冲突
+     */
+    @Insert("INSERT INTO JobLeases (Name, Owner, ExpiresAt) " +
+            "SELECT CAST(#{name} AS NVARCHAR(64)), CAST(#{owner} AS NVARCHAR(100)), DATEADD(SECOND, #{ttlSeconds}, CURRENT_TIMESTAMP) " +
+            "WHERE NOT EXISTS (SELECT 1 FROM JobLeases WHERE Name = #{name})")
+    int insertIfAbsent(String name, String owner, int ttlSeconds);
+
+    /**
+     * 释放自己持有的租约
+     */
+    @Delete("DELETE FROM JobLeases WHERE Name = #{name} AND Owner = #{owner}")
+    int release(String name, String owner);
+}
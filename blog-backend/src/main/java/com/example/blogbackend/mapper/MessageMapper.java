@@ -3,6 +3,7 @@ package com.example.blogbackend.mapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.blogbackend.entity.Message;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Update;
 
@@ -16,11 +17,11 @@ public interface MessageMapper extends BaseMapper<Message> {
      * @param userId 用户ID
      * @return 未读消息列表
      */
-    @Select("SELECT m.*, p.title as post_title " +
-           "FROM messages m " +
-           "LEFT JOIN posts p ON m.post_id = p.post_id " +
-           "WHERE m.user_id = #{userId} AND m.is_read = false " +
-           "ORDER BY m.created_at DESC")
+    @Select("SELECT m.*, p.Title as PostTitle " +
+           "FROM Messages m " +
+           "LEFT JOIN Posts p ON m.PostId = p.PostId " +
+           "WHERE m.UserId = #{userId} AND m.IsRead = 0 AND p.DeletedAt IS NULL " +
+           "ORDER BY m.CreatedAt DESC")
     List<Message> getUnreadMessages(Integer userId);
 
     /**
@@ -28,11 +29,11 @@ public interface MessageMapper extends BaseMapper<Message> {
      * @param userId 用户ID
      * @return 消息列表
      */
-    @Select("SELECT m.*, p.title as post_title " +
-           "FROM messages m " +
-           "LEFT JOIN posts p ON m.post_id = p.post_id " +
-           "WHERE m.user_id = #{userId} " +
-           "ORDER BY m.created_at DESC")
+    @Select("SELECT m.*, p.Title as PostTitle " +
+           "FROM Messages m " +
+           "LEFT JOIN Posts p ON m.PostId = p.PostId " +
+           "WHERE m.UserId = #{userId} AND p.DeletedAt IS NULL " +
+           "ORDER BY m.CreatedAt DESC")
     List<Message> getAllMessages(Integer userId);
 
     /**
@@ -40,7 +41,7 @@ public interface MessageMapper extends BaseMapper<Message> {
      * @param messageId 消息ID
      * @return 更新的行数
      */
-    @Update("UPDATE messages SET is_read = true WHERE message_id = #{messageId}")
+    @Update("UPDATE Messages SET IsRead = 1 WHERE MessageId = #{messageId}")
     int markMessageAsRead(Integer messageId);
 
     /**
@@ -48,7 +49,7 @@ public interface MessageMapper extends BaseMapper<Message> {
      * @param userId 用户ID
      * @return 更新的行数
      */
-    @Update("UPDATE messages SET is_read = true WHERE user_id = #{userId}")
+    @Update("UPDATE Messages SET IsRead = 1 WHERE UserId = #{userId}")
     int markAllMessagesAsRead(Integer userId);
 
     /**
@@ -56,6 +57,26 @@ public interface MessageMapper extends BaseMapper<Message> {
      * @param userId 用户ID
      * @return 未读消息数量
      */
-    @Select("SELECT COUNT(*) FROM messages WHERE user_id = #{userId} AND is_read = false")
+    @Select("SELECT COUNT(*) FROM Messages WHERE UserId = #{userId} AND IsRead = 0")
     int getUnreadMessageCount(Integer userId);
+
+    /**
+     * 分批删除与文章及其评论相关的消息（清理已删除文章时调用）
+     * @param postId 文章ID
+     * @param limit 单批最多删除行数
+     * @return 删除的行数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM Messages WHERE PostId = #{postId} " +
+           "OR CommentId IN (SELECT CommentId FROM Comments WHERE PostId = #{postId})")
+    int deleteBatchByPostId(Integer postId, int limit);
+
+    /**
+     * 分批删除用户收到的消息以及引用其评论的消息（清理已删除用户时调用）
+     * @param userId 用户ID
+     * @param limit 单批最多删除行数
+     * @return 删除的行数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM Messages WHERE UserId = #{userId} " +
+           "OR CommentId IN (SELECT CommentId FROM Comments WHERE UserId = #{userId})")
+    int deleteBatchByUserId(Integer userId, int limit);
 } 
\ No newline at end of file
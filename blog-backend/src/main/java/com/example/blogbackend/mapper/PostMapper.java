@@ -2,15 +2,27 @@ package com.example.blogbackend.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.blogbackend.entity.Post;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import java.time.LocalDateTime;
+import org.apache.ibatis.annotations.ResultMap;
 import org.apache.ibatis.annotations.Select;
 import org.apache.ibatis.annotations.Results;
 import org.apache.ibatis.annotations.Result;
+import org.apache.ibatis.annotations.Update;
 
 import java.util.List;
 
 @Mapper
 public interface PostMapper extends BaseMapper<Post> {
+    /**
+     * 列表（文章卡片）查询的列：不含正文 Content，正文只在文章详情中加载
+     */
+    String POST_CARD_COLUMNS = "p.PostId, p.UserId, p.Title, p.Summary, p.Excerpt, p.ReadingMinutes, p.Tags, " +
+            "p.CreatedAt, p.UpdatedAt, p.IsHidden, " +
+            "u.Username, u.Avatar, u.UserId as UserID, " +
+            "(SELECT COUNT(*) FROM Comments WHERE PostId = p.PostId) as CommentCount ";
+
     /**
      * 查找文章及其作者信息
      * @param postId 文章ID
@@ -20,13 +32,17 @@ public interface PostMapper extends BaseMapper<Post> {
            "(SELECT COUNT(*) FROM Comments WHERE PostId = p.PostId) as CommentCount " +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
-           "WHERE p.PostId = #{postId}")
+           "WHERE p.PostId = #{postId} AND p.DeletedAt IS NULL")
     @Results({
         @Result(property = "postId", column = "PostId"),
         @Result(property = "userId", column = "UserId"),
         @Result(property = "title", column = "Title"),
         @Result(property = "content", column = "Content"),
+        @Result(property = "contentHtml", column = "ContentHtml"),
+        @Result(property = "contentHash", column = "ContentHash"),
         @Result(property = "summary", column = "Summary"),
+        @Result(property = "excerpt", column = "Excerpt"),
+        @Result(property = "readingMinutes", column = "ReadingMinutes"),
         @Result(property = "tags", column = "Tags"),
         @Result(property = "createdAt", column = "CreatedAt"),
         @Result(property = "updatedAt", column = "UpdatedAt"),
@@ -40,23 +56,25 @@ public interface PostMapper extends BaseMapper<Post> {
     Post findPostWithUser(Integer postId);
 
     /**
-     * 查找所有文章及其作者信息
+     * 查找所有文章及其作者信息（不含正文）
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username, u.Avatar, u.UserId as UserID, " +
-           "(SELECT COUNT(*) FROM Comments WHERE PostId = p.PostId) as CommentCount " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
+           "WHERE p.DeletedAt IS NULL " +
            "ORDER BY p.CreatedAt DESC")
-    @Results({
+    @Results(id = "postCard", value = {
         @Result(property = "postId", column = "PostId"),
         @Result(property = "userId", column = "UserId"),
         @Result(property = "title", column = "Title"),
-        @Result(property = "content", column = "Content"),
         @Result(property = "summary", column = "Summary"),
+        @Result(property = "excerpt", column = "Excerpt"),
+        @Result(property = "readingMinutes", column = "ReadingMinutes"),
         @Result(property = "tags", column = "Tags"),
         @Result(property = "createdAt", column = "CreatedAt"),
         @Result(property = "updatedAt", column = "UpdatedAt"),
+        @Result(property = "isHidden", column = "IsHidden"),
         @Result(property = "authorName", column = "Username"),
         @Result(property = "authorAvatar", column = "Avatar"),
         @Result(property = "author.userId", column = "UserID"),
@@ -71,12 +89,12 @@ public interface PostMapper extends BaseMapper<Post> {
      * @param userId 用户ID
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username as \"author.username\", " +
-           "u.Avatar as \"author.avatar\" " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
-           "WHERE p.UserId = #{userId} " +
+           "WHERE p.UserId = #{userId} AND p.DeletedAt IS NULL " +
            "ORDER BY p.CreatedAt DESC")
+    @ResultMap("postCard")
     List<Post> findByUserId(Integer userId);
 
     /**
@@ -84,29 +102,43 @@ public interface PostMapper extends BaseMapper<Post> {
      * @param keyword 关键词
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username as \"author.username\", " +
-           "u.Avatar as \"author.avatar\" " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
-           "WHERE p.Title LIKE CONCAT('%', #{keyword}, '%') " +
-           "   OR p.Content LIKE CONCAT('%', #{keyword}, '%') " +
+           "WHERE p.DeletedAt IS NULL " +
+           "  AND (p.Title LIKE CONCAT('%', #{keyword}, '%') " +
+           "   OR p.Content LIKE CONCAT('%', #{keyword}, '%')) " +
            "ORDER BY p.CreatedAt DESC")
+    @ResultMap("postCard")
     List<Post> searchPosts(String keyword);
 
     /**
      * 获取所有标签
+     * SQL Server 使用 STRING_SPLIT 拆分；H2 没有该函数，改用递归 CTE 逐个截取逗号前的部分
      * @return 标签列表
      */
-    @Select("WITH TagData AS (" +
+    @Select(databaseId = "sqlserver", value = "WITH TagData AS (" +
            "    SELECT Tags " +
            "    FROM Posts " +
-           "    WHERE Tags IS NOT NULL AND Tags <> ''" +
+           "    WHERE Tags IS NOT NULL AND Tags <> '' AND DeletedAt IS NULL" +
            ") " +
            "SELECT DISTINCT TRIM(value) AS tag " +
            "FROM TagData " +
            "CROSS APPLY STRING_SPLIT(Tags, ',') " +
            "WHERE TRIM(value) <> '' " +
            "ORDER BY tag")
+    @Select("WITH RECURSIVE TagParts(Rest, Tag) AS (" +
+           "    SELECT CAST(CONCAT(Tags, ',') AS NVARCHAR(4000)), CAST(NULL AS NVARCHAR(4000)) " +
+           "    FROM Posts " +
+           "    WHERE Tags IS NOT NULL AND Tags <> '' AND DeletedAt IS NULL " +
+           "    UNION ALL " +
+           "    SELECT SUBSTRING(Rest, LOCATE(',', Rest) + 1), TRIM(SUBSTRING(Rest, 1, LOCATE(',', Rest) - 1)) " +
+           "    FROM TagParts WHERE Rest <> ''" +
+           ") " +
+           "SELECT DISTINCT Tag AS tag " +
+           "FROM TagParts " +
+           "WHERE Tag <> '' " +
+           "ORDER BY tag")
     List<String> getAllTags();
 
     /**
@@ -114,12 +146,12 @@ public interface PostMapper extends BaseMapper<Post> {
      * @param tag 标签
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username as \"author.username\", " +
-           "u.Avatar as \"author.avatar\" " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
-           "WHERE p.Tags LIKE CONCAT('%', #{tag}, '%') " +
+           "WHERE p.Tags LIKE CONCAT('%', #{tag}, '%') AND p.DeletedAt IS NULL " +
            "ORDER BY p.CreatedAt DESC")
+    @ResultMap("postCard")
     List<Post> getPostsByTag(String tag, int offset, int limit);
 
     /**
@@ -127,13 +159,14 @@ public interface PostMapper extends BaseMapper<Post> {
      * @param keyword 关键词
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username as \"author.username\", " +
-           "u.Avatar as \"author.avatar\" " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
-           "WHERE p.Title LIKE CONCAT('%', #{keyword}, '%') " +
-           "   OR p.Content LIKE CONCAT('%', #{keyword}, '%') " +
+           "WHERE p.DeletedAt IS NULL " +
+           "  AND (p.Title LIKE CONCAT('%', #{keyword}, '%') " +
+           "   OR p.Content LIKE CONCAT('%', #{keyword}, '%')) " +
            "ORDER BY p.CreatedAt DESC")
+    @ResultMap("postCard")
     List<Post> searchPosts(String keyword, int offset, int limit);
 
     /**
@@ -141,12 +174,12 @@ public interface PostMapper extends BaseMapper<Post> {
      * @param userId 用户ID
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username as \"author.username\", " +
-           "u.Avatar as \"author.avatar\" " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
-           "WHERE p.UserId = #{userId} " +
+           "WHERE p.UserId = #{userId} AND p.DeletedAt IS NULL " +
            "ORDER BY p.CreatedAt DESC")
+    @ResultMap("postCard")
     List<Post> getPostsByUserId(Integer userId);
     
     /**
@@ -155,30 +188,14 @@ public interface PostMapper extends BaseMapper<Post> {
      * @param limit 限制数量
      * @return 文章列表
      */
-    @Select("SELECT p.*, u.Username, u.Avatar, u.UserId as UserID, " +
-           "(SELECT COUNT(*) FROM Comments WHERE PostId = p.PostId) as CommentCount " +
+    @Select("SELECT " + POST_CARD_COLUMNS +
            "FROM Posts p " +
            "LEFT JOIN Users u ON p.UserId = u.UserId " +
+           "WHERE p.DeletedAt IS NULL " +
            "ORDER BY p.CreatedAt DESC " +
            "OFFSET #{offset} ROWS " +
            "FETCH NEXT #{limit} ROWS ONLY")
-    @Results({
-        @Result(property = "postId", column = "PostId"),
-        @Result(property = "userId", column = "UserId"),
-        @Result(property = "title", column = "Title"),
-        @Result(property = "content", column = "Content"),
-        @Result(property = "summary", column = "Summary"),
-        @Result(property = "tags", column = "Tags"),
-        @Result(property = "createdAt", column = "CreatedAt"),
-        @Result(property = "updatedAt", column = "UpdatedAt"),
-        @Result(property = "isHidden", column = "IsHidden"),
-        @Result(property = "authorName", column = "Username"),
-        @Result(property = "authorAvatar", column = "Avatar"),
-        @Result(property = "author.userId", column = "UserID"),
-        @Result(property = "author.username", column = "Username"),
-        @Result(property = "author.avatar", column = "Avatar"),
-        @Result(property = "commentCount", column = "CommentCount")
-    })
+    @ResultMap("postCard")
     List<Post> findAllWithUserPaginated(int offset, int limit);
     
     /**
@@ -187,10 +204,155 @@ public interface PostMapper extends BaseMapper<Post> {
      * @return 文章总数
      */
     @Select("SELECT COUNT(*) FROM Posts " +
-           "WHERE Title LIKE CONCAT('%', #{keyword}, '%') " +
-           "   OR Content LIKE CONCAT('%', #{keyword}, '%')")
+           "WHERE DeletedAt IS NULL " +
+           "  AND (Title LIKE CONCAT('%', #{keyword}, '%') " +
+           "   OR Content LIKE CONCAT('%', #{keyword}, '%'))")
     int getPostCountByKeyword(String keyword);
 
+    /**
+     * 管理后台文章列表，按 (CreatedAt, PostId) 倒序游标分页
+     * @param keyword 关键词，为 null 时不过滤
+     * @param afterCreatedAt 上一页最后一行的创建时间，为 null 时从第一页开始
+     * @param afterId 上一页最后一行的文章ID
+     * @param limit 限制数量
+     * @return 文章列表
+     */
+    @Select("<script>SELECT TOP (#{limit}) " + POST_CARD_COLUMNS +
+           "FROM Posts p " +
+           "LEFT JOIN Users u ON p.UserId = u.UserId " +
+           "WHERE p.DeletedAt IS NULL " +
+           "<if test=\"keyword != null\">" +
+           "AND (p.Title LIKE CONCAT('%', #{keyword}, '%') OR p.Content LIKE CONCAT('%', #{keyword}, '%')) " +
+           "</if>" +
+           "<if test=\"afterId != null\">" +
+           "AND (p.CreatedAt &lt; #{afterCreatedAt} OR (p.CreatedAt = #{afterCreatedAt} AND p.PostId &lt; #{afterId})) " +
+           "</if>" +
+           "ORDER BY p.CreatedAt DESC, p.PostId DESC</script>")
+    @ResultMap("postCard")
+    List<Post> findAdminPage(String keyword, LocalDateTime afterCreatedAt, Integer afterId, int limit);
+
+    /**
+     * 按关键词统计文章总数，最多数到 cap 为止
+     * @param keyword 关键词
+     * @param cap 上限
+     * @return 文章总数（不超过 cap）
+     */
+    @Select("SELECT COUNT(*) FROM (SELECT TOP (#{cap}) PostId FROM Posts " +
+           "WHERE DeletedAt IS NULL " +
+           "  AND (Title LIKE CONCAT('%', #{keyword}, '%') " +
+           "   OR Content LIKE CONCAT('%', #{keyword}, '%'))) t")
+    int countByKeywordCapped(String keyword, int cap);
+
+    /**
+     * 从分区统计读取 Posts 表的近似行数（包括已软删除的），无权限或非 SQL Server 时会失败
+     * @return 近似行数
+     */
+    @Select("SELECT SUM(row_count) FROM sys.dm_db_partition_stats " +
+           "WHERE object_id = OBJECT_ID('Posts') AND index_id IN (0, 1)")
+    Long estimateRowCount();
+
     @Select("SELECT COUNT(*) FROM Comments WHERE PostId = #{postId}")
     int getCommentCount(Integer postId);
+
+    /**
+     * 获取尚未生成摘录或 HTML、或 HTML 由旧版渲染器生成的文章（用于回填）
+     * @param limit 每批数量
+     * @param hashPrefix 当前渲染器的哈希前缀
+     * @return 只包含 ID 与正文的文章列表
+     */
+    @Select("SELECT TOP (#{limit}) PostId, Content FROM Posts " +
+           "WHERE DeletedAt IS NULL " +
+           "  AND (Excerpt IS NULL OR ContentHtml IS NULL OR ContentHash IS NULL " +
+           "   OR ContentHash NOT LIKE CONCAT(#{hashPrefix}, '%')) " +
+           "ORDER BY PostId")
+    List<Post> findPostsWithoutDerivedFields(int limit, String hashPrefix);
+
+    /**
+     * 更新由正文生成的字段（摘录、阅读时长、HTML 及其哈希）
+     * @param post 文章
+     * @return 更新的行数
+     */
+    @Update("UPDATE Posts SET Excerpt = #{excerpt}, ReadingMinutes = #{readingMinutes}, " +
+           "ContentHtml = #{contentHtml}, ContentHash = #{contentHash} WHERE PostId = #{postId}")
+    int updateDerivedFields(Post post);
+
+    /**
+     * 批量审核前读取文章的隐藏状态，不存在或已删除的 ID 不会出现在结果中
+     * @param postIds 文章ID（单次不超过 500 个）
+     * @return 只包含 ID 与隐藏状态的文章列表
+     */
+    @Select("<script>SELECT PostId, IsHidden FROM Posts WHERE DeletedAt IS NULL AND PostId IN " +
+           "<foreach collection=\"postIds\" item=\"id\" open=\"(\" separator=\",\" close=\")\">#{id}</foreach></script>")
+    List<Post> findModerationStates(List<Integer> postIds);
+
+    /**
+     * 批量设置隐藏状态，只更新 IsHidden 与 UpdatedAt，状态已一致的行不会被改写
+     * @param postIds 文章ID（单次不超过 500 个）
+     * @param hidden 目标状态
+     * @param updatedAt 更新时间
+     * @return 更新的行数
+     */
+    @Update("<script>UPDATE Posts SET IsHidden = #{hidden}, UpdatedAt = #{updatedAt} " +
+           "WHERE IsHidden &lt;&gt; #{hidden} AND DeletedAt IS NULL AND PostId IN " +
+           "<foreach collection=\"postIds\" item=\"id\" open=\"(\" separator=\",\" close=\")\">#{id}</foreach></script>")
+    int updateHiddenByIds(List<Integer> postIds, boolean hidden, LocalDateTime updatedAt);
+
+    /**
+     * 软删除文章
+     * @param postId 文章ID
+     * @param deletedAt 删除时间
+     * @return 更新的行数，文章不存在或已删除时为 0
+     */
+    @Update("UPDATE Posts SET DeletedAt = #{deletedAt} WHERE PostId = #{postId} AND DeletedAt IS NULL")
+    int softDelete(Integer postId, LocalDateTime deletedAt);
+
+    /**
+     * 批量软删除文章
+     * @param postIds 文章ID（单次不超过 500 个）
+     * @param deletedAt 删除时间
+     * @return 更新的行数
+     */
+    @Update("<script>UPDATE Posts SET DeletedAt = #{deletedAt} WHERE DeletedAt IS NULL AND PostId IN " +
+           "<foreach collection=\"postIds\" item=\"id\" open=\"(\" separator=\",\" close=\")\">#{id}</foreach></script>")
+    int softDeleteByIds(List<Integer> postIds, LocalDateTime deletedAt);
+
+    /**
+     * 软删除用户的所有文章
+     * @param userId 用户ID
+     * @param deletedAt 删除时间
+     * @return 更新的行数
+     */
+    @Update("UPDATE Posts SET DeletedAt = #{deletedAt} WHERE UserId = #{userId} AND DeletedAt IS NULL")
+    int softDeleteByUserId(Integer userId, LocalDateTime deletedAt);
+
+    /**
+     * 获取等待清理的已删除文章，先删除的先清理
+     * @param limit 最多返回条数
+     * @return 文章ID列表
+     */
+    @Select("SELECT TOP (#{limit}) PostId FROM Posts WHERE DeletedAt IS NOT NULL ORDER BY DeletedAt")
+    List<Integer> findDeletedPostIds(int limit);
+
+    /**
+     * 统计等待清理的已删除文章
+     * @return 文章数量
+     */
+    @Select("SELECT COUNT(*) FROM Posts WHERE DeletedAt IS NOT NULL")
+    long countDeleted();
+
+    /**
+     * 统计用户名下的文章（包括等待清理的）
+     * @param userId 用户ID
+     * @return 文章数量
+     */
+    @Select("SELECT COUNT(*) FROM Posts WHERE UserId = #{userId}")
+    int countAllByUserId(Integer userId);
+
+    /**
+     * 物理删除已软删除的文章，调用前需清理完引用它的评论、收藏与消息
+     * @param postId 文章ID
+     * @return 删除的行数
+     */
+    @Delete("DELETE FROM Posts WHERE PostId = #{postId} AND DeletedAt IS NOT NULL")
+    int purgeById(Integer postId);
 }
\ No newline at end of file
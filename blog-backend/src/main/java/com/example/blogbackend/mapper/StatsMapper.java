@@ -0,0 +1,91 @@
+package com.example.blogbackend.mapper;
+
+import com.example.blogbackend.entity.DailyStat;
+import com.example.blogbackend.entity.SiteStat;
+import org.apache.ibatis.annotations.Delete;
+import org.apache.ibatis.annotations.Insert;
+import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Mapper
+public interface StatsMapper {
+    /**
+     * 把增量合并进总量，行不存在时插入
+     * SQL Server 上的 MERGE 默认不对"不存在"的键加范围锁，多个节点同时插入同一指标会主键冲突，
+     * 因此加 HOLDLOCK；H2 不支持表提示，使用不带提示的版本
+     * @param metric 指标
+     * @param delta 增量（可为负）
+     * @param updatedAt 合并时间
+     * @return 影响的行数
+     */
+    @Update(databaseId = "sqlserver", value = "MERGE INTO SiteStats WITH (HOLDLOCK) AS t " +
+            "USING (SELECT CAST(#{metric} AS NVARCHAR(32)) AS Metric) AS s ON t.Metric = s.Metric " +
+            "WHEN MATCHED THEN UPDATE SET Total = t.Total + #{delta}, UpdatedAt = #{updatedAt} " +
+            "WHEN NOT MATCHED THEN INSERT (Metric, Total, UpdatedAt) VALUES (s.Metric, #{delta}, #{updatedAt});")
+    @Update("MERGE INTO SiteStats AS t " +
+            "USING (SELECT CAST(#{metric} AS NVARCHAR(32)) AS Metric) AS s ON t.Metric = s.Metric " +
+            "WHEN MATCHED THEN UPDATE SET Total = t.Total + #{delta}, UpdatedAt = #{updatedAt} " +
+            "WHEN NOT MATCHED THEN INSERT (Metric, Total, UpdatedAt) VALUES (s.Metric, #{delta}, #{updatedAt});")
+    int mergeTotal(String metric, long delta, LocalDateTime updatedAt);
+
+    /**
+     * 把增量合并进某天的统计，行不存在时插入（HOLDLOCK 的原因同 mergeTotal）
+     * @param statDate 日期
+     * @param metric 指标
+     * @param delta 增量
+     * @return 影响的行数
+     */
+    @Update(databaseId = "sqlserver", value = "MERGE INTO DailyStats WITH (HOLDLOCK) AS t " +
+            "USING (SELECT CAST(#{statDate} AS DATE) AS StatDate, CAST(#{metric} AS NVARCHAR(32)) AS Metric) AS s " +
+            "ON t.StatDate = s.StatDate AND t.Metric = s.Metric " +
+            "WHEN MATCHED THEN UPDATE SET Total = t.Total + #{delta} " +
+            "WHEN NOT MATCHED THEN INSERT (StatDate, Metric, Total) VALUES (s.StatDate, s.Metric, #{delta});")
+    @Update("MERGE INTO DailyStats AS t " +
+            "USING (SELECT CAST(#{statDate} AS DATE) AS StatDate, CAST(#{metric} AS NVARCHAR(32)) AS Metric) AS s " +
+            "ON t.StatDate = s.StatDate AND t.Metric = s.Metric " +
+            "WHEN MATCHED THEN UPDATE SET Total = t.Total + #{delta} " +
+            "WHEN NOT MATCHED THEN INSERT (StatDate, Metric, Total) VALUES (s.StatDate, s.Metric, #{delta});")
+    int mergeDaily(LocalDate statDate, String metric, long delta);
+
+    /**
+     * 记录当天的活跃用户，已记录过的用户跳过
+     * @param statDate 日期
+     * @param userIds 用户ID列表
+     * @return 新记录的用户数，即当天活跃用户数的增量
+     */
+    @Insert("<script>" +
+            "INSERT INTO DailyActiveUsers (StatDate, UserId) " +
+            "SELECT CAST(#{statDate} AS DATE), u.UserId FROM Users u " +
+            "WHERE u.UserId IN " +
+            "<foreach collection='userIds' item='userId' open='(' separator=',' close=')'>#{userId}</foreach> " +
+            "AND NOT EXISTS (SELECT 1 FROM DailyActiveUsers d WHERE d.StatDate = #{statDate} AND d.UserId = u.UserId)" +
+            "</script>")
+    int insertActiveUsers(LocalDate statDate, List<Integer> userIds);
+
+    /**
+     * 分批清理过期的活跃用户记录
+     * @param before 早于该日期的记录会被删除
+     * @param limit 每批最多删除的行数
+     * @return 删除条数
+     */
+    @Delete("DELETE TOP (#{limit}) FROM DailyActiveUsers WHERE StatDate < #{before}")
+    int deleteActiveUsersBefore(LocalDate before, int limit);
+
+    /**
+     * 全部总量，行数等于指标个数
+     */
+    @Select("SELECT Metric, Total, UpdatedAt FROM SiteStats")
+    List<SiteStat> findTotals();
+
+    /**
+     * 某天之后的按天统计，行数不超过 天数 × 指标个数
+     * @param since 起始日期（含）
+     */
+    @Select("SELECT StatDate, Metric, Total FROM DailyStats WHERE StatDate >= #{since}")
+    List<DailyStat> findDailySince(LocalDate since);
+}
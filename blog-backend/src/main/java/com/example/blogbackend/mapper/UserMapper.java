@@ -2,9 +2,15 @@ package com.example.blogbackend.mapper;
 
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 import com.example.blogbackend.entity.User;
+import org.apache.ibatis.annotations.Delete;
 import org.apache.ibatis.annotations.Mapper;
+import org.apache.ibatis.annotations.Options;
+import org.apache.ibatis.annotations.ResultType;
 import org.apache.ibatis.annotations.Select;
+import org.apache.ibatis.annotations.Update;
+import org.apache.ibatis.session.ResultHandler;
 
+import java.time.LocalDateTime;
 import java.util.Optional;
 import java.util.List;
 
@@ -12,39 +18,24 @@ import java.util.List;
 public interface UserMapper extends BaseMapper<User> {
     
     /**
-     * 根据邮箱查找用户
+     * 根据邮箱查找用户（一次联表查询同时加载角色，SQL 见 mapper/UserMapper.xml）
      * @param email 用户邮箱
      * @return 用户信息
      */
-    @Select("SELECT u.*, r.RoleName as role_name " +
-           "FROM Users u " +
-           "LEFT JOIN UserRoles ur ON u.UserId = ur.UserId " +
-           "LEFT JOIN Roles r ON ur.RoleId = r.RoleId " +
-           "WHERE u.Email = #{email}")
     Optional<User> findByEmail(String email);
     
     /**
-     * 根据用户名查找用户
+     * 根据用户名查找用户（SQL 见 mapper/UserMapper.xml）
      * @param username 用户名
      * @return 用户信息
      */
-    @Select("SELECT u.*, r.RoleName as role_name " +
-           "FROM Users u " +
-           "LEFT JOIN UserRoles ur ON u.UserId = ur.UserId " +
-           "LEFT JOIN Roles r ON ur.RoleId = r.RoleId " +
-           "WHERE u.Username = #{username}")
     Optional<User> findByUsername(String username);
 
     /**
-     * 根据ID查找用户
+     * 根据ID查找用户（SQL 见 mapper/UserMapper.xml）
      * @param userId 用户ID
      * @return 用户信息
      */
-    @Select("SELECT u.*, r.RoleName as role_name " +
-           "FROM Users u " +
-           "LEFT JOIN UserRoles ur ON u.UserId = ur.UserId " +
-           "LEFT JOIN Roles r ON ur.RoleId = r.RoleId " +
-           "WHERE u.UserId = #{userId}")
     Optional<User> findByIdWithRoles(Integer userId);
 
     /**
@@ -63,6 +54,15 @@ public interface UserMapper extends BaseMapper<User> {
     @Select("SELECT COUNT(*) FROM Users WHERE Username = #{username}")
     int countByUsername(String username);
 
+    /**
+     * 流式遍历所有用户的用户名和邮箱（用于构建可用性检查的布隆过滤器）
+     * @param handler 结果处理器
+     */
+    @Select("SELECT Username, Email FROM Users")
+    @Options(fetchSize = 1000)
+    @ResultType(User.class)
+    void scanUsernamesAndEmails(ResultHandler<User> handler);
+
     /**
      * 根据ID查找用户，返回基本信息（不包含角色）
      * @param userId 用户ID
@@ -74,51 +74,84 @@ public interface UserMapper extends BaseMapper<User> {
     User findUserById(Integer userId);
     
     /**
-     * 查询所有用户（包含角色信息），带分页
-     * @param offset 偏移量
+     * 管理后台用户列表，按 (CreatedAt, UserId) 倒序游标分页，角色取自 RolesCache
+     * @param keyword 关键词，为 null 时不过滤
+     * @param afterCreatedAt 上一页最后一行的注册时间，为 null 时从第一页开始
+     * @param afterId 上一页最后一行的用户ID
      * @param limit 限制数量
      * @return 用户列表
      */
-    @Select("SELECT DISTINCT u.*, " +
-          "(SELECT STRING_AGG(r.RoleName, ',') FROM UserRoles ur " +
-          "JOIN Roles r ON ur.RoleId = r.RoleId " +
-          "WHERE ur.UserId = u.UserId) as roles_string " +
-          "FROM Users u " +
-          "LEFT JOIN UserRoles ur ON u.UserId = ur.UserId " +
-          "LEFT JOIN Roles r ON ur.RoleId = r.RoleId " +
-          "ORDER BY u.CreatedAt DESC " +
-          "OFFSET #{offset} ROWS " +
-          "FETCH NEXT #{limit} ROWS ONLY")
-    List<User> findAllWithRoles(int offset, int limit);
-    
+    @Select("<script>SELECT TOP (#{limit}) UserId, Username, Email, Avatar, Bio, CreatedAt, UpdatedAt, Disabled, RolesCache " +
+          "FROM Users " +
+          "WHERE DeletedAt IS NULL " +
+          "<if test=\"keyword != null\">" +
+          "AND (Username LIKE CONCAT('%', #{keyword}, '%') OR Email LIKE CONCAT('%', #{keyword}, '%')) " +
+          "</if>" +
+          "<if test=\"afterId != null\">" +
+          "AND (CreatedAt &lt; #{afterCreatedAt} OR (CreatedAt = #{afterCreatedAt} AND UserId &lt; #{afterId})) " +
+          "</if>" +
+          "ORDER BY CreatedAt DESC, UserId DESC</script>")
+    List<User> findAdminPage(String keyword, LocalDateTime afterCreatedAt, Integer afterId, int limit);
+
     /**
-     * 根据关键词搜索用户（包含角色信息），带分页
+     * 按关键词统计用户数量，最多数到 cap 为止
      * @param keyword 关键词
-     * @param offset 偏移量
-     * @param limit 限制数量
-     * @return 用户列表
+     * @param cap 上限
+     * @return 用户数量（不超过 cap）
      */
-    @Select("SELECT DISTINCT u.*, " +
-          "(SELECT STRING_AGG(r.RoleName, ',') FROM UserRoles ur " +
-          "JOIN Roles r ON ur.RoleId = r.RoleId " +
-          "WHERE ur.UserId = u.UserId) as roles_string " +
-          "FROM Users u " +
-          "LEFT JOIN UserRoles ur ON u.UserId = ur.UserId " +
-          "LEFT JOIN Roles r ON ur.RoleId = r.RoleId " +
-          "WHERE u.Username LIKE CONCAT('%', #{keyword}, '%') " +
-          "OR u.Email LIKE CONCAT('%', #{keyword}, '%') " +
-          "ORDER BY u.CreatedAt DESC " +
-          "OFFSET #{offset} ROWS " +
-          "FETCH NEXT #{limit} ROWS ONLY")
-    List<User> findByKeywordWithRoles(String keyword, int offset, int limit);
-    
+    @Select("SELECT COUNT(*) FROM (SELECT TOP (#{cap}) UserId FROM Users " +
+          "WHERE DeletedAt IS NULL " +
+          "AND (Username LIKE CONCAT('%', #{keyword}, '%') OR Email LIKE CONCAT('%', #{keyword}, '%'))) t")
+    int countByKeywordCapped(String keyword, int cap);
+
     /**
-     * 根据关键词统计用户数量
-     * @param keyword 关键词
+     * 从分区统计读取 Users 表的近似行数（包括已软删除的），无权限或非 SQL Server 时会失败
+     * @return 近似行数
+     */
+    @Select("SELECT SUM(row_count) FROM sys.dm_db_partition_stats " +
+          "WHERE object_id = OBJECT_ID('Users') AND index_id IN (0, 1)")
+    Long estimateRowCount();
+
+    /**
+     * 按 UserRoles 重新生成用户的 RolesCache
+     * @param userId 用户ID
+     * @return 更新的行数
+     */
+    @Update("UPDATE Users SET RolesCache = (SELECT STRING_AGG(r.RoleName, ',') FROM UserRoles ur " +
+           "JOIN Roles r ON ur.RoleId = r.RoleId WHERE ur.UserId = #{userId}) " +
+           "WHERE UserId = #{userId}")
+    int refreshRolesCache(Integer userId);
+
+    /**
+     * 软删除用户并禁用其账号
+     * @param userId 用户ID
+     * @param deletedAt 删除时间
+     * @return 更新的行数，用户不存在或已删除时为 0
+     */
+    @Update("UPDATE Users SET DeletedAt = #{deletedAt}, Disabled = 1, UpdatedAt = #{deletedAt} " +
+           "WHERE UserId = #{userId} AND DeletedAt IS NULL")
+    int softDelete(Integer userId, LocalDateTime deletedAt);
+
+    /**
+     * 获取等待清理的已删除用户，先删除的先清理
+     * @param limit 最多返回条数
+     * @return 用户ID列表
+     */
+    @Select("SELECT TOP (#{limit}) UserId FROM Users WHERE DeletedAt IS NOT NULL ORDER BY DeletedAt")
+    List<Integer> findDeletedUserIds(int limit);
+
+    /**
+     * 统计等待清理的已删除用户
      * @return 用户数量
      */
-    @Select("SELECT COUNT(DISTINCT u.UserId) FROM Users u " +
-          "WHERE u.Username LIKE CONCAT('%', #{keyword}, '%') " +
-          "OR u.Email LIKE CONCAT('%', #{keyword}, '%')")
-    int countByKeyword(String keyword);
+    @Select("SELECT COUNT(*) FROM Users WHERE DeletedAt IS NOT NULL")
+    long countDeleted();
+
+    /**
+     * 物理删除已软删除的用户，调用前需清理完其文章、评论、收藏、消息与角色
+     * @param userId 用户ID
+     * @return 删除的行数
+     */
+    @Delete("DELETE FROM Users WHERE UserId = #{userId} AND DeletedAt IS NOT NULL")
+    int purgeById(Integer userId);
 } 
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.example.blogbackend.monitor;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 记录每个控制器映射的处理耗时，按路由模板归类（/posts/{postId} 而不是 /posts/42）
+ */
+@Component
+@RequiredArgsConstructor
+public class EndpointLatencyInterceptor implements HandlerInterceptor {
+    private static final String START_ATTRIBUTE = EndpointLatencyInterceptor.class.getName() + ".start";
+
+    private final EndpointLatencyRecorder recorder;
+
+    @Override
+    public boolean preHandle(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response, @NonNull Object handler) {
+        if (handler instanceof HandlerMethod) {
+            request.setAttribute(START_ATTRIBUTE, System.nanoTime());
+        }
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(@NonNull HttpServletRequest request, @NonNull HttpServletResponse response,
+                                @NonNull Object handler, Exception ex) {
+        Object start = request.getAttribute(START_ATTRIBUTE);
+        if (!(start instanceof Long)) {
+            return;
+        }
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String route = pattern != null ? pattern.toString() : "UNMATCHED";
+        // 异常未被控制器处理时，响应状态可能尚未设置为错误码
+        int status = ex != null && response.getStatus() < 400 ? 500 : response.getStatus();
+        recorder.record(request.getMethod(), route, status, System.nanoTime() - (Long) start);
+    }
+}
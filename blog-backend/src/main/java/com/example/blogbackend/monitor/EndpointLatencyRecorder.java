@@ -0,0 +1,129 @@
+package com.example.blogbackend.monitor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 按"路由模板 + 状态码类别"记录接口耗时的 HdrHistogram
+ * 记录路径使用 Recorder（无锁、wait-free），每分钟把区间直方图滚动进 15 个分钟槽，
+ * 报告时合并最近 1/5/15 个槽得到滚动窗口的分位数
+ */
+@Slf4j
+@Component
+public class EndpointLatencyRecorder {
+    private static final int SLOT_COUNT = 15;
+    private static final int[] WINDOWS_MINUTES = {1, 5, 15};
+    // 记录单位为微秒，最大 60 秒，2 位有效数字
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(60);
+    private static final int SIGNIFICANT_DIGITS = 2;
+
+    private final ConcurrentMap<String, RouteLatency> routes = new ConcurrentHashMap<>();
+
+    /**
+     * 记录一次请求耗时
+     * @param method HTTP 方法
+     * @param route 路由模板，例如 /posts/{postId}
+     * @param status HTTP 状态码
+     * @param elapsedNanos 耗时（纳秒）
+     */
+    public void record(String method, String route, int status, long elapsedNanos) {
+        String key = method + " " + route + " " + (status / 100) + "xx";
+        RouteLatency latency = routes.computeIfAbsent(key, k -> new RouteLatency(method + " " + route, (status / 100) + "xx"));
+        long micros = Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)), HIGHEST_TRACKABLE_MICROS);
+        latency.recorder.recordValue(micros);
+    }
+
+    /**
+     * 每分钟把当前区间滚动进分钟槽
+     */
+    @Scheduled(fixedRate = 60_000, initialDelay = 60_000)
+    public void rotate() {
+        routes.values().forEach(RouteLatency::rotate);
+    }
+
+    /**
+     * 生成各路由最近 1/5/15 分钟的分位数报告（单位：毫秒）
+     * 当前尚未结束的这一分钟不计入
+     */
+    public List<Map<String, Object>> report() {
+        List<Map<String, Object>> result = new ArrayList<>();
+        routes.values().stream()
+                .sorted(Comparator.comparing((RouteLatency r) -> r.route).thenComparing(r -> r.statusClass))
+                .forEach(latency -> {
+                    Map<String, Object> windows = new LinkedHashMap<>();
+                    for (int minutes : WINDOWS_MINUTES) {
+                        windows.put(minutes + "m", summarize(latency.merge(minutes)));
+                    }
+                    Map<String, Object> item = new LinkedHashMap<>();
+                    item.put("route", latency.route);
+                    item.put("status", latency.statusClass);
+                    item.put("windows", windows);
+                    result.add(item);
+                });
+        return result;
+    }
+
+    private static Map<String, Object> summarize(Histogram histogram) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getTotalCount());
+        summary.put("p50", toMillis(histogram.getValueAtPercentile(50.0)));
+        summary.put("p90", toMillis(histogram.getValueAtPercentile(90.0)));
+        summary.put("p99", toMillis(histogram.getValueAtPercentile(99.0)));
+        summary.put("p999", toMillis(histogram.getValueAtPercentile(99.9)));
+        summary.put("max", toMillis(histogram.getMaxValue()));
+        return summary;
+    }
+
+    private static double toMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+
+    private static Histogram newHistogram() {
+        return new Histogram(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+    }
+
+    private static final class RouteLatency {
+        private final String route;
+        private final String statusClass;
+        private final Recorder recorder = new Recorder(1, HIGHEST_TRACKABLE_MICROS, SIGNIFICANT_DIGITS);
+        // 分钟槽环形数组，只在 rotate/merge 时访问（同步），记录路径不加锁
+        private final Histogram[] slots = new Histogram[SLOT_COUNT];
+        private int head = -1;
+
+        private RouteLatency(String route, String statusClass) {
+            this.route = route;
+            this.statusClass = statusClass;
+        }
+
+        private synchronized void rotate() {
+            head = (head + 1) % SLOT_COUNT;
+            slots[head] = recorder.getIntervalHistogram();
+        }
+
+        private synchronized Histogram merge(int minutes) {
+            Histogram merged = newHistogram();
+            if (head < 0) {
+                return merged;
+            }
+            for (int i = 0; i < Math.min(minutes, SLOT_COUNT); i++) {
+                Histogram slot = slots[(head - i + SLOT_COUNT) % SLOT_COUNT];
+                if (slot != null) {
+                    merged.add(slot);
+                }
+            }
+            return merged;
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.example.blogbackend.monitor;
+
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.plugin.Plugin;
+import org.apache.ibatis.reflection.MetaObject;
+import org.apache.ibatis.reflection.SystemMetaObject;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.regex.Pattern;
+
+/**
+ * MyBatis 插件的公共工具方法
+ */
+final class MyBatisSupport {
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+    private static final Pattern STRING_LITERAL = Pattern.compile("N?'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern PLACEHOLDER_LIST = Pattern.compile("\\?(?:\\s*,\\s*\\?)+");
+
+    private MyBatisSupport() {
+    }
+
+    /**
+     * 从（可能被多层插件代理的）StatementHandler 中取出 MappedStatement
+     * 代理的 InvocationHandler 通过公开的 Proxy.getInvocationHandler 获取，
+     * 不反射 java.lang.reflect.Proxy.h（JDK 17 起模块不开放该字段）
+     */
+    static MappedStatement mappedStatementOf(Object statementHandler) {
+        Object target = statementHandler;
+        while (Proxy.isProxyClass(target.getClass())) {
+            InvocationHandler handler = Proxy.getInvocationHandler(target);
+            if (!(handler instanceof Plugin)) {
+                throw new IllegalStateException("无法识别的 StatementHandler 代理: " + handler.getClass().getName());
+            }
+            target = SystemMetaObject.forObject(handler).getValue("target");
+        }
+        MetaObject metaObject = SystemMetaObject.forObject(target);
+        // RoutingStatementHandler 持有真正的 delegate
+        if (metaObject.hasGetter("delegate")) {
+            return (MappedStatement) metaObject.getValue("delegate.mappedStatement");
+        }
+        return (MappedStatement) metaObject.getValue("mappedStatement");
+    }
+
+    /**
+     * SQL 的形状：合并空白，字符串与数字字面量替换为 ?，IN 列表中的多个 ? 合并为一个，
+     * 因此只有参数值或列表长度不同的语句视为同一条
+     */
+    static String sqlShapeOf(String sql) {
+        String shape = WHITESPACE.matcher(sql).replaceAll(" ").trim();
+        shape = STRING_LITERAL.matcher(shape).replaceAll("?");
+        shape = NUMBER_LITERAL.matcher(shape).replaceAll("?");
+        return PLACEHOLDER_LIST.matcher(shape).replaceAll("?");
+    }
+
+    /**
+     * 语句执行结果对应的行数（查询为结果条数，更新为影响行数）
+     */
+    static long rowCountOf(Object result) {
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Number) {
+            return ((Number) result).longValue();
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.blogbackend.monitor;
+
+import com.example.blogbackend.exception.NPlusOneQueryException;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+
+/**
+ * N+1 查询检测插件
+ * 把每条实际执行的查询按 SQL 形状记到当前请求的 QueryTracker 中；
+ * 严格模式下同一形状的 SQL 在一个请求内执行次数超过阈值时直接抛出异常，用于让集成测试失败
+ */
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class})
+})
+public class NPlusOneDetectionInterceptor implements Interceptor {
+    private final int threshold;
+    private final boolean strict;
+
+    public NPlusOneDetectionInterceptor(
+            @Value("${blog.query-tracker.repeat-threshold:10}") int threshold,
+            @Value("${blog.query-tracker.strict:false}") boolean strict) {
+        this.threshold = threshold;
+        this.strict = strict;
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        QueryTracker tracker = QueryTracker.current();
+        if (tracker != null) {
+            StatementHandler handler = (StatementHandler) invocation.getTarget();
+            String statementId = MyBatisSupport.mappedStatementOf(handler).getId();
+            String sqlShape = MyBatisSupport.sqlShapeOf(handler.getBoundSql().getSql());
+            int count = tracker.record(statementId, sqlShape);
+            if (strict && count > threshold) {
+                throw new NPlusOneQueryException("检测到 N+1 查询: " + tracker.describe(sqlShape)
+                        + " 在同一请求内执行了 " + count + " 次（阈值 " + threshold + "）: " + sqlShape);
+            }
+        }
+        return invocation.proceed();
+    }
+}
@@ -0,0 +1,98 @@
+package com.example.blogbackend.monitor;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 单个请求内执行过的查询记录（线程绑定）
+ * 按 SQL 形状（去掉字面量、参数个数后的语句）计数：不同 Mapper 方法生成的同一条 SQL 合并计数，
+ * 同一方法按动态条件生成的不同 SQL 分开计数
+ * 由 QueryTrackingFilter 开启/关闭，由 NPlusOneDetectionInterceptor 写入
+ */
+public final class QueryTracker {
+    private static final ThreadLocal<QueryTracker> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> counts = new LinkedHashMap<>();
+    private final Map<String, Set<String>> statements = new HashMap<>();
+    private int total;
+
+    private QueryTracker() {
+    }
+
+    /**
+     * 为当前线程开启记录
+     */
+    public static QueryTracker start() {
+        QueryTracker tracker = new QueryTracker();
+        CURRENT.set(tracker);
+        return tracker;
+    }
+
+    /**
+     * 结束当前线程的记录
+     */
+    public static void stop() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 当前线程的记录，未开启时返回 null
+     */
+    public static QueryTracker current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 记录一次查询执行
+     * @param statementId Mapper 语句 ID
+     * @param sqlShape 规范化后的 SQL，见 MyBatisSupport.sqlShapeOf
+     * @return 该形状的 SQL 在本请求内的执行次数
+     */
+    int record(String statementId, String sqlShape) {
+        total++;
+        statements.computeIfAbsent(sqlShape, k -> new LinkedHashSet<>()).add(statementId);
+        return counts.merge(sqlShape, 1, Integer::sum);
+    }
+
+    public int getTotal() {
+        return total;
+    }
+
+    /**
+     * 执行次数超过阈值的查询，键为生成该 SQL 的语句名
+     */
+    public Map<String, Integer> getRepeated(int threshold) {
+        return counts.entrySet().stream()
+                .filter(e -> e.getValue() > threshold)
+                .collect(Collectors.toMap(e -> describe(e.getKey()), Map.Entry::getValue, (a, b) -> a + b, LinkedHashMap::new));
+    }
+
+    /**
+     * 紧凑的查询摘要，例如 "UserMapper.findUserById×10, PostMapper.findPostWithUser×1"
+     */
+    public String summary() {
+        return counts.entrySet().stream()
+                .map(e -> describe(e.getKey()) + "×" + e.getValue())
+                .collect(Collectors.joining(", "));
+    }
+
+    /**
+     * 生成该形状 SQL 的语句名，多个语句生成同一条 SQL 时以 "/" 连接
+     */
+    String describe(String sqlShape) {
+        return statements.getOrDefault(sqlShape, Collections.emptySet()).stream()
+                .map(QueryTracker::shortName)
+                .collect(Collectors.joining("/"));
+    }
+
+    static String shortName(String statementId) {
+        int method = statementId.lastIndexOf('.');
+        int type = method > 0 ? statementId.lastIndexOf('.', method - 1) : -1;
+        return type >= 0 ? statementId.substring(type + 1) : statementId;
+    }
+}
@@ -0,0 +1,68 @@
+package com.example.blogbackend.monitor;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * 为每个请求开启 QueryTracker，请求结束时输出查询摘要，并对重复执行的语句告警
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class QueryTrackingFilter extends OncePerRequestFilter {
+    private final boolean enabled;
+    private final int threshold;
+
+    public QueryTrackingFilter(
+            @Value("${blog.query-tracker.enabled:true}") boolean enabled,
+            @Value("${blog.query-tracker.repeat-threshold:10}") int threshold) {
+        this.enabled = enabled;
+        this.threshold = threshold;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        QueryTracker tracker = QueryTracker.start();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryTracker.stop();
+            report(request, tracker);
+        }
+    }
+
+    private void report(HttpServletRequest request, QueryTracker tracker) {
+        if (tracker.getTotal() == 0) {
+            return;
+        }
+        Map<String, Integer> repeated = tracker.getRepeated(threshold);
+        if (!repeated.isEmpty()) {
+            log.warn("疑似 N+1 查询: {} {} 共执行 {} 条查询，重复语句: {}，明细: {}",
+                    request.getMethod(), request.getRequestURI(), tracker.getTotal(), repeated, tracker.summary());
+        } else if (log.isDebugEnabled()) {
+            log.debug("请求查询摘要: {} {} 共 {} 条: {}",
+                    request.getMethod(), request.getRequestURI(), tracker.getTotal(), tracker.summary());
+        }
+    }
+}
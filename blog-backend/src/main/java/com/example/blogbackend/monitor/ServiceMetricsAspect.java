@@ -0,0 +1,91 @@
+package com.example.blogbackend.monitor;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 服务层统一计时切面
+ * 为 service.impl 下每个公开方法记录耗时直方图、异常次数和并发中的调用数，
+ * 通过 /actuator/prometheus 暴露，取代各方法里的 Instant.now()/耗时日志
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class ServiceMetricsAspect {
+    private static final String TIMER_NAME = "blog.service.duration";
+    private static final String ERROR_COUNTER_NAME = "blog.service.errors";
+    private static final String IN_FLIGHT_GAUGE_NAME = "blog.service.inflight";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<Method, MethodMeters> meters = new ConcurrentHashMap<>();
+
+    @Around("execution(public * com.example.blogbackend.service.impl..*(..))")
+    public Object measure(ProceedingJoinPoint joinPoint) throws Throwable {
+        MethodSignature signature = (MethodSignature) joinPoint.getSignature();
+        MethodMeters methodMeters = meters.computeIfAbsent(signature.getMethod(), this::createMeters);
+
+        methodMeters.inFlight.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            Counter.builder(ERROR_COUNTER_NAME)
+                    .description("服务方法抛出异常的次数")
+                    .tag("class", methodMeters.className)
+                    .tag("method", methodMeters.methodName)
+                    .tag("exception", e.getClass().getSimpleName())
+                    .register(meterRegistry)
+                    .increment();
+            throw e;
+        } finally {
+            methodMeters.timer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            methodMeters.inFlight.decrementAndGet();
+        }
+    }
+
+    private MethodMeters createMeters(Method method) {
+        String className = method.getDeclaringClass().getSimpleName();
+        String methodName = method.getName();
+        Timer timer = Timer.builder(TIMER_NAME)
+                .description("服务方法耗时")
+                .tag("class", className)
+                .tag("method", methodName)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        AtomicInteger inFlight = new AtomicInteger();
+        Gauge.builder(IN_FLIGHT_GAUGE_NAME, inFlight, AtomicInteger::get)
+                .description("正在执行中的服务方法调用数")
+                .tag("class", className)
+                .tag("method", methodName)
+                .register(meterRegistry);
+        return new MethodMeters(className, methodName, timer, inFlight);
+    }
+
+    private static final class MethodMeters {
+        private final String className;
+        private final String methodName;
+        private final Timer timer;
+        private final AtomicInteger inFlight;
+
+        private MethodMeters(String className, String methodName, Timer timer, AtomicInteger inFlight) {
+            this.className = className;
+            this.methodName = methodName;
+            this.timer = timer;
+            this.inFlight = inFlight;
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.example.blogbackend.monitor;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.apache.ibatis.executor.statement.StatementHandler;
+import org.apache.ibatis.mapping.BoundSql;
+import org.apache.ibatis.mapping.MappedStatement;
+import org.apache.ibatis.mapping.ParameterMapping;
+import org.apache.ibatis.plugin.Interceptor;
+import org.apache.ibatis.plugin.Intercepts;
+import org.apache.ibatis.plugin.Invocation;
+import org.apache.ibatis.plugin.Signature;
+import org.apache.ibatis.session.ResultHandler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.sql.Statement;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * MyBatis SQL 语句分析插件
+ * 按 Mapper 语句 ID 统计调用次数、耗时直方图和行数，超过阈值的语句写入慢查询日志（参数脱敏），
+ * 并提供 Top-N 语句报告。取代 StdOutImpl 逐条打印 SQL 和结果行的做法
+ */
+@Component
+@Intercepts({
+        @Signature(type = StatementHandler.class, method = "query", args = {Statement.class, ResultHandler.class}),
+        @Signature(type = StatementHandler.class, method = "update", args = {Statement.class})
+})
+public class SqlProfilerInterceptor implements Interceptor {
+    private static final Logger SLOW_SQL_LOG = LoggerFactory.getLogger("SLOW_SQL");
+
+    private final MeterRegistry meterRegistry;
+    private final long slowThresholdNanos;
+    private final ConcurrentMap<String, SqlStatementStats> statistics = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public SqlProfilerInterceptor(
+            MeterRegistry meterRegistry,
+            @Value("${blog.sql-profiler.slow-threshold-ms:500}") long slowThresholdMillis) {
+        this.meterRegistry = meterRegistry;
+        this.slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(slowThresholdMillis);
+    }
+
+    @Override
+    public Object intercept(Invocation invocation) throws Throwable {
+        StatementHandler handler = (StatementHandler) invocation.getTarget();
+        MappedStatement mappedStatement = MyBatisSupport.mappedStatementOf(handler);
+        String statementId = mappedStatement.getId();
+
+        long start = System.nanoTime();
+        Object result = null;
+        boolean failed = true;
+        try {
+            result = invocation.proceed();
+            failed = false;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            long rows = MyBatisSupport.rowCountOf(result);
+            statistics.computeIfAbsent(statementId, SqlStatementStats::new).record(elapsed, rows, failed);
+            timers.computeIfAbsent(statementId, this::createTimer).record(elapsed, TimeUnit.NANOSECONDS);
+            if (elapsed >= slowThresholdNanos) {
+                logSlowStatement(statementId, handler.getBoundSql(), elapsed, rows, failed);
+            }
+        }
+    }
+
+    /**
+     * 生成 Top-N 语句报告
+     * @param top 返回条数
+     * @param sortBy 排序字段：total（总耗时，默认）、avg、max、calls、rows
+     */
+    public List<Map<String, Object>> topStatements(int top, String sortBy) {
+        return statistics.values().stream()
+                .sorted(comparatorFor(sortBy).reversed())
+                .limit(Math.max(1, top))
+                .map(SqlStatementStats::toReport)
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * 清空累计统计
+     */
+    public void reset() {
+        statistics.clear();
+    }
+
+    private static Comparator<SqlStatementStats> comparatorFor(String sortBy) {
+        if ("avg".equalsIgnoreCase(sortBy)) {
+            return Comparator.comparingDouble(SqlStatementStats::getAverageNanos);
+        }
+        if ("max".equalsIgnoreCase(sortBy)) {
+            return Comparator.comparingLong(SqlStatementStats::getMaxNanos);
+        }
+        if ("calls".equalsIgnoreCase(sortBy)) {
+            return Comparator.comparingLong(SqlStatementStats::getCalls);
+        }
+        if ("rows".equalsIgnoreCase(sortBy)) {
+            return Comparator.comparingLong(SqlStatementStats::getRows);
+        }
+        return Comparator.comparingLong(SqlStatementStats::getTotalNanos);
+    }
+
+    private Timer createTimer(String statementId) {
+        return Timer.builder("blog.sql.duration")
+                .description("Mapper 语句执行耗时（含结果映射）")
+                .tag("statement", statementId)
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+    }
+
+    private void logSlowStatement(String statementId, BoundSql boundSql, long elapsedNanos, long rows, boolean failed) {
+        if (!SLOW_SQL_LOG.isWarnEnabled()) {
+            return;
+        }
+        // 只输出参数名，不输出参数值，避免邮箱、密码哈希等敏感数据进入日志
+        String parameters = boundSql.getParameterMappings().stream()
+                .map(ParameterMapping::getProperty)
+                .map(name -> name + "=?")
+                .collect(Collectors.joining(", "));
+        String sql = boundSql.getSql().replaceAll("\\s+", " ").trim();
+        SLOW_SQL_LOG.warn("慢SQL: {} 耗时: {}ms, 行数: {}, 失败: {}, SQL: {}, 参数: [{}]",
+                statementId, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), rows, failed, sql, parameters);
+    }
+}
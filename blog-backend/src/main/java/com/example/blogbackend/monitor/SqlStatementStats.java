@@ -0,0 +1,86 @@
+package com.example.blogbackend.monitor;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 单条 Mapper 语句的累计统计：调用次数、异常次数、返回/影响行数、耗时直方图
+ */
+class SqlStatementStats {
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(120);
+
+    private final String statementId;
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder errors = new LongAdder();
+    private final LongAdder rows = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final Histogram latencyMicros = new ConcurrentHistogram(1, HIGHEST_TRACKABLE_MICROS, 2);
+
+    SqlStatementStats(String statementId) {
+        this.statementId = statementId;
+    }
+
+    void record(long elapsedNanos, long rowCount, boolean failed) {
+        calls.increment();
+        if (failed) {
+            errors.increment();
+        }
+        rows.add(rowCount);
+        totalNanos.add(elapsedNanos);
+        maxNanos.accumulate(elapsedNanos);
+        long micros = Math.min(Math.max(1, TimeUnit.NANOSECONDS.toMicros(elapsedNanos)), HIGHEST_TRACKABLE_MICROS);
+        latencyMicros.recordValue(micros);
+    }
+
+    long getCalls() {
+        return calls.sum();
+    }
+
+    long getRows() {
+        return rows.sum();
+    }
+
+    long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    double getAverageNanos() {
+        long count = getCalls();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    Map<String, Object> toReport() {
+        long count = getCalls();
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("statement", statementId);
+        item.put("calls", count);
+        item.put("errors", errors.sum());
+        item.put("rows", getRows());
+        item.put("avgRows", count == 0 ? 0 : Math.round((double) getRows() / count * 10) / 10.0);
+        item.put("totalMs", nanosToMillis(getTotalNanos()));
+        item.put("avgMs", nanosToMillis((long) getAverageNanos()));
+        item.put("p50Ms", microsToMillis(latencyMicros.getValueAtPercentile(50.0)));
+        item.put("p99Ms", microsToMillis(latencyMicros.getValueAtPercentile(99.0)));
+        item.put("maxMs", nanosToMillis(getMaxNanos()));
+        return item;
+    }
+
+    private static double nanosToMillis(long nanos) {
+        return Math.round(nanos / 10_000.0) / 100.0;
+    }
+
+    private static double microsToMillis(long micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,225 @@
+package com.example.blogbackend.purge;
+
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.blogbackend.datasource.WorkloadContext;
+import com.example.blogbackend.datasource.WorkloadType;
+import com.example.blogbackend.entity.UserRole;
+import com.example.blogbackend.mapper.CommentMapper;
+import com.example.blogbackend.mapper.FavoriteMapper;
+import com.example.blogbackend.mapper.MessageMapper;
+import com.example.blogbackend.mapper.PostMapper;
+import com.example.blogbackend.mapper.UserMapper;
+import com.example.blogbackend.mapper.UserRoleMapper;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.stats.StatMetric;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * 已软删除文章与用户的后台清理
+ * 依赖行（消息、收藏、评论、角色）按批删除，每条语句自动提交、批次之间暂停，
+ * 清理一篇高评论文章或一个垃圾账号时不会长时间锁住热点表；依赖行清空后再物理删除文章/用户本身
+ */
+@Slf4j
+@Component
+public class DeletionPurger {
+    private final PostMapper postMapper;
+    private final UserMapper userMapper;
+    private final CommentMapper commentMapper;
+    private final FavoriteMapper favoriteMapper;
+    private final MessageMapper messageMapper;
+    private final UserRoleMapper userRoleMapper;
+    private final MeterRegistry meterRegistry;
+    private final SiteStatistics siteStatistics;
+    private final boolean enabled;
+    private final int batchSize;
+    private final long throttleMs;
+    private final int maxItemsPerRun;
+    private final ExecutorService worker = Executors.newSingleThreadExecutor(runnable -> {
+        Thread thread = new Thread(runnable, "deletion-purger");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final AtomicBoolean running = new AtomicBoolean();
+    private final Map<String, AtomicLong> rowsDeleted = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final AtomicLong postsPurged = new AtomicLong();
+    private final AtomicLong usersPurged = new AtomicLong();
+
+    private volatile String currentTarget;
+    private volatile LocalDateTime lastRunStartedAt;
+    private volatile LocalDateTime lastRunFinishedAt;
+    private volatile String lastError;
+
+    public DeletionPurger(
+            PostMapper postMapper,
+            UserMapper userMapper,
+            CommentMapper commentMapper,
+            FavoriteMapper favoriteMapper,
+            MessageMapper messageMapper,
+            UserRoleMapper userRoleMapper,
+            MeterRegistry meterRegistry,
+            SiteStatistics siteStatistics,
+            @Value("${blog.purge.enabled:true}") boolean enabled,
+            @Value("${blog.purge.batch-size:500}") int batchSize,
+            @Value("${blog.purge.throttle-ms:50}") long throttleMs,
+            @Value("${blog.purge.max-items-per-run:50}") int maxItemsPerRun) {
+        this.postMapper = postMapper;
+        this.userMapper = userMapper;
+        this.commentMapper = commentMapper;
+        this.favoriteMapper = favoriteMapper;
+        this.messageMapper = messageMapper;
+        this.userRoleMapper = userRoleMapper;
+        this.meterRegistry = meterRegistry;
+        this.siteStatistics = siteStatistics;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        this.throttleMs = throttleMs;
+        this.maxItemsPerRun = maxItemsPerRun;
+    }
+
+    /**
+     * 定时触发；清理在独立线程中执行，不占用公共调度线程，上一轮未结束时跳过
+     */
+    @Scheduled(fixedDelayString = "${blog.purge.interval-ms:30000}", initialDelayString = "${blog.purge.initial-delay-ms:30000}")
+    public void schedule() {
+        if (enabled && running.compareAndSet(false, true)) {
+            worker.execute(this::run);
+        }
+    }
+
+    /**
+     * 清理进度：等待清理的数量、当前处理对象与累计删除的行数
+     */
+    public Map<String, Object> progress() {
+        Map<String, Object> progress = new LinkedHashMap<>();
+        progress.put("enabled", enabled);
+        progress.put("running", running.get());
+        progress.put("currentTarget", currentTarget);
+        progress.put("pendingPosts", postMapper.countDeleted());
+        progress.put("pendingUsers", userMapper.countDeleted());
+        progress.put("postsPurged", postsPurged.get());
+        progress.put("usersPurged", usersPurged.get());
+        Map<String, Long> rows = new LinkedHashMap<>();
+        rowsDeleted.forEach((table, count) -> rows.put(table, count.get()));
+        progress.put("rowsDeleted", rows);
+        progress.put("lastRunStartedAt", lastRunStartedAt);
+        progress.put("lastRunFinishedAt", lastRunFinishedAt);
+        progress.put("lastError", lastError);
+        return progress;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        worker.shutdownNow();
+    }
+
+    private void run() {
+        WorkloadType previous = WorkloadContext.set(WorkloadType.ADMIN);
+        lastRunStartedAt = LocalDateTime.now();
+        try {
+            for (Integer postId : postMapper.findDeletedPostIds(maxItemsPerRun)) {
+                purgePost(postId);
+            }
+            for (Integer userId : userMapper.findDeletedUserIds(maxItemsPerRun)) {
+                // 用户的文章清理完之后才能删除用户本身
+                if (postMapper.countAllByUserId(userId) == 0) {
+                    purgeUser(userId);
+                }
+            }
+            lastError = null;
+        } catch (Exception e) {
+            log.error("清理已删除数据失败: {}", e.getMessage(), e);
+            lastError = e.getMessage();
+        } finally {
+            currentTarget = null;
+            lastRunFinishedAt = LocalDateTime.now();
+            WorkloadContext.restore(previous);
+            running.set(false);
+        }
+    }
+
+    private void purgePost(Integer postId) {
+        currentTarget = "post:" + postId;
+        // 消息引用评论，需先于评论删除
+        drain("Messages", null, limit -> messageMapper.deleteBatchByPostId(postId, limit));
+        drain("Favorites", StatMetric.FAVORITES, limit -> favoriteMapper.deleteBatchByPostId(postId, limit));
+        drain("Comments", StatMetric.COMMENTS, limit -> commentMapper.deleteBatchByPostId(postId, limit));
+        if (postMapper.purgeById(postId) == 1) {
+            record("Posts", 1);
+            postsPurged.incrementAndGet();
+            log.info("已清理删除的文章，ID: {}", postId);
+        }
+    }
+
+    private void purgeUser(Integer userId) {
+        currentTarget = "user:" + userId;
+        drain("Messages", null, limit -> messageMapper.deleteBatchByUserId(userId, limit));
+        drain("Favorites", StatMetric.FAVORITES, limit -> favoriteMapper.deleteBatchByUserId(userId, limit));
+        drain("Comments", StatMetric.COMMENTS, limit -> commentMapper.deleteBatchByUserId(userId, limit));
+        record("UserRoles", userRoleMapper.delete(new LambdaQueryWrapper<UserRole>().eq(UserRole::getUserId, userId)));
+        if (userMapper.purgeById(userId) == 1) {
+            record("Users", 1);
+            usersPurged.incrementAndGet();
+            log.info("已清理删除的用户，ID: {}", userId);
+        }
+    }
+
+    /**
+     * 按批删除直到不足一批，批次之间暂停 throttleMs
+     * 文章与用户在软删除时已从后台统计中扣除，评论与收藏在这里真正删除时按批扣除
+     * @param metric 对应的统计指标，不计入统计时为 null
+     */
+    private void drain(String table, StatMetric metric, IntUnaryOperator deleteBatch) {
+        while (true) {
+            int deleted = deleteBatch.applyAsInt(batchSize);
+            record(table, deleted);
+            if (metric != null) {
+                siteStatistics.recordDeleted(metric, deleted);
+            }
+            if (deleted < batchSize) {
+                return;
+            }
+            pause();
+        }
+    }
+
+    private void pause() {
+        if (throttleMs <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(throttleMs);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("清理任务被中断", e);
+        }
+    }
+
+    private void record(String table, int rows) {
+        if (rows <= 0) {
+            return;
+        }
+        rowsDeleted.computeIfAbsent(table, k -> new AtomicLong()).addAndGet(rows);
+        counters.computeIfAbsent(table, k -> Counter.builder("blog.purge.rows")
+                .description("后台清理删除的行数")
+                .tag("table", table)
+                .register(meterRegistry)).increment(rows);
+    }
+}
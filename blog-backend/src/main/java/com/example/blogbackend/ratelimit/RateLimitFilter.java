@@ -0,0 +1,109 @@
+package com.example.blogbackend.ratelimit;
+
+import com.example.blogbackend.entity.User;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+/**
+ * 按路由限流，超限返回 429 与 Retry-After
+ * 排在 Spring Security 之后（此时已解析 JWT，可按用户 ID 计数）、响应缓存之前
+ */
+@Slf4j
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 5)
+@RequiredArgsConstructor
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimitProperties properties;
+    private final RateLimiter rateLimiter;
+    private final AntPathMatcher pathMatcher = new AntPathMatcher();
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !properties.isEnabled() || "OPTIONS".equalsIgnoreCase(request.getMethod());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        RateLimitProperties.Route route = match(request);
+        if (route == null) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        String key = clientKey(request, route);
+        long waitMs = rateLimiter.tryAcquire(route, key);
+        if (waitMs == 0) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        log.debug("请求被限流: {} {} key={} 需等待 {}ms", request.getMethod(), request.getRequestURI(), key, waitMs);
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf((waitMs + 999) / 1000));
+        response.setContentType("application/json;charset=UTF-8");
+        response.getWriter().write("{\"message\":\"请求过于频繁，请稍后再试\"}");
+    }
+
+    private RateLimitProperties.Route match(HttpServletRequest request) {
+        String path = request.getServletPath();
+        for (RateLimitProperties.Route route : properties.getRoutes()) {
+            if ((route.getMethod() == null || route.getMethod().equalsIgnoreCase(request.getMethod()))
+                    && pathMatcher.match(route.getPattern(), path)
+                    && (route.getParam() == null || hasText(request.getParameter(route.getParam())))) {
+                return route;
+            }
+        }
+        return null;
+    }
+
+    private String clientKey(HttpServletRequest request, RateLimitProperties.Route route) {
+        if (!route.isPerIp()) {
+            Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+            if (authentication != null && authentication.getPrincipal() instanceof User) {
+                return "u:" + ((User) authentication.getPrincipal()).getUserId();
+            }
+        }
+        return "ip:" + clientIp(request);
+    }
+
+    /**
+     * 每层代理把它看到的对端地址追加到 X-Forwarded-For 末尾，因此只有右侧 trusted-proxies 个地址可信，
+     * 取其中最左的一个；地址数不足时说明请求没有经过全部代理，取最左的地址
+     */
+    private String clientIp(HttpServletRequest request) {
+        int trustedProxies = properties.getTrustedProxies();
+        if (trustedProxies > 0) {
+            String forwarded = request.getHeader("X-Forwarded-For");
+            if (hasText(forwarded)) {
+                String[] hops = forwarded.split(",");
+                String hop = hops[Math.max(0, hops.length - trustedProxies)].trim();
+                if (!hop.isEmpty()) {
+                    return hop;
+                }
+            }
+        }
+        return request.getRemoteAddr();
+    }
+
+    private static boolean hasText(String value) {
+        return value != null && !value.trim().isEmpty();
+    }
+}
@@ -0,0 +1,61 @@
+package com.example.blogbackend.ratelimit;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 限流配置（blog.rate-limit）
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "blog.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    /**
+     * 超过该时长未使用且已装满的桶会被回收
+     */
+    private long idleEvictMs = 600000;
+    /**
+     * 令牌桶数量上限，超过时先回收已装满的桶，仍超过则新客户端共用每个路由的溢出桶
+     */
+    private int maxBuckets = 100000;
+    /**
+     * 应用之前可信的反向代理层数，0 表示直接使用连接的对端地址
+     * 大于 0 时从 X-Forwarded-For 右侧数第 N 个地址取客户端地址：更靠左的地址由客户端自己填写，不可信
+     */
+    private int trustedProxies = 0;
+    /**
+     * 按顺序匹配，第一个命中的生效；未命中的请求不限流
+     */
+    private List<Route> routes = new ArrayList<>();
+
+    @Data
+    public static class Route {
+        /**
+         * 指标与日志中使用的名称，同名路由共享令牌桶
+         */
+        private String name;
+        /**
+         * HTTP 方法，为空时匹配所有方法
+         */
+        private String method;
+        /**
+         * Ant 风格路径
+         */
+        private String pattern;
+        /**
+         * 仅当请求带有该查询参数（且非空）时匹配，例如 GET /posts 的 keyword
+         */
+        private String param;
+        private int capacity = 10;
+        private double refillPerSecond = 1;
+        /**
+         * 为 true 时始终按 IP 计数（例如登录接口），否则已登录用户按用户 ID 计数
+         */
+        private boolean perIp = false;
+    }
+}
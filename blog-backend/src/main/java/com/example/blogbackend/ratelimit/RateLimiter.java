@@ -0,0 +1,100 @@
+package com.example.blogbackend.ratelimit;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 进程内限流器，每个（路由, 用户/IP）一个令牌桶
+ * 取令牌不加锁；空闲的桶由定时任务回收。桶数量达到上限时先回收已装满的桶（与新建的桶等价），
+ * 仍超过上限则新出现的客户端共用该路由的溢出桶，大量伪造地址只会互相限流，不会撑满内存
+ */
+@Slf4j
+@Component
+public class RateLimiter {
+    private static final long TRIM_INTERVAL_NANOS = TimeUnit.SECONDS.toNanos(1);
+
+    private final RateLimitProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final ReentrantLock trimLock = new ReentrantLock();
+    private volatile long lastTrimNanos = System.nanoTime() - TRIM_INTERVAL_NANOS;
+
+    public RateLimiter(RateLimitProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        Gauge.builder("blog.ratelimit.buckets", buckets, Map::size)
+                .description("当前令牌桶数量")
+                .register(meterRegistry);
+    }
+
+    /**
+     * 为 key 取一个令牌
+     * @return 0 表示放行，否则为建议等待的毫秒数
+     */
+    public long tryAcquire(RateLimitProperties.Route route, String key) {
+        long now = System.nanoTime();
+        String bucketKey = route.getName() + "|" + key;
+        TokenBucket bucket = buckets.get(bucketKey);
+        if (bucket == null) {
+            if (buckets.size() >= properties.getMaxBuckets() && !trim(now)) {
+                bucketKey = route.getName() + "|overflow";
+            }
+            bucket = buckets.computeIfAbsent(bucketKey,
+                    k -> new TokenBucket(route.getCapacity(), route.getRefillPerSecond(), now));
+        }
+        long waitNanos = bucket.tryAcquire(now);
+        counter(route.getName(), waitNanos == 0 ? "allowed" : "rejected").increment();
+        return waitNanos == 0 ? 0 : Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos));
+    }
+
+    @Scheduled(fixedDelayString = "${blog.rate-limit.evict-interval-ms:60000}")
+    public void evictIdle() {
+        long now = System.nanoTime();
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(properties.getIdleEvictMs());
+        int before = buckets.size();
+        buckets.values().removeIf(bucket -> bucket.isIdle(now, idleNanos));
+        int evicted = before - buckets.size();
+        if (evicted > 0) {
+            log.debug("回收空闲令牌桶 {} 个，剩余 {} 个", evicted, buckets.size());
+        }
+    }
+
+    /**
+     * 回收所有已装满的桶，每秒最多扫描一次，其他线程正在回收时不等待
+     * @return 回收后是否低于上限
+     */
+    private boolean trim(long now) {
+        if (now - lastTrimNanos >= TRIM_INTERVAL_NANOS && trimLock.tryLock()) {
+            try {
+                if (buckets.size() >= properties.getMaxBuckets() && now - lastTrimNanos >= TRIM_INTERVAL_NANOS) {
+                    lastTrimNanos = now;
+                    buckets.values().removeIf(bucket -> bucket.isIdle(now, 0));
+                    if (buckets.size() >= properties.getMaxBuckets()) {
+                        log.warn("令牌桶数量达到上限 {}，新客户端使用溢出桶", properties.getMaxBuckets());
+                    }
+                }
+            } finally {
+                trimLock.unlock();
+            }
+        }
+        return buckets.size() < properties.getMaxBuckets();
+    }
+
+    private Counter counter(String route, String result) {
+        return counters.computeIfAbsent(route + "|" + result, k -> Counter.builder("blog.ratelimit.requests")
+                .description("限流判定次数")
+                .tag("route", route)
+                .tag("result", result)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,50 @@
+package com.example.blogbackend.ratelimit;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 无锁令牌桶
+ * 以 GCRA 形式实现：只保存“桶恰好重新装满的时刻”，取令牌就是一次 CAS 把该时刻向后推一个间隔，
+ * 与容量 capacity、每秒补充 refillPerSecond 的令牌桶行为等价
+ */
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong fullAt;
+    private volatile long lastUsedNanos;
+
+    TokenBucket(int capacity, double refillPerSecond, long nowNanos) {
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / refillPerSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.fullAt = new AtomicLong(nowNanos);
+        this.lastUsedNanos = nowNanos;
+    }
+
+    /**
+     * 尝试取一个令牌
+     * @return 0 表示放行，否则为需要等待的纳秒数
+     */
+    long tryAcquire(long nowNanos) {
+        lastUsedNanos = nowNanos;
+        while (true) {
+            long current = fullAt.get();
+            long base = current - nowNanos > 0 ? current : nowNanos;
+            long next = base + intervalNanos;
+            long wait = next - nowNanos - burstNanos;
+            if (wait > 0) {
+                return wait;
+            }
+            if (fullAt.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    /**
+     * 桶已装满且超过 idleNanos 未被使用，可以回收（回收后重建的桶同样是满的）
+     */
+    boolean isIdle(long nowNanos, long idleNanos) {
+        return fullAt.get() - nowNanos <= 0 && nowNanos - lastUsedNanos > idleNanos;
+    }
+}
@@ -41,10 +41,11 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         "/posts/bytags/**",
         "/posts/*",
         "/tags/**",
-        "/users/\\d+" // 只允许获取特定用户ID的公开信息
+        "/users/\\d+", // 只允许获取特定用户ID的公开信息
+        "/actuator/health"
     );
 
-    private boolean isPublicPath(String path, String method) {
+    boolean isPublicPath(String path, String method) {
         // 记录当前请求路径
         log.debug("检查路径: {} {}", method, path);
         
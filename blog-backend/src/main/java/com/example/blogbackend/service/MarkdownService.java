@@ -0,0 +1,27 @@
+package com.example.blogbackend.service;
+
+/**
+ * Markdown 渲染服务
+ * 输出经过清理的 HTML（原始 HTML 被转义、危险链接被移除），标题带锚点
+ */
+public interface MarkdownService {
+    /**
+     * 将 Markdown 渲染为 HTML，结果按内容哈希缓存
+     * @param markdown Markdown 文本
+     * @return HTML
+     */
+    String render(String markdown);
+
+    /**
+     * 计算内容哈希，格式为 "渲染器版本:十六进制 SHA-256"
+     * @param markdown Markdown 文本
+     * @return 内容哈希
+     */
+    String contentHash(String markdown);
+
+    /**
+     * 当前渲染器版本生成的哈希前缀，前缀不同的已存储 HTML 需要重新渲染
+     * @return 哈希前缀
+     */
+    String hashPrefix();
+}
@@ -1,6 +1,8 @@
 package com.example.blogbackend.service;
 
 import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.util.KeysetCursor;
+import com.example.blogbackend.vo.BulkModerationResultVO;
 import java.util.List;
 
 /**
@@ -96,6 +98,15 @@ public interface PostService {
      */
     List<Post> getAllPostsWithPagination(int offset, int limit);
 
+    /**
+     * 管理后台文章列表，按创建时间倒序游标分页
+     * @param keyword 关键词，为 null 时不过滤
+     * @param after 上一页最后一行的游标，为 null 时返回第一页
+     * @param limit 限制数量
+     * @return 文章列表
+     */
+    List<Post> getAdminPostPage(String keyword, KeysetCursor after, int limit);
+
     /**
      * 管理员删除文章（不检查权限）
      * @param postId 文章ID
@@ -113,4 +124,21 @@ public interface PostService {
      * @param postId 文章ID
      */
     void showPost(Integer postId);
+
+    /**
+     * 批量隐藏或显示文章，每批一条 UPDATE，只改写 IsHidden 与 UpdatedAt
+     * @param postIds 文章ID，重复与空值会被忽略
+     * @param hidden 目标状态
+     * @return 每个文章ID的处理结果
+     * @throws IllegalArgumentException 如果ID数量超过上限
+     */
+    BulkModerationResultVO setPostsHidden(List<Integer> postIds, boolean hidden);
+
+    /**
+     * 管理员批量删除文章（软删除，评论、收藏与相关消息由后台任务清理）
+     * @param postIds 文章ID，重复与空值会被忽略
+     * @return 每个文章ID的处理结果
+     * @throws IllegalArgumentException 如果ID数量超过上限
+     */
+    BulkModerationResultVO deletePostsByAdmin(List<Integer> postIds);
 } 
\ No newline at end of file
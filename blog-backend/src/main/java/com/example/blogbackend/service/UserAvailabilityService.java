@@ -0,0 +1,33 @@
+package com.example.blogbackend.service;
+
+/**
+ * 用户名/邮箱可用性检查服务
+ * 基于内存中的布隆过滤器，只有在过滤器判定"可能已存在"时才回查数据库
+ */
+public interface UserAvailabilityService {
+    /**
+     * 检查用户名是否已被占用
+     * @param username 用户名
+     * @return 是否已被占用
+     */
+    boolean isUsernameTaken(String username);
+
+    /**
+     * 检查邮箱是否已被占用
+     * @param email 邮箱
+     * @return 是否已被占用
+     */
+    boolean isEmailTaken(String email);
+
+    /**
+     * 记录新的用户名和邮箱（注册或修改资料后调用）
+     * @param username 用户名，可为空
+     * @param email 邮箱，可为空
+     */
+    void recordUser(String username, String email);
+
+    /**
+     * 从数据库全量重建布隆过滤器
+     */
+    void rebuild();
+}
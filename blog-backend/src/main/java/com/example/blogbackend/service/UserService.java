@@ -1,6 +1,8 @@
 package com.example.blogbackend.service;
 
 import com.example.blogbackend.entity.User;
+import com.example.blogbackend.util.KeysetCursor;
+import com.example.blogbackend.vo.AdminUserVO;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 
@@ -51,22 +53,14 @@ public interface UserService extends UserDetailsService {
     boolean isUsernameExists(String username);
 
     /**
-     * 获取所有用户（包含角色信息）
+     * 管理后台用户列表，按注册时间倒序游标分页
      *
-     * @param keyword 搜索关键词（用户名或邮箱）
-     * @param offset 分页偏移量
+     * @param keyword 搜索关键词（用户名或邮箱），为 null 时不过滤
+     * @param after 上一页最后一行的游标，为 null 时返回第一页
      * @param limit 分页大小
      * @return 用户列表
      */
-    List<User> getAllUsersWithRoles(String keyword, int offset, int limit);
-
-    /**
-     * 获取用户总数
-     *
-     * @param keyword 搜索关键词（用户名或邮箱）
-     * @return 用户总数
-     */
-    int getUserCount(String keyword);
+    List<AdminUserVO> getAdminUserPage(String keyword, KeysetCursor after, int limit);
 
     /**
      * 禁用用户
@@ -83,4 +77,12 @@ public interface UserService extends UserDetailsService {
      * @throws UsernameNotFoundException 如果用户不存在
      */
     void enableUser(Integer userId);
+
+    /**
+     * 删除用户：软删除并禁用账号，同时下线其全部文章，依赖数据由后台任务分批清理
+     *
+     * @param userId 用户ID
+     * @throws UsernameNotFoundException 如果用户不存在或已删除
+     */
+    void deleteUser(Integer userId);
 } 
\ No newline at end of file
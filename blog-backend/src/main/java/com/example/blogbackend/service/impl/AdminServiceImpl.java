@@ -75,6 +75,7 @@ public class AdminServiceImpl implements AdminService {
                 .createdAt(LocalDateTime.now())
                 .build();
             userRoleMapper.insert(userRole);
+            userMapper.refreshRolesCache(userId);
             log.info("成功为用户 {} 添加管理员角色", userId);
         } else {
             log.info("用户 {} 已经拥有管理员角色", userId);
@@ -86,6 +87,7 @@ public class AdminServiceImpl implements AdminService {
     public void removeAdminRole(Integer userId) {
         log.info("开始移除用户 {} 的管理员角色", userId);
         roleMapper.removeAdminRole(userId);
+        userMapper.refreshRolesCache(userId);
         log.info("成功移除用户 {} 的管理员角色", userId);
     }
 
@@ -1,9 +1,9 @@
 package com.example.blogbackend.service.impl;
 
+import com.example.blogbackend.cache.ContentChangedEvent;
 import com.example.blogbackend.dto.AuthenticationRequest;
 import com.example.blogbackend.dto.AuthenticationResponse;
 import com.example.blogbackend.dto.RegisterRequest;
-import com.example.blogbackend.entity.Role;
 import com.example.blogbackend.entity.User;
 import com.example.blogbackend.entity.UserRole;
 import com.example.blogbackend.mapper.RoleMapper;
@@ -11,9 +11,14 @@ import com.example.blogbackend.mapper.UserMapper;
 import com.example.blogbackend.mapper.UserRoleMapper;
 import com.example.blogbackend.service.AuthenticationService;
 import com.example.blogbackend.service.JwtService;
+import com.example.blogbackend.service.UserAvailabilityService;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.stats.StatMetric;
 import lombok.RequiredArgsConstructor;
-import org.springframework.security.authentication.AuthenticationManager;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.security.authentication.DisabledException;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -30,16 +35,18 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     private final UserRoleMapper userRoleMapper;
     private final PasswordEncoder passwordEncoder;
     private final JwtService jwtService;
-    private final AuthenticationManager authenticationManager;
+    private final UserAvailabilityService userAvailabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SiteStatistics siteStatistics;
 
     @Override
     @Transactional
     public AuthenticationResponse register(RegisterRequest request) {
-        // 检查用户名和邮箱是否已存在
-        if (userMapper.findByUsername(request.getUsername()).isPresent()) {
+        // 检查用户名和邮箱是否已存在（布隆过滤器判定可能存在时才回查数据库）
+        if (userAvailabilityService.isUsernameTaken(request.getUsername())) {
             throw new RuntimeException("用户名已存在");
         }
-        if (userMapper.findByEmail(request.getEmail()).isPresent()) {
+        if (userAvailabilityService.isEmailTaken(request.getEmail())) {
             throw new RuntimeException("邮箱已存在");
         }
 
@@ -53,6 +60,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .build();
 
         userMapper.insert(user);
+        userAvailabilityService.recordUser(user.getUsername(), user.getEmail());
 
         // 为新用户分配ROLE_USER角色
         var userRole = roleMapper.findByRoleName("ROLE_USER")
@@ -65,6 +73,9 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                 .build();
 
         userRoleMapper.insert(userRoleRelation);
+        userMapper.refreshRolesCache(user.getUserId());
+        siteStatistics.recordCreated(StatMetric.USERS);
+        siteStatistics.recordActive(user.getUserId());
 
         var jwtToken = jwtService.generateToken(user);
         return AuthenticationResponse.builder()
@@ -80,29 +91,28 @@ public class AuthenticationServiceImpl implements AuthenticationService {
     @Override
     public AuthenticationResponse authenticate(AuthenticationRequest request) {
         try {
-            // 先检查用户是否存在
+            // 一次查询加载用户及其角色（UserMapper.xml 中的 UserWithRoles 映射），
+            // 后续的密码校验和 token 生成都复用这份数据，不再经过 AuthenticationManager 二次查库
             var user = userMapper.findByEmail(request.getEmail())
                     .orElseThrow(() -> new RuntimeException("用户不存在"));
 
-            // 尝试认证
-            authenticationManager.authenticate(
-                    new UsernamePasswordAuthenticationToken(
-                            request.getEmail(),
-                            request.getPassword()
-                    )
-            );
+            // 先校验账号状态再校验密码，与 DaoAuthenticationProvider 的前置检查顺序一致
+            if (!user.isEnabled()) {
+                throw new DisabledException("用户已被禁用");
+            }
+
+            // 校验密码
+            if (!passwordEncoder.matches(request.getPassword(), user.getPassword())) {
+                throw new BadCredentialsException("Bad credentials");
+            }
 
-            // 查询用户角色
-            List<String> roles = userRoleMapper.findRolesByUserId(user.getUserId())
+            List<String> roles = user.getAuthorities()
                     .stream()
-                    .map(Role::getRoleName)
+                    .map(GrantedAuthority::getAuthority)
                     .collect(Collectors.toList());
 
-            if (roles.isEmpty()) {
-                roles = List.of("ROLE_USER"); // 默认角色
-            }
-
             var jwtToken = jwtService.generateToken(user);
+            siteStatistics.recordActive(user.getUserId());
             return AuthenticationResponse.builder()
                     .token(jwtToken)
                     .username(user.getUsername())
@@ -111,7 +121,7 @@ public class AuthenticationServiceImpl implements AuthenticationService {
                     .bio(user.getBio())
                     .roles(roles)
                     .build();
-        } catch (org.springframework.security.authentication.BadCredentialsException e) {
+        } catch (BadCredentialsException e) {
             throw new RuntimeException("密码错误");
         } catch (Exception e) {
             throw new RuntimeException("登录失败: " + e.getMessage());
@@ -127,5 +137,6 @@ public class AuthenticationServiceImpl implements AuthenticationService {
         user.setUpdatedAt(LocalDateTime.now());
         
         userMapper.updateById(user);
+        eventPublisher.publishEvent(ContentChangedEvent.account(user.getUserId()));
     }
 } 
\ No newline at end of file
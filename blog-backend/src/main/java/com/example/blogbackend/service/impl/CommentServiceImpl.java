@@ -1,5 +1,7 @@
 package com.example.blogbackend.service.impl;
 
+import com.example.blogbackend.cache.ContentChangedEvent;
+import com.example.blogbackend.cache.SingleFlight;
 import com.example.blogbackend.entity.Comment;
 import com.example.blogbackend.entity.Message;
 import com.example.blogbackend.entity.Post;
@@ -7,13 +9,16 @@ import com.example.blogbackend.mapper.CommentMapper;
 import com.example.blogbackend.mapper.MessageMapper;
 import com.example.blogbackend.mapper.PostMapper;
 import com.example.blogbackend.service.CommentService;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.stats.StatMetric;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -24,18 +29,19 @@ public class CommentServiceImpl implements CommentService {
     private final CommentMapper commentMapper;
     private final PostMapper postMapper;
     private final MessageMapper messageMapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<Integer, List<Comment>> postCommentsFlight;
+    private final SiteStatistics siteStatistics;
 
     @Override
     @Transactional
     public Comment createComment(Comment comment) {
-        Instant start = Instant.now();
         log.info("开始创建评论，文章ID: {}", comment.getPostId());
         
-        long startTime = System.currentTimeMillis();
         try {
             // 检查文章是否存在
             Post post = postMapper.selectById(comment.getPostId());
-            if (post == null) {
+            if (post == null || post.getDeletedAt() != null) {
                 log.error("文章不存在，ID: {}", comment.getPostId());
                 throw new RuntimeException("文章不存在");
             }
@@ -51,6 +57,9 @@ public class CommentServiceImpl implements CommentService {
 
             // 保存评论
             commentMapper.insert(comment);
+            eventPublisher.publishEvent(ContentChangedEvent.comments(comment.getPostId()));
+            siteStatistics.recordCreated(StatMetric.COMMENTS);
+            siteStatistics.recordActive(comment.getUserId());
 
             // 创建消息通知文章作者
             if (!post.getUserId().equals(comment.getUserId())) {
@@ -73,8 +82,6 @@ public class CommentServiceImpl implements CommentService {
         } catch (Exception e) {
             log.error("创建评论失败: {}", e.getMessage(), e);
             throw new RuntimeException("创建评论失败: " + e.getMessage());
-        } finally {
-            log.info("创建评论完成，耗时: {}ms", System.currentTimeMillis() - startTime);
         }
     }
 
@@ -82,101 +89,100 @@ public class CommentServiceImpl implements CommentService {
     @Transactional(readOnly = true)
     public List<Comment> getCommentsByPostId(Integer postId) {
         log.info("开始获取文章评论，文章ID: {}", postId);
-        long startTime = System.currentTimeMillis();
-        try {
-            return commentMapper.findByPostIdWithUser(postId);
-        } finally {
-            log.info("获取文章评论完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        return commentMapper.findByPostIdWithUser(postId);
     }
 
     @Override
     @Transactional
     public void deleteComment(Integer commentId, Integer userId) {
         log.info("开始删除评论，ID: {}, 用户ID: {}", commentId, userId);
-        long startTime = System.currentTimeMillis();
-        try {
-            // 检查评论是否存在且属于该用户
-            Comment comment = commentMapper.selectById(commentId);
-            if (comment == null || !comment.getUserId().equals(userId)) {
-                log.error("无权删除此评论，ID: {}", commentId);
-                throw new RuntimeException("无权删除此评论");
-            }
+        // 检查评论是否存在且属于该用户
+        Comment comment = commentMapper.selectById(commentId);
+        if (comment == null || !comment.getUserId().equals(userId)) {
+            log.error("无权删除此评论，ID: {}", commentId);
+            throw new RuntimeException("无权删除此评论");
+        }
 
-            commentMapper.deleteById(commentId);
-            log.info("评论删除成功，ID: {}", commentId);
-        } finally {
-            log.info("删除评论完成，耗时: {}ms", System.currentTimeMillis() - startTime);
+        if (commentMapper.deleteById(commentId) == 1) {
+            siteStatistics.recordDeleted(StatMetric.COMMENTS, 1);
         }
+        eventPublisher.publishEvent(ContentChangedEvent.comments(comment.getPostId()));
+        log.info("评论删除成功，ID: {}", commentId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Comment> getCommentsByUserId(Integer userId) {
         log.info("开始获取用户评论，用户ID: {}", userId);
-        long startTime = System.currentTimeMillis();
-        try {
-            return commentMapper.findByUserIdWithUserAndPost(userId);
-        } finally {
-            log.info("获取用户评论完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        return commentMapper.findByUserIdWithUserAndPost(userId);
     }
 
     @Override
     @Transactional
     public Comment updateComment(Comment comment) {
         log.info("开始更新评论，ID: {}", comment.getCommentId());
-        long startTime = System.currentTimeMillis();
-        try {
-            // 检查评论是否存在
-            Comment existingComment = commentMapper.selectById(comment.getCommentId());
-            if (existingComment == null || !existingComment.getUserId().equals(comment.getUserId())) {
-                log.error("无权修改此评论，ID: {}", comment.getCommentId());
-                throw new RuntimeException("无权修改此评论");
-            }
+        // 检查评论是否存在
+        Comment existingComment = commentMapper.selectById(comment.getCommentId());
+        if (existingComment == null || !existingComment.getUserId().equals(comment.getUserId())) {
+            log.error("无权修改此评论，ID: {}", comment.getCommentId());
+            throw new RuntimeException("无权修改此评论");
+        }
 
-            // 验证评论内容
-            if (comment.getContent() == null || comment.getContent().trim().isEmpty()) {
-                throw new IllegalArgumentException("评论内容不能为空");
-            }
+        // 验证评论内容
+        if (comment.getContent() == null || comment.getContent().trim().isEmpty()) {
+            throw new IllegalArgumentException("评论内容不能为空");
+        }
 
-            // 更新时间
-            comment.setUpdatedAt(LocalDateTime.now());
+        // 更新时间
+        comment.setUpdatedAt(LocalDateTime.now());
 
-            // 更新评论
-            commentMapper.updateById(comment);
+        // 更新评论
+        commentMapper.updateById(comment);
+        eventPublisher.publishEvent(ContentChangedEvent.comments(existingComment.getPostId()));
 
-            // 返回更新后的评论
-            Comment updatedComment = commentMapper.findByIdWithUser(comment.getCommentId());
-            log.info("评论更新成功，ID: {}", updatedComment.getCommentId());
-            return updatedComment;
-        } finally {
-            log.info("更新评论完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        // 返回更新后的评论
+        Comment updatedComment = commentMapper.findByIdWithUser(comment.getCommentId());
+        log.info("评论更新成功，ID: {}", updatedComment.getCommentId());
+        return updatedComment;
     }
 
+    /**
+     * 同一文章的并发请求合并为一次查询；不开启事务，等待中的请求不占用数据库连接
+     */
     @Override
-    @Transactional(readOnly = true)
     public List<Comment> findCommentsByPostIdWithUser(Integer postId) {
         log.info("开始获取带用户信息的文章评论，文章ID: {}", postId);
-        long startTime = System.currentTimeMillis();
-        try {
-            List<Comment> comments = commentMapper.findByPostIdWithUser(postId);
-            log.info("获取到{}条评论", comments.size());
-            
-            // 详细记录每条评论信息
-            for (Comment comment : comments) {
-                log.info("评论ID: {}, 内容: {}, 用户: {}, 用户名: {}, 头像: {}", 
-                    comment.getCommentId(), 
-                    comment.getContent(), 
-                    comment.getUserId(),
-                    comment.getUser() != null ? comment.getUser().getUsername() : "无用户信息",
-                    comment.getUser() != null ? comment.getUser().getAvatar() : "无头像");
-            }
-            
-            return comments;
-        } finally {
-            log.info("获取带用户信息的文章评论完成，耗时: {}ms", System.currentTimeMillis() - startTime);
+        return postCommentsFlight.execute(postId, () -> loadComments(postId));
+    }
+
+    /**
+     * 评论或评论者资料变更后放弃进行中的加载（包括其他节点的变更），
+     * 新 ETag 可见后到达的请求不会再加入变更前开始的加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentChangedEvent.EVICT_ORDER)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.isUsers()) {
+            postCommentsFlight.forgetAll();
+        } else if (event.getPostId() != null) {
+            postCommentsFlight.forget(event.getPostId());
+        }
+    }
+
+    private List<Comment> loadComments(Integer postId) {
+        List<Comment> comments = commentMapper.findByPostIdWithUser(postId);
+        log.info("获取到{}条评论", comments.size());
+        
+        // 详细记录每条评论信息
+        for (Comment comment : comments) {
+            log.info("评论ID: {}, 内容: {}, 用户: {}, 用户名: {}, 头像: {}", 
+                comment.getCommentId(), 
+                comment.getContent(), 
+                comment.getUserId(),
+                comment.getUser() != null ? comment.getUser().getUsername() : "无用户信息",
+                comment.getUser() != null ? comment.getUser().getAvatar() : "无头像");
         }
+        
+        return comments;
     }
 } 
\ No newline at end of file
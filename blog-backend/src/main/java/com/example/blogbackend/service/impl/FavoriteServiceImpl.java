@@ -11,6 +11,8 @@ import com.example.blogbackend.mapper.MessageMapper;
 import com.example.blogbackend.mapper.PostMapper;
 import com.example.blogbackend.mapper.UserMapper;
 import com.example.blogbackend.service.FavoriteService;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.stats.StatMetric;
 import com.example.blogbackend.vo.FavoriteVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -29,24 +31,19 @@ public class FavoriteServiceImpl implements FavoriteService {
     private final PostMapper postMapper;
     private final MessageMapper messageMapper;
     private final UserMapper userMapper;
+    private final SiteStatistics siteStatistics;
 
     @Override
     @Transactional(readOnly = true)
     public boolean checkFavorite(Integer userId, Integer postId) {
         log.info("开始检查用户是否收藏文章，用户ID: {}, 文章ID: {}", userId, postId);
-        long startTime = System.currentTimeMillis();
-        try {
-            return favoriteMapper.findByUserIdAndPostId(userId, postId).isPresent();
-        } finally {
-            log.info("检查收藏状态完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        return favoriteMapper.findByUserIdAndPostId(userId, postId).isPresent();
     }
 
     @Override
     @Transactional
     public void addFavorite(Integer userId, Integer postId) {
         log.info("开始添加收藏，用户ID: {}, 文章ID: {}", userId, postId);
-        long startTime = System.currentTimeMillis();
         try {
             // 检查是否已经收藏
             if (favoriteMapper.findByUserIdAndPostId(userId, postId).isPresent()) {
@@ -68,6 +65,8 @@ public class FavoriteServiceImpl implements FavoriteService {
                     .createdAt(LocalDateTime.now())
                     .build();
             favoriteMapper.insert(favorite);
+            siteStatistics.recordCreated(StatMetric.FAVORITES);
+            siteStatistics.recordActive(userId);
 
             // 创建消息通知文章作者
             if (!post.getUserId().equals(userId)) {
@@ -86,8 +85,6 @@ public class FavoriteServiceImpl implements FavoriteService {
         } catch (Exception e) {
             log.error("添加收藏失败: {}", e.getMessage(), e);
             throw new RuntimeException("添加收藏失败: " + e.getMessage());
-        } finally {
-            log.info("添加收藏完成，耗时: {}ms", System.currentTimeMillis() - startTime);
         }
     }
 
@@ -95,19 +92,18 @@ public class FavoriteServiceImpl implements FavoriteService {
     @Transactional
     public void removeFavorite(Integer userId, Integer postId) {
         log.info("开始取消收藏，用户ID: {}, 文章ID: {}", userId, postId);
-        long startTime = System.currentTimeMillis();
         try {
             // 检查收藏是否存在
             Favorite favorite = favoriteMapper.findByUserIdAndPostId(userId, postId)
                     .orElseThrow(() -> new RuntimeException("未收藏此文章"));
 
-            favoriteMapper.deleteById(favorite.getFavoriteId());
+            if (favoriteMapper.deleteById(favorite.getFavoriteId()) == 1) {
+                siteStatistics.recordDeleted(StatMetric.FAVORITES, 1);
+            }
             log.info("取消收藏成功");
         } catch (Exception e) {
             log.error("取消收藏失败: {}", e.getMessage(), e);
             throw new RuntimeException("取消收藏失败: " + e.getMessage());
-        } finally {
-            log.info("取消收藏完成，耗时: {}ms", System.currentTimeMillis() - startTime);
         }
     }
 
@@ -115,36 +111,21 @@ public class FavoriteServiceImpl implements FavoriteService {
     @Transactional(readOnly = true)
     public List<Favorite> getUserFavorites(Integer userId) {
         log.info("开始获取用户收藏列表，用户ID: {}", userId);
-        long startTime = System.currentTimeMillis();
-        try {
-            return favoriteMapper.findByUserId(userId);
-        } finally {
-            log.info("获取用户收藏列表完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        return favoriteMapper.findByUserId(userId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public int getFavoriteCount(Integer postId) {
         log.info("开始获取文章收藏数量，文章ID: {}", postId);
-        long startTime = System.currentTimeMillis();
-        try {
-            return favoriteMapper.countByPostId(postId);
-        } finally {
-            log.info("获取文章收藏数量完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        return favoriteMapper.countByPostId(postId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Favorite> getPostFavorites(Integer postId) {
         log.info("开始获取文章收藏用户列表，文章ID: {}", postId);
-        long startTime = System.currentTimeMillis();
-        try {
-            return favoriteMapper.findByPostId(postId);
-        } finally {
-            log.info("获取文章收藏用户列表完成，耗时: {}ms", System.currentTimeMillis() - startTime);
-        }
+        return favoriteMapper.findByPostId(postId);
     }
 
     private FavoriteVO convertToVO(Favorite favorite) {
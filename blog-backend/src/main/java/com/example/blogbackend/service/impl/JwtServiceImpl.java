@@ -10,8 +10,6 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
@@ -30,15 +28,9 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public String extractUsername(String token) {
-        Instant start = Instant.now();
         log.debug("开始从token中提取用户名");
         
-        try {
-            return extractClaim(token, Claims::getSubject);
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.debug("提取用户名完成，耗时: {}ms", duration.toMillis());
-        }
+        return extractClaim(token, Claims::getSubject);
     }
 
     @Override
@@ -54,7 +46,6 @@ public class JwtServiceImpl implements JwtService {
 
     @Override
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
-        Instant start = Instant.now();
         log.info("开始生成JWT token，用户: {}", ((User) userDetails).getEmail());
         
         try {
@@ -76,26 +67,17 @@ public class JwtServiceImpl implements JwtService {
         } catch (Exception e) {
             log.error("生成JWT token时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("生成JWT token完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        Instant start = Instant.now();
         log.debug("开始验证token");
         
-        try {
-            final String email = extractUsername(token);
-            boolean isValid = (email.equals(((User) userDetails).getEmail())) && !isTokenExpired(token);
-            log.debug("Token验证结果: {}", isValid);
-            return isValid;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.debug("验证token完成，耗时: {}ms", duration.toMillis());
-        }
+        final String email = extractUsername(token);
+        boolean isValid = (email.equals(((User) userDetails).getEmail())) && !isTokenExpired(token);
+        log.debug("Token验证结果: {}", isValid);
+        return isValid;
     }
 
     private boolean isTokenExpired(String token) {
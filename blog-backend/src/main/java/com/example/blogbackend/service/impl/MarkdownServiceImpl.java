@@ -0,0 +1,83 @@
+package com.example.blogbackend.service.impl;
+
+import com.example.blogbackend.service.MarkdownService;
+import lombok.extern.slf4j.Slf4j;
+import org.commonmark.Extension;
+import org.commonmark.ext.gfm.tables.TablesExtension;
+import org.commonmark.ext.heading.anchor.HeadingAnchorExtension;
+import org.commonmark.parser.Parser;
+import org.commonmark.renderer.html.HtmlRenderer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Slf4j
+@Service
+public class MarkdownServiceImpl implements MarkdownService {
+    /**
+     * 渲染规则版本，修改解析/渲染配置时递增，使已存储的 HTML 失效
+     */
+    private static final String RENDERER_VERSION = "md-v1";
+
+    private final Parser parser;
+    private final HtmlRenderer renderer;
+    private final Map<String, String> cache;
+
+    public MarkdownServiceImpl(@Value("${blog.markdown.cache-size:1000}") int cacheSize) {
+        List<Extension> extensions = List.of(TablesExtension.create(), HeadingAnchorExtension.create());
+        this.parser = Parser.builder().extensions(extensions).build();
+        this.renderer = HtmlRenderer.builder()
+                .extensions(extensions)
+                .escapeHtml(true)
+                .sanitizeUrls(true)
+                .build();
+        // 按内容哈希缓存渲染结果（LRU），用于尚未存储 HTML 的旧数据
+        this.cache = Collections.synchronizedMap(new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > cacheSize;
+            }
+        });
+    }
+
+    @Override
+    public String render(String markdown) {
+        if (markdown == null || markdown.isEmpty()) {
+            return "";
+        }
+        String hash = contentHash(markdown);
+        String html = cache.get(hash);
+        if (html == null) {
+            html = renderer.render(parser.parse(markdown));
+            cache.put(hash, html);
+        }
+        return html;
+    }
+
+    @Override
+    public String contentHash(String markdown) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            byte[] hash = digest.digest((markdown == null ? "" : markdown).getBytes(StandardCharsets.UTF_8));
+            StringBuilder sb = new StringBuilder(hashPrefix());
+            for (byte b : hash) {
+                sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return sb.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 不可用", e);
+        }
+    }
+
+    @Override
+    public String hashPrefix() {
+        return RENDERER_VERSION + ":";
+    }
+}
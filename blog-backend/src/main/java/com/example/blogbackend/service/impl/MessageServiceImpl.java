@@ -8,8 +8,6 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -27,39 +25,26 @@ public class MessageServiceImpl implements MessageService {
     @Override
     @Transactional(readOnly = true)
     public List<Message> getUnreadMessages(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始获取未读消息，用户ID: {}", userId);
         
-        try {
-            List<Message> messages = messageMapper.getUnreadMessages(userId);
-            log.info("获取到{}条未读消息", messages.size());
-            return messages;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取未读消息完成，耗时: {}ms", duration.toMillis());
-        }
+        List<Message> messages = messageMapper.getUnreadMessages(userId);
+        log.info("获取到{}条未读消息", messages.size());
+        return messages;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Message> getAllMessages(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始获取所有消息，用户ID: {}", userId);
         
-        try {
-            List<Message> messages = messageMapper.getAllMessages(userId);
-            log.info("获取到{}条消息", messages.size());
-            return messages;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取所有消息完成，耗时: {}ms", duration.toMillis());
-        }
+        List<Message> messages = messageMapper.getAllMessages(userId);
+        log.info("获取到{}条消息", messages.size());
+        return messages;
     }
 
     @Override
     @Transactional
     public void markMessageAsRead(Integer messageId, Integer userId) {
-        Instant start = Instant.now();
         log.info("开始标记消息为已读，消息ID: {}", messageId);
         
         try {
@@ -80,16 +65,12 @@ public class MessageServiceImpl implements MessageService {
         } catch (Exception e) {
             log.error("标记消息为已读时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("标记消息为已读完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional
     public void markAllMessagesAsRead(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始标记所有消息为已读，用户ID: {}", userId);
         
         try {
@@ -98,32 +79,22 @@ public class MessageServiceImpl implements MessageService {
         } catch (Exception e) {
             log.error("标记所有消息为已读时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("标记所有消息为已读完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional(readOnly = true)
     public int getUnreadMessageCount(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始获取未读消息数量，用户ID: {}", userId);
         
-        try {
-            int count = messageMapper.getUnreadMessageCount(userId);
-            log.info("未读消息数量: {}", count);
-            return count;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取未读消息数量完成，耗时: {}ms", duration.toMillis());
-        }
+        int count = messageMapper.getUnreadMessageCount(userId);
+        log.info("未读消息数量: {}", count);
+        return count;
     }
 
     @Override
     @Transactional
     public void deleteMessage(Integer messageId, Integer userId) {
-        Instant start = Instant.now();
         log.info("开始删除消息，消息ID: {}", messageId);
         
         try {
@@ -144,16 +115,12 @@ public class MessageServiceImpl implements MessageService {
         } catch (Exception e) {
             log.error("删除消息时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("删除消息完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional
     public Message createMessage(Message message) {
-        Instant start = Instant.now();
         log.info("开始创建消息，接收者ID: {}", message.getUserId());
         
         try {
@@ -170,9 +137,6 @@ public class MessageServiceImpl implements MessageService {
         } catch (Exception e) {
             log.error("创建消息时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("创建消息完成，耗时: {}ms", duration.toMillis());
         }
     }
 } 
\ No newline at end of file
@@ -2,30 +2,62 @@ package com.example.blogbackend.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.extension.plugins.pagination.Page;
+import com.example.blogbackend.cache.ContentChangedEvent;
+import com.example.blogbackend.cache.SingleFlight;
+import com.example.blogbackend.cache.TwoTierCache;
+import com.example.blogbackend.datasource.WorkloadContext;
+import com.example.blogbackend.datasource.WorkloadType;
 import com.example.blogbackend.entity.Post;
+import com.example.blogbackend.lease.JobLease;
 import com.example.blogbackend.mapper.PostMapper;
+import com.example.blogbackend.service.MarkdownService;
 import com.example.blogbackend.service.PostService;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.stats.StatMetric;
+import com.example.blogbackend.util.ExcerptUtils;
+import com.example.blogbackend.util.KeysetCursor;
+import com.example.blogbackend.vo.BulkModerationResultVO;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @Slf4j
 @Service
 @RequiredArgsConstructor
 public class PostServiceImpl implements PostService {
+    private static final int BACKFILL_BATCH = 200;
+    private static final String BACKFILL_LEASE = "post-derived-fields-backfill";
+    private static final int BACKFILL_LEASE_SECONDS = 300;
+    private static final int BULK_CHUNK = 500;
+    private static final int MAX_BULK_IDS = 10000;
+    private static final int PER_POST_EVENT_LIMIT = 50;
+
     private final PostMapper postMapper;
+    private final MarkdownService markdownService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final SingleFlight<Integer, Post> postDetailFlight;
+    private final TwoTierCache<Post> postDetailCache;
+    private final SiteStatistics siteStatistics;
+    private final JobLease jobLease;
 
     @Override
     @Transactional
     public Post createPost(Post post) {
-        Instant start = Instant.now();
         log.info("开始创建文章: {}", post.getTitle());
         
         try {
@@ -40,12 +72,16 @@ public class PostServiceImpl implements PostService {
             // 设置时间
             post.setCreatedAt(LocalDateTime.now());
             post.setUpdatedAt(LocalDateTime.now());
+            applyDerivedFields(post);
             
             // 保存文章
             int result = postMapper.insert(post);
             if (result != 1) {
                 throw new RuntimeException("创建文章失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.post(post.getPostId()));
+            siteStatistics.recordCreated(StatMetric.POSTS);
+            siteStatistics.recordActive(post.getUserId());
             
             // 返回完整的文章信息
             Post createdPost = postMapper.findPostWithUser(post.getPostId());
@@ -54,69 +90,56 @@ public class PostServiceImpl implements PostService {
         } catch (Exception e) {
             log.error("创建文章时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("创建文章完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Post> getAllPosts() {
-        Instant start = Instant.now();
         log.info("开始获取所有文章");
         
-        try {
-            // 使用findAllWithUser替代selectList，以便获取作者信息
-            List<Post> posts = postMapper.findAllWithUser();
-            log.info("获取到{}篇文章", posts.size());
-            return posts;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取所有文章完成，耗时: {}ms", duration.toMillis());
-        }
+        // 使用findAllWithUser替代selectList，以便获取作者信息
+        List<Post> posts = postMapper.findAllWithUser();
+        log.info("获取到{}篇文章", posts.size());
+        return posts;
     }
 
+    /**
+     * 先查两级缓存，未命中时同一文章的并发请求合并为一次查询；不开启事务，等待中的请求不占用数据库连接
+     */
     @Override
-    @Transactional(readOnly = true)
     public Post getPostById(Integer postId) {
-        Instant start = Instant.now();
         log.info("开始获取文章，ID: {}", postId);
-        
-        try {
-            // 使用findPostWithUser替代selectById，以便获取作者信息
-            Post post = postMapper.findPostWithUser(postId);
-            if (post == null) {
-                log.warn("文章不存在，ID: {}", postId);
-                throw new RuntimeException("文章不存在");
-            }
-            return post;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取文章完成，耗时: {}ms", duration.toMillis());
+        return postDetailFlight.execute(postId, () -> postDetailCache.get(postId, () -> loadPost(postId)));
+    }
+
+    private Post loadPost(Integer postId) {
+        // 使用findPostWithUser替代selectById，以便获取作者信息
+        Post post = postMapper.findPostWithUser(postId);
+        if (post == null) {
+            log.warn("文章不存在，ID: {}", postId);
+            throw new RuntimeException("文章不存在");
         }
+        if (post.getContentHtml() == null) {
+            // 尚未回填的旧数据，使用按内容哈希缓存的渲染结果
+            post.setContentHtml(markdownService.render(post.getContent()));
+        }
+        return post;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Post> getPostsByUserId(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始获取用户的文章，用户ID: {}", userId);
         
-        try {
-            List<Post> posts = postMapper.getPostsByUserId(userId);
-            log.info("获取到用户{}的{}篇文章", userId, posts.size());
-            return posts;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取用户文章完成，耗时: {}ms", duration.toMillis());
-        }
+        List<Post> posts = postMapper.getPostsByUserId(userId);
+        log.info("获取到用户{}的{}篇文章", userId, posts.size());
+        return posts;
     }
 
     @Override
     @Transactional
     public Post updatePost(Post post) {
-        Instant start = Instant.now();
         log.info("开始更新文章，ID: {}", post.getPostId());
         
         try {
@@ -129,28 +152,26 @@ public class PostServiceImpl implements PostService {
 
             // 更新时间
             post.setUpdatedAt(LocalDateTime.now());
+            applyDerivedFields(post);
             
             // 更新文章
             int result = postMapper.updateById(post);
             if (result != 1) {
                 throw new RuntimeException("更新文章失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.post(post.getPostId()));
             
             // 返回更新后的文章
             return postMapper.findPostWithUser(post.getPostId());
         } catch (Exception e) {
             log.error("更新文章时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("更新文章完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional
     public void deletePost(Integer postId, Integer userId) {
-        Instant start = Instant.now();
         log.info("开始删除文章，ID: {}", postId);
         
         try {
@@ -161,145 +182,119 @@ public class PostServiceImpl implements PostService {
                 throw new RuntimeException("无权删除此文章");
             }
             
-            int result = postMapper.deleteById(postId);
+            // 软删除，评论、收藏与消息由后台任务分批清理
+            int result = postMapper.softDelete(postId, LocalDateTime.now());
             if (result != 1) {
                 throw new RuntimeException("删除文章失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.post(postId));
+            siteStatistics.recordDeleted(StatMetric.POSTS, 1);
             log.info("文章删除成功");
         } catch (Exception e) {
             log.error("删除文章时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("删除文章完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<String> getAllTags() {
-        Instant start = Instant.now();
         log.info("开始获取所有标签");
         
-        try {
-            List<String> tags = postMapper.getAllTags();
-            log.info("获取到{}个标签", tags.size());
-            return tags;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取所有标签完成，耗时: {}ms", duration.toMillis());
-        }
+        List<String> tags = postMapper.getAllTags();
+        log.info("获取到{}个标签", tags.size());
+        return tags;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Post> getPostsByTags(List<String> tags, int page, int pageSize) {
-        Instant start = Instant.now();
         log.info("开始根据标签获取文章，标签: {}, 页码: {}, 每页数量: {}", tags, page, pageSize);
         
-        try {
-            List<Post> result = new ArrayList<>();
-            int offset = (page - 1) * pageSize;
-            
-            for (String tag : tags) {
-                List<Post> posts = postMapper.getPostsByTag(tag, offset, pageSize);
-                result.addAll(posts);
-            }
-            
-            log.info("获取到{}篇文章", result.size());
-            return result;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("根据标签获取文章完成，耗时: {}ms", duration.toMillis());
+        List<Post> result = new ArrayList<>();
+        int offset = (page - 1) * pageSize;
+        
+        for (String tag : tags) {
+            List<Post> posts = postMapper.getPostsByTag(tag, offset, pageSize);
+            result.addAll(posts);
         }
+        
+        log.info("获取到{}篇文章", result.size());
+        return result;
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Post> getPostsByTag(String tag, int offset, int limit) {
-        Instant start = Instant.now();
         log.info("开始根据单个标签获取文章，标签: {}", tag);
         
-        try {
-            // 确保分页参数有效
-            offset = Math.max(0, offset);
-            limit = Math.max(1, limit);
-            
-            List<Post> posts = postMapper.getPostsByTag(tag, 0, 0);
-            log.info("获取到{}篇文章", posts.size());
-            
-            // 手动分页，避免SQL服务器复杂分页问题
-            if (posts.size() > offset) {
-                int endIndex = Math.min(offset + limit, posts.size());
-                return posts.subList(offset, endIndex);
-            }
-            return new ArrayList<>();
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("根据单个标签获取文章完成，耗时: {}ms", duration.toMillis());
+        // 确保分页参数有效
+        offset = Math.max(0, offset);
+        limit = Math.max(1, limit);
+        
+        List<Post> posts = postMapper.getPostsByTag(tag, 0, 0);
+        log.info("获取到{}篇文章", posts.size());
+        
+        // 手动分页，避免SQL服务器复杂分页问题
+        if (posts.size() > offset) {
+            int endIndex = Math.min(offset + limit, posts.size());
+            return posts.subList(offset, endIndex);
         }
+        return new ArrayList<>();
     }
 
     @Override
     @Transactional(readOnly = true)
     public List<Post> searchPosts(String keyword, int page, int pageSize) {
-        Instant start = Instant.now();
         log.info("开始搜索文章，关键词: {}, 页码: {}, 每页数量: {}", keyword, page, pageSize);
         
-        try {
-            int offset = (page - 1) * pageSize;
-            List<Post> posts = postMapper.searchPosts(keyword, offset, pageSize);
-            log.info("搜索到{}篇文章", posts.size());
-            return posts;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("搜索文章完成，耗时: {}ms", duration.toMillis());
-        }
+        int offset = (page - 1) * pageSize;
+        List<Post> posts = postMapper.searchPosts(keyword, offset, pageSize);
+        log.info("搜索到{}篇文章", posts.size());
+        return posts;
     }
     
     @Override
     @Transactional(readOnly = true)
     public int getPostCount(String keyword) {
-        Instant start = Instant.now();
         log.info("开始获取文章总数，关键词: {}", keyword);
         
-        try {
-            int count;
-            if (keyword != null && !keyword.isEmpty()) {
-                // 搜索时的总数
-                count = postMapper.getPostCountByKeyword(keyword);
-            } else {
-                // 所有文章总数
-                count = postMapper.selectCount(null).intValue();
-            }
-            log.info("文章总数为: {}", count);
-            return count;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取文章总数完成，耗时: {}ms", duration.toMillis());
+        int count;
+        if (keyword != null && !keyword.isEmpty()) {
+            // 搜索时的总数
+            count = postMapper.getPostCountByKeyword(keyword);
+        } else {
+            // 所有文章总数
+            count = postMapper.selectCount(new LambdaQueryWrapper<Post>().isNull(Post::getDeletedAt)).intValue();
         }
+        log.info("文章总数为: {}", count);
+        return count;
     }
     
     @Override
     @Transactional(readOnly = true)
     public List<Post> getAllPostsWithPagination(int offset, int limit) {
-        Instant start = Instant.now();
         log.info("开始获取分页文章，偏移量: {}, 限制数量: {}", offset, limit);
         
-        try {
-            List<Post> posts = postMapper.findAllWithUserPaginated(offset, limit);
-            log.info("获取到{}篇文章", posts.size());
-            return posts;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取分页文章完成，耗时: {}ms", duration.toMillis());
-        }
+        List<Post> posts = postMapper.findAllWithUserPaginated(offset, limit);
+        log.info("获取到{}篇文章", posts.size());
+        return posts;
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<Post> getAdminPostPage(String keyword, KeysetCursor after, int limit) {
+        log.info("开始获取管理后台文章列表，关键词: {}, 限制数量: {}", keyword, limit);
+
+        List<Post> posts = postMapper.findAdminPage(keyword,
+                after == null ? null : after.getCreatedAt(), after == null ? null : after.getId(), limit);
+        log.info("获取到{}篇文章", posts.size());
+        return posts;
     }
     
     @Override
     @Transactional
     public void deletePostByAdmin(Integer postId) {
-        Instant start = Instant.now();
         log.info("管理员开始删除文章，ID: {}", postId);
         
         try {
@@ -310,24 +305,22 @@ public class PostServiceImpl implements PostService {
                 throw new RuntimeException("文章不存在");
             }
             
-            int result = postMapper.deleteById(postId);
+            int result = postMapper.softDelete(postId, LocalDateTime.now());
             if (result != 1) {
                 throw new RuntimeException("删除文章失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.post(postId));
+            siteStatistics.recordDeleted(StatMetric.POSTS, 1);
             log.info("管理员删除文章成功");
         } catch (Exception e) {
             log.error("管理员删除文章时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("管理员删除文章完成，耗时: {}ms", duration.toMillis());
         }
     }
     
     @Override
     @Transactional
     public void hidePost(Integer postId) {
-        Instant start = Instant.now();
         log.info("开始隐藏文章，ID: {}", postId);
         
         try {
@@ -346,20 +339,17 @@ public class PostServiceImpl implements PostService {
             if (result != 1) {
                 throw new RuntimeException("隐藏文章失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.post(postId));
             log.info("文章隐藏成功");
         } catch (Exception e) {
             log.error("隐藏文章时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("隐藏文章完成，耗时: {}ms", duration.toMillis());
         }
     }
     
     @Override
     @Transactional
     public void showPost(Integer postId) {
-        Instant start = Instant.now();
         log.info("开始显示文章，ID: {}", postId);
         
         try {
@@ -378,13 +368,192 @@ public class PostServiceImpl implements PostService {
             if (result != 1) {
                 throw new RuntimeException("显示文章失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.post(postId));
             log.info("文章显示成功");
         } catch (Exception e) {
             log.error("显示文章时发生错误", e);
             throw e;
+        }
+    }
+
+    @Override
+    @Transactional
+    public BulkModerationResultVO setPostsHidden(List<Integer> postIds, boolean hidden) {
+        List<Integer> ids = distinctIds(postIds);
+        log.info("开始批量{}文章，共 {} 个ID", hidden ? "隐藏" : "显示", ids.size());
+
+        BulkModerationResultVO result = new BulkModerationResultVO();
+        result.setAction(hidden ? "hide" : "show");
+        result.setRequested(ids.size());
+        List<Integer> changed = new ArrayList<>();
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Integer> chunk : chunks(ids)) {
+            Map<Integer, Boolean> states = new HashMap<>();
+            for (Post post : postMapper.findModerationStates(chunk)) {
+                states.put(post.getPostId(), Boolean.TRUE.equals(post.getIsHidden()));
+            }
+            postMapper.updateHiddenByIds(chunk, hidden, now);
+            for (Integer id : chunk) {
+                Boolean state = states.get(id);
+                if (state == null) {
+                    result.record(id, BulkModerationResultVO.NOT_FOUND);
+                } else if (state == hidden) {
+                    result.record(id, BulkModerationResultVO.UNCHANGED);
+                } else {
+                    result.record(id, BulkModerationResultVO.UPDATED);
+                    changed.add(id);
+                }
+            }
+        }
+        publishBulkChange(changed);
+        log.info("批量{}文章完成: 更新 {}，未变化 {}，不存在 {}", hidden ? "隐藏" : "显示",
+                result.getSucceeded(), result.getUnchanged(), result.getNotFound());
+        return result;
+    }
+
+    @Override
+    @Transactional
+    public BulkModerationResultVO deletePostsByAdmin(List<Integer> postIds) {
+        List<Integer> ids = distinctIds(postIds);
+        log.info("管理员开始批量删除文章，共 {} 个ID", ids.size());
+
+        BulkModerationResultVO result = new BulkModerationResultVO();
+        result.setAction("delete");
+        result.setRequested(ids.size());
+        List<Integer> deleted = new ArrayList<>();
+        int softDeleted = 0;
+        LocalDateTime now = LocalDateTime.now();
+        for (List<Integer> chunk : chunks(ids)) {
+            List<Integer> existing = new ArrayList<>();
+            for (Post post : postMapper.findModerationStates(chunk)) {
+                existing.add(post.getPostId());
+            }
+            Set<Integer> existingIds = new HashSet<>(existing);
+            if (!existing.isEmpty()) {
+                // 软删除，评论、收藏与消息由后台任务分批清理
+                softDeleted += postMapper.softDeleteByIds(existing, now);
+            }
+            for (Integer id : chunk) {
+                if (existingIds.contains(id)) {
+                    result.record(id, BulkModerationResultVO.DELETED);
+                    deleted.add(id);
+                } else {
+                    result.record(id, BulkModerationResultVO.NOT_FOUND);
+                }
+            }
+        }
+        publishBulkChange(deleted);
+        siteStatistics.recordDeleted(StatMetric.POSTS, softDeleted);
+        log.info("管理员批量删除文章完成: 删除 {}，不存在 {}", result.getSucceeded(), result.getNotFound());
+        return result;
+    }
+
+    private static List<Integer> distinctIds(List<Integer> postIds) {
+        List<Integer> ids = new ArrayList<>(new LinkedHashSet<>(postIds == null ? List.of() : postIds));
+        ids.remove(null);
+        if (ids.size() > MAX_BULK_IDS) {
+            throw new IllegalArgumentException("单次最多处理 " + MAX_BULK_IDS + " 篇文章");
+        }
+        return ids;
+    }
+
+    /**
+     * 按批拆分ID，单条语句的参数个数需低于 SQL Server 的 2100 上限
+     */
+    private static List<List<Integer>> chunks(List<Integer> ids) {
+        List<List<Integer>> chunks = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i += BULK_CHUNK) {
+            chunks.add(ids.subList(i, Math.min(ids.size(), i + BULK_CHUNK)));
+        }
+        return chunks;
+    }
+
+    /**
+     * 少量文章逐篇失效缓存，数量较多时整体失效，避免写入过多失效记录
+     */
+    private void publishBulkChange(List<Integer> postIds) {
+        if (postIds.size() > PER_POST_EVENT_LIMIT) {
+            eventPublisher.publishEvent(ContentChangedEvent.all());
+            return;
+        }
+        for (Integer postId : postIds) {
+            eventPublisher.publishEvent(ContentChangedEvent.post(postId));
+        }
+    }
+
+    /**
+     * 文章或作者资料变更后清除详情缓存（包括其他节点的变更）
+     * 随后放弃进行中的加载：新 ETag 可见后到达的请求不会再加入变更前开始的加载
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentChangedEvent.EVICT_ORDER)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.isUsers()) {
+            postDetailCache.clear();
+            postDetailFlight.forgetAll();
+        } else if (event.getPostId() != null) {
+            postDetailCache.evict(event.getPostId());
+            postDetailFlight.forget(event.getPostId());
+        }
+    }
+
+    /**
+     * 启动后在后台线程为旧数据回填摘录、阅读时长与 HTML，不推迟就绪
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        Thread thread = new Thread(this::backfillDerivedFields, "post-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * 为旧数据回填摘录、阅读时长与 HTML
+     * 多个节点同时启动时只有拿到租约的节点执行，每批之前续期；其他节点直接跳过
+     */
+    public void backfillDerivedFields() {
+        WorkloadType previous = WorkloadContext.set(WorkloadType.ADMIN);
+        try {
+            int total = 0;
+            List<Post> batch;
+            while (jobLease.tryAcquire(BACKFILL_LEASE, BACKFILL_LEASE_SECONDS)
+                    && !(batch = postMapper.findPostsWithoutDerivedFields(BACKFILL_BATCH, markdownService.hashPrefix())).isEmpty()) {
+                int updated = 0;
+                for (Post post : batch) {
+                    applyDerivedFields(post);
+                    updated += postMapper.updateDerivedFields(post);
+                }
+                if (updated == 0) {
+                    // 防止同一批数据被反复选中
+                    break;
+                }
+                total += updated;
+            }
+            if (total > 0) {
+                log.info("文章摘录与 HTML 回填完成，共 {} 篇", total);
+                eventPublisher.publishEvent(ContentChangedEvent.feed());
+            }
+        } catch (Exception e) {
+            log.error("文章摘录与 HTML 回填失败: {}", e.getMessage(), e);
         } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("显示文章完成，耗时: {}ms", duration.toMillis());
+            jobLease.release(BACKFILL_LEASE);
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    /**
+     * 根据正文生成纯文本摘录、阅读时长与 HTML；未提交正文时保持原值
+     */
+    private void applyDerivedFields(Post post) {
+        if (post.getContent() == null) {
+            post.setContentHtml(null);
+            post.setContentHash(null);
+            return;
         }
+        String plainText = ExcerptUtils.toPlainText(post.getContent());
+        post.setExcerpt(ExcerptUtils.excerpt(plainText, ExcerptUtils.DEFAULT_EXCERPT_WIDTH));
+        post.setReadingMinutes(ExcerptUtils.readingMinutes(plainText));
+        post.setContentHtml(markdownService.render(post.getContent()));
+        post.setContentHash(markdownService.contentHash(post.getContent()));
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,122 @@
+package com.example.blogbackend.service.impl;
+
+import com.example.blogbackend.entity.User;
+import com.example.blogbackend.mapper.UserMapper;
+import com.example.blogbackend.service.UserAvailabilityService;
+import com.example.blogbackend.util.BloomFilter;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+
+import java.util.Locale;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Slf4j
+@Service
+public class UserAvailabilityServiceImpl implements UserAvailabilityService {
+    private final UserMapper userMapper;
+    private final long expectedUsers;
+    private final double falsePositiveRate;
+
+    // 当前生效的过滤器；为 null 表示尚未构建完成，此时所有检查都回查数据库
+    private volatile BloomFilter usernameFilter;
+    private volatile BloomFilter emailFilter;
+
+    // 重建期间新注册的用户同时写入正在构建的过滤器，避免替换后丢失
+    private volatile BloomFilter buildingUsernameFilter;
+    private volatile BloomFilter buildingEmailFilter;
+
+    public UserAvailabilityServiceImpl(
+            UserMapper userMapper,
+            @Value("${blog.availability.expected-users:1000000}") long expectedUsers,
+            @Value("${blog.availability.false-positive-rate:0.01}") double falsePositiveRate) {
+        this.userMapper = userMapper;
+        this.expectedUsers = expectedUsers;
+        this.falsePositiveRate = falsePositiveRate;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        try {
+            rebuild();
+        } catch (Exception e) {
+            log.error("构建用户名/邮箱布隆过滤器失败，可用性检查将直接查询数据库", e);
+        }
+    }
+
+    @Override
+    public boolean isUsernameTaken(String username) {
+        String key = normalize(username);
+        if (key.isEmpty()) {
+            return false;
+        }
+        BloomFilter filter = usernameFilter;
+        if (filter != null && !filter.mightContain(key)) {
+            return false;
+        }
+        return userMapper.countByUsername(username.trim()) > 0;
+    }
+
+    @Override
+    public boolean isEmailTaken(String email) {
+        String key = normalize(email);
+        if (key.isEmpty()) {
+            return false;
+        }
+        BloomFilter filter = emailFilter;
+        if (filter != null && !filter.mightContain(key)) {
+            return false;
+        }
+        return userMapper.countByEmail(email.trim()) > 0;
+    }
+
+    @Override
+    public void recordUser(String username, String email) {
+        String usernameKey = normalize(username);
+        String emailKey = normalize(email);
+        put(usernameFilter, usernameKey);
+        put(buildingUsernameFilter, usernameKey);
+        put(emailFilter, emailKey);
+        put(buildingEmailFilter, emailKey);
+    }
+
+    @Override
+    public synchronized void rebuild() {
+        log.info("开始构建用户名/邮箱布隆过滤器，预计用户数: {}, 误判率: {}", expectedUsers, falsePositiveRate);
+        long startTime = System.currentTimeMillis();
+        BloomFilter newUsernameFilter = new BloomFilter(expectedUsers, falsePositiveRate);
+        BloomFilter newEmailFilter = new BloomFilter(expectedUsers, falsePositiveRate);
+        buildingUsernameFilter = newUsernameFilter;
+        buildingEmailFilter = newEmailFilter;
+        try {
+            AtomicLong count = new AtomicLong();
+            userMapper.scanUsernamesAndEmails(context -> {
+                User user = context.getResultObject();
+                put(newUsernameFilter, normalize(user.getUsername()));
+                put(newEmailFilter, normalize(user.getEmail()));
+                count.incrementAndGet();
+            });
+            usernameFilter = newUsernameFilter;
+            emailFilter = newEmailFilter;
+            log.info("布隆过滤器构建完成，用户数: {}, 耗时: {}ms", count.get(), System.currentTimeMillis() - startTime);
+        } finally {
+            buildingUsernameFilter = null;
+            buildingEmailFilter = null;
+        }
+    }
+
+    private static void put(BloomFilter filter, String key) {
+        if (filter != null && !key.isEmpty()) {
+            filter.put(key);
+        }
+    }
+
+    /**
+     * 数据库默认排序规则不区分大小写，过滤器键统一去空格并转小写
+     */
+    private static String normalize(String value) {
+        return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+    }
+}
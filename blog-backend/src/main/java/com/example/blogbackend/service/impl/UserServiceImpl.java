@@ -1,19 +1,30 @@
 package com.example.blogbackend.service.impl;
 
 import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.example.blogbackend.cache.ContentChangedEvent;
+import com.example.blogbackend.cache.TwoTierCache;
 import com.example.blogbackend.entity.User;
+import com.example.blogbackend.mapper.PostMapper;
 import com.example.blogbackend.mapper.UserMapper;
+import com.example.blogbackend.service.UserAvailabilityService;
 import com.example.blogbackend.service.UserService;
+import com.example.blogbackend.stats.SiteStatistics;
+import com.example.blogbackend.stats.StatMetric;
+import com.example.blogbackend.util.KeysetCursor;
+import com.example.blogbackend.vo.AdminUserVO;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.annotation.Order;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
 
-import java.time.Duration;
-import java.time.Instant;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 @Slf4j
@@ -21,60 +32,53 @@ import java.util.List;
 public class UserServiceImpl implements UserService {
 
     private final UserMapper userMapper;
+    private final PostMapper postMapper;
+    private final UserAvailabilityService userAvailabilityService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TwoTierCache<User> userCache;
+    private final SiteStatistics siteStatistics;
 
     @Autowired
-    public UserServiceImpl(UserMapper userMapper) {
+    public UserServiceImpl(UserMapper userMapper, PostMapper postMapper, UserAvailabilityService userAvailabilityService,
+                           ApplicationEventPublisher eventPublisher, TwoTierCache<User> userCache,
+                           SiteStatistics siteStatistics) {
         this.userMapper = userMapper;
+        this.postMapper = postMapper;
+        this.userAvailabilityService = userAvailabilityService;
+        this.eventPublisher = eventPublisher;
+        this.userCache = userCache;
+        this.siteStatistics = siteStatistics;
     }
 
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
-        Instant start = Instant.now();
         log.info("开始根据用户名加载用户: {}", username);
         
-        try {
-            return userMapper.findByUsername(username)
-                    .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("加载用户完成，耗时: {}ms", duration.toMillis());
-        }
+        return userMapper.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("用户不存在: " + username));
     }
 
     @Override
     @Transactional(readOnly = true)
     public User getUserById(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始根据ID获取用户信息: {}", userId);
         
-        try {
-            return userMapper.findByIdWithRoles(userId)
-                    .orElseThrow(() -> new UsernameNotFoundException("用户不存在，ID: " + userId));
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取用户信息完成，耗时: {}ms", duration.toMillis());
-        }
+        return userCache.get(userId, () -> userMapper.findByIdWithRoles(userId)
+                .orElseThrow(() -> new UsernameNotFoundException("用户不存在，ID: " + userId)));
     }
 
     @Override
     @Transactional(readOnly = true)
     public User getUserByEmail(String email) {
-        Instant start = Instant.now();
         log.info("开始根据邮箱获取用户信息: {}", email);
         
-        try {
-            return userMapper.findByEmail(email)
-                    .orElseThrow(() -> new UsernameNotFoundException("用户不存在，邮箱: " + email));
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取用户信息完成，耗时: {}ms", duration.toMillis());
-        }
+        return userMapper.findByEmail(email)
+                .orElseThrow(() -> new UsernameNotFoundException("用户不存在，邮箱: " + email));
     }
 
     @Override
     @Transactional
     public User updateUser(User user) {
-        Instant start = Instant.now();
         log.info("开始更新用户信息，用户ID: {}", user.getUserId());
         
         try {
@@ -83,94 +87,66 @@ public class UserServiceImpl implements UserService {
             if (result != 1) {
                 throw new RuntimeException("更新用户信息失败，用户ID: " + user.getUserId());
             }
+            userAvailabilityService.recordUser(user.getUsername(), user.getEmail());
+            // 文章详情与列表中带有作者用户名和头像
+            eventPublisher.publishEvent(ContentChangedEvent.users(user.getUserId()));
             log.info("用户信息更新成功");
             return userMapper.findByIdWithRoles(user.getUserId())
                     .orElseThrow(() -> new RuntimeException("无法获取更新后的用户信息"));
         } catch (Exception e) {
             log.error("更新用户信息时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("更新用户信息完成，耗时: {}ms", duration.toMillis());
         }
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean isEmailExists(String email) {
-        Instant start = Instant.now();
         log.info("开始检查邮箱是否存在: {}", email);
         
-        try {
-            int count = userMapper.countByEmail(email);
-            return count > 0;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("检查邮箱完成，耗时: {}ms", duration.toMillis());
-        }
+        return userAvailabilityService.isEmailTaken(email);
     }
 
     @Override
     @Transactional(readOnly = true)
     public boolean isUsernameExists(String username) {
-        Instant start = Instant.now();
         log.info("开始检查用户名是否存在: {}", username);
         
-        try {
-            int count = userMapper.countByUsername(username);
-            return count > 0;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("检查用户名完成，耗时: {}ms", duration.toMillis());
-        }
+        return userAvailabilityService.isUsernameTaken(username);
     }
 
     @Override
     @Transactional(readOnly = true)
-    public List<User> getAllUsersWithRoles(String keyword, int offset, int limit) {
-        Instant start = Instant.now();
-        log.info("开始获取所有用户列表，关键词: {}, 偏移量: {}, 限制数量: {}", keyword, offset, limit);
-        
-        try {
-            List<User> users;
-            if (keyword != null && !keyword.isEmpty()) {
-                users = userMapper.findByKeywordWithRoles(keyword, offset, limit);
-            } else {
-                users = userMapper.findAllWithRoles(offset, limit);
-            }
-            log.info("获取到{}个用户", users.size());
-            return users;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取用户列表完成，耗时: {}ms", duration.toMillis());
-        }
-    }
-    
-    @Override
-    @Transactional(readOnly = true)
-    public int getUserCount(String keyword) {
-        Instant start = Instant.now();
-        log.info("开始获取用户总数，关键词: {}", keyword);
-        
-        try {
-            int count;
-            if (keyword != null && !keyword.isEmpty()) {
-                count = userMapper.countByKeyword(keyword);
-            } else {
-                count = userMapper.selectCount(null).intValue();
-            }
-            log.info("用户总数为: {}", count);
-            return count;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("获取用户总数完成，耗时: {}ms", duration.toMillis());
+    public List<AdminUserVO> getAdminUserPage(String keyword, KeysetCursor after, int limit) {
+        log.info("开始获取用户列表，关键词: {}, 限制数量: {}", keyword, limit);
+
+        List<User> users = userMapper.findAdminPage(keyword,
+                after == null ? null : after.getCreatedAt(), after == null ? null : after.getId(), limit);
+        List<AdminUserVO> result = new ArrayList<>(users.size());
+        for (User user : users) {
+            // 没有角色记录的用户按普通用户处理，与 User.getAuthorities 一致
+            List<String> roles = user.getRolesCache() == null || user.getRolesCache().isEmpty()
+                    ? List.of("ROLE_USER")
+                    : Arrays.asList(user.getRolesCache().split(","));
+            AdminUserVO vo = new AdminUserVO();
+            vo.setUserId(user.getUserId());
+            vo.setUsername(user.getUsername());
+            vo.setEmail(user.getEmail());
+            vo.setAvatar(user.getAvatar());
+            vo.setBio(user.getBio());
+            vo.setCreatedAt(user.getCreatedAt());
+            vo.setRoles(roles);
+            vo.setIsAdmin(roles.contains("ROLE_ADMIN"));
+            vo.setDisabled(Boolean.TRUE.equals(user.getDisabled()));
+            result.add(vo);
         }
+        log.info("获取到{}个用户", result.size());
+        return result;
     }
     
     @Override
     @Transactional
     public void disableUser(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始禁用用户，ID: {}", userId);
         
         try {
@@ -187,20 +163,17 @@ public class UserServiceImpl implements UserService {
             if (result != 1) {
                 throw new RuntimeException("禁用用户失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.account(userId));
             log.info("用户已禁用");
         } catch (Exception e) {
             log.error("禁用用户时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("禁用用户完成，耗时: {}ms", duration.toMillis());
         }
     }
     
     @Override
     @Transactional
     public void enableUser(Integer userId) {
-        Instant start = Instant.now();
         log.info("开始启用用户，ID: {}", userId);
         
         try {
@@ -209,6 +182,9 @@ public class UserServiceImpl implements UserService {
                 log.warn("用户不存在，ID: {}", userId);
                 throw new UsernameNotFoundException("用户不存在，ID: " + userId);
             }
+            if (user.getDeletedAt() != null) {
+                throw new RuntimeException("用户已删除，无法启用");
+            }
             
             user.setDisabled(false);
             user.setUpdatedAt(LocalDateTime.now());
@@ -217,13 +193,47 @@ public class UserServiceImpl implements UserService {
             if (result != 1) {
                 throw new RuntimeException("启用用户失败");
             }
+            eventPublisher.publishEvent(ContentChangedEvent.account(userId));
             log.info("用户已启用");
         } catch (Exception e) {
             log.error("启用用户时发生错误", e);
             throw e;
-        } finally {
-            Duration duration = Duration.between(start, Instant.now());
-            log.info("启用用户完成，耗时: {}ms", duration.toMillis());
+        }
+    }
+
+    @Override
+    @Transactional
+    public void deleteUser(Integer userId) {
+        log.info("开始删除用户，ID: {}", userId);
+
+        try {
+            LocalDateTime now = LocalDateTime.now();
+            if (userMapper.softDelete(userId, now) != 1) {
+                log.warn("用户不存在或已删除，ID: {}", userId);
+                throw new UsernameNotFoundException("用户不存在，ID: " + userId);
+            }
+            // 文章随用户一起下线，评论、收藏等依赖数据由后台任务分批清理
+            int posts = postMapper.softDeleteByUserId(userId, now);
+            eventPublisher.publishEvent(ContentChangedEvent.all());
+            siteStatistics.recordDeleted(StatMetric.USERS, 1);
+            siteStatistics.recordDeleted(StatMetric.POSTS, posts);
+            log.info("用户已删除，同时下线文章 {} 篇，等待后台清理", posts);
+        } catch (Exception e) {
+            log.error("删除用户时发生错误", e);
+            throw e;
+        }
+    }
+
+    /**
+     * 用户资料或账号状态变更后清除缓存（包括其他节点的变更）
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    @Order(ContentChangedEvent.EVICT_ORDER)
+    public void onContentChanged(ContentChangedEvent event) {
+        if (event.getUserId() != null) {
+            userCache.evict(event.getUserId());
+        } else if (event.isUsers()) {
+            userCache.clear();
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,321 @@
+package com.example.blogbackend.stats;
+
+import com.example.blogbackend.datasource.WorkloadContext;
+import com.example.blogbackend.datasource.WorkloadType;
+import com.example.blogbackend.entity.DailyStat;
+import com.example.blogbackend.entity.SiteStat;
+import com.example.blogbackend.mapper.StatsMapper;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.annotation.PreDestroy;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongConsumer;
+
+/**
+ * 管理后台统计：总量与按天新增
+ * 写操作提交后只累加内存中的 LongAdder，定时把增量以 MERGE 合并进 SiteStats / DailyStats，
+ * 多个节点各自合并增量互不覆盖；读取时只查统计表的少量行，不再对 Posts、Comments 等大表 COUNT(*)
+ * 活跃用户先在本节点按天去重，再写入 DailyActiveUsers，由主键保证跨节点去重；
+ * 每天的人数合并进 DailyStats 后，DailyActiveUsers 只保留最近几天用于去重
+ */
+@Slf4j
+@Component
+public class SiteStatistics {
+    private static final int ACTIVE_USER_CHUNK = 500;
+    private static final int ACTIVE_USER_PURGE_BATCH = 5000;
+
+    private final StatsMapper statsMapper;
+    private final boolean enabled;
+    private final int maxDays;
+    private final int activeUserRetentionDays;
+    private final Map<StatMetric, LongAdder> pendingTotals = new ConcurrentHashMap<>();
+    private final Map<LocalDate, Map<StatMetric, LongAdder>> pendingDaily = new ConcurrentHashMap<>();
+    /**
+     * 本节点当天已记录过的活跃用户，跨天后丢弃
+     */
+    private final Map<LocalDate, Set<Integer>> activeSeen = new ConcurrentHashMap<>();
+    /**
+     * 等待写入 DailyActiveUsers 的活跃用户
+     */
+    private final Map<LocalDate, Queue<Integer>> pendingActive = new ConcurrentHashMap<>();
+    private final ReentrantLock checkpointLock = new ReentrantLock();
+
+    private volatile LocalDateTime lastCheckpointAt;
+    private volatile String lastError;
+
+    public SiteStatistics(
+            StatsMapper statsMapper,
+            @Value("${blog.stats.enabled:true}") boolean enabled,
+            @Value("${blog.stats.max-days:365}") int maxDays,
+            @Value("${blog.stats.active-user-retention-days:7}") int activeUserRetentionDays) {
+        this.statsMapper = statsMapper;
+        this.enabled = enabled;
+        this.maxDays = maxDays;
+        // 跨零点提交的事务仍会记到昨天，至少保留今天和昨天
+        this.activeUserRetentionDays = Math.max(2, activeUserRetentionDays);
+    }
+
+    /**
+     * 记录新增：总量与当天新增各加一
+     */
+    public void recordCreated(StatMetric metric) {
+        afterCommit(() -> {
+            pendingTotals.computeIfAbsent(metric, k -> new LongAdder()).increment();
+            daily(LocalDate.now(), metric).increment();
+        });
+    }
+
+    /**
+     * 记录删除：只减少总量，按天统计的是当天新增，不回退
+     */
+    public void recordDeleted(StatMetric metric, long count) {
+        if (count <= 0) {
+            return;
+        }
+        afterCommit(() -> pendingTotals.computeIfAbsent(metric, k -> new LongAdder()).add(-count));
+    }
+
+    /**
+     * 记录当天活跃的用户（登录或发生写操作）
+     */
+    public void recordActive(Integer userId) {
+        if (userId == null) {
+            return;
+        }
+        afterCommit(() -> {
+            LocalDate today = LocalDate.now();
+            if (activeSeen.computeIfAbsent(today, k -> ConcurrentHashMap.newKeySet()).add(userId)) {
+                pendingActive.computeIfAbsent(today, k -> new ConcurrentLinkedQueue<>()).add(userId);
+            }
+        });
+    }
+
+    /**
+     * 统计概览：总量与最近 days 天的按天新增
+     * 本节点尚未合并的增量一并计入，其他节点的增量最多延迟一个合并周期
+     */
+    public Map<String, Object> overview(int days) {
+        int range = Math.max(1, Math.min(days, maxDays));
+        LocalDate today = LocalDate.now();
+        LocalDate since = today.minusDays(range - 1L);
+
+        Map<StatMetric, Long> totals = new EnumMap<>(StatMetric.class);
+        for (SiteStat stat : statsMapper.findTotals()) {
+            StatMetric metric = parse(stat.getMetric());
+            if (metric != null) {
+                totals.merge(metric, value(stat.getTotal()), Long::sum);
+            }
+        }
+        pendingTotals.forEach((metric, adder) -> totals.merge(metric, adder.sum(), Long::sum));
+
+        Map<LocalDate, Map<StatMetric, Long>> daily = new TreeMap<>();
+        for (LocalDate date = since; !date.isAfter(today); date = date.plusDays(1)) {
+            daily.put(date, new EnumMap<>(StatMetric.class));
+        }
+        for (DailyStat stat : statsMapper.findDailySince(since)) {
+            StatMetric metric = parse(stat.getMetric());
+            Map<StatMetric, Long> day = daily.get(stat.getStatDate());
+            if (metric != null && day != null) {
+                day.merge(metric, value(stat.getTotal()), Long::sum);
+            }
+        }
+        pendingDaily.forEach((date, adders) -> {
+            Map<StatMetric, Long> day = daily.get(date);
+            if (day != null) {
+                adders.forEach((metric, adder) -> day.merge(metric, adder.sum(), Long::sum));
+            }
+        });
+
+        Map<String, Object> totalsView = new LinkedHashMap<>();
+        for (StatMetric metric : StatMetric.values()) {
+            if (metric != StatMetric.ACTIVE_USERS) {
+                totalsView.put(metric.getKey(), totals.getOrDefault(metric, 0L));
+            }
+        }
+        List<Map<String, Object>> dailyView = new ArrayList<>();
+        daily.forEach((date, values) -> {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("date", date.toString());
+            for (StatMetric metric : StatMetric.values()) {
+                row.put(metric.getKey(), values.getOrDefault(metric, 0L));
+            }
+            dailyView.add(row);
+        });
+
+        Map<String, Object> overview = new LinkedHashMap<>();
+        overview.put("totals", totalsView);
+        overview.put("daily", dailyView);
+        overview.put("days", range);
+        overview.put("lastCheckpointAt", lastCheckpointAt);
+        overview.put("lastError", lastError);
+        return overview;
+    }
+
+    /**
+     * 定时把内存中的增量合并进统计表；某一项写入失败时增量放回，下一轮重试
+     */
+    @Scheduled(fixedDelayString = "${blog.stats.checkpoint-interval-ms:10000}")
+    public void checkpoint() {
+        if (!enabled) {
+            return;
+        }
+        checkpointLock.lock();
+        WorkloadType previous = WorkloadContext.set(WorkloadType.ADMIN);
+        try {
+            // 活跃用户先落表，得到的新增人数随按天统计一起合并
+            flushActiveUsers();
+            LocalDateTime now = LocalDateTime.now();
+            for (Map.Entry<StatMetric, LongAdder> entry : pendingTotals.entrySet()) {
+                flush(entry.getValue(), delta -> statsMapper.mergeTotal(entry.getKey().name(), delta, now));
+            }
+            for (Map.Entry<LocalDate, Map<StatMetric, LongAdder>> day : pendingDaily.entrySet()) {
+                for (Map.Entry<StatMetric, LongAdder> entry : day.getValue().entrySet()) {
+                    flush(entry.getValue(), delta -> statsMapper.mergeDaily(day.getKey(), entry.getKey().name(), delta));
+                }
+            }
+            pruneBefore(LocalDate.now().minusDays(1));
+            lastCheckpointAt = now;
+            lastError = null;
+        } catch (Exception e) {
+            log.warn("合并统计增量失败: {}", e.getMessage());
+            lastError = e.getMessage();
+        } finally {
+            WorkloadContext.restore(previous);
+            checkpointLock.unlock();
+        }
+    }
+
+    /**
+     * 每天分批清理超过保留期的活跃用户记录
+     */
+    @Scheduled(cron = "${blog.stats.active-user-purge-cron:0 23 3 * * *}")
+    public void purgeActiveUsers() {
+        if (!enabled) {
+            return;
+        }
+        WorkloadType previous = WorkloadContext.set(WorkloadType.ADMIN);
+        try {
+            LocalDate before = LocalDate.now().minusDays(activeUserRetentionDays - 1L);
+            long total = 0;
+            int deleted;
+            do {
+                deleted = statsMapper.deleteActiveUsersBefore(before, ACTIVE_USER_PURGE_BATCH);
+                total += deleted;
+            } while (deleted == ACTIVE_USER_PURGE_BATCH);
+            if (total > 0) {
+                log.info("清理 {} 之前的活跃用户记录 {} 条", before, total);
+            }
+        } catch (Exception e) {
+            log.warn("清理活跃用户记录失败: {}", e.getMessage());
+        } finally {
+            WorkloadContext.restore(previous);
+        }
+    }
+
+    /**
+     * 停机前合并剩余的增量
+     */
+    @PreDestroy
+    public void shutdown() {
+        checkpoint();
+    }
+
+    private void flushActiveUsers() {
+        for (Map.Entry<LocalDate, Queue<Integer>> entry : pendingActive.entrySet()) {
+            Queue<Integer> queue = entry.getValue();
+            while (!queue.isEmpty()) {
+                Set<Integer> chunk = new LinkedHashSet<>();
+                Integer userId;
+                while (chunk.size() < ACTIVE_USER_CHUNK && (userId = queue.poll()) != null) {
+                    chunk.add(userId);
+                }
+                if (chunk.isEmpty()) {
+                    break;
+                }
+                try {
+                    int inserted = statsMapper.insertActiveUsers(entry.getKey(), new ArrayList<>(chunk));
+                    daily(entry.getKey(), StatMetric.ACTIVE_USERS).add(inserted);
+                } catch (RuntimeException e) {
+                    // 其他节点同时写入同一用户时主键冲突，下一轮重试会跳过已存在的行
+                    queue.addAll(chunk);
+                    throw e;
+                }
+            }
+        }
+    }
+
+    private static void flush(LongAdder adder, LongConsumer write) {
+        long delta = adder.sumThenReset();
+        if (delta == 0) {
+            return;
+        }
+        try {
+            write.accept(delta);
+        } catch (RuntimeException e) {
+            adder.add(delta);
+            throw e;
+        }
+    }
+
+    /**
+     * 丢弃已合并完的过期日期；保留昨天，跨零点提交的事务仍可能记到昨天
+     */
+    private void pruneBefore(LocalDate date) {
+        pendingDaily.entrySet().removeIf(entry -> entry.getKey().isBefore(date)
+                && entry.getValue().values().stream().allMatch(adder -> adder.sum() == 0));
+        pendingActive.entrySet().removeIf(entry -> entry.getKey().isBefore(date) && entry.getValue().isEmpty());
+        activeSeen.keySet().removeIf(day -> day.isBefore(date));
+    }
+
+    private LongAdder daily(LocalDate date, StatMetric metric) {
+        return pendingDaily.computeIfAbsent(date, k -> new ConcurrentHashMap<>())
+                .computeIfAbsent(metric, k -> new LongAdder());
+    }
+
+    /**
+     * 在事务提交后执行，回滚的写操作不计入统计；没有事务时立即执行
+     */
+    private static void afterCommit(Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    private static StatMetric parse(String metric) {
+        try {
+            return StatMetric.valueOf(metric);
+        } catch (IllegalArgumentException | NullPointerException e) {
+            return null;
+        }
+    }
+
+    private static long value(Long total) {
+        return total == null ? 0 : total;
+    }
+}
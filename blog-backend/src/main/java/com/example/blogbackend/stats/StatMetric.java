@@ -0,0 +1,26 @@
+package com.example.blogbackend.stats;
+
+/**
+ * 管理后台统计指标，name() 即统计表中的 Metric 列
+ * 总量记录当前存量；按天记录当天新增，其中 USERS 为当天注册数，ACTIVE_USERS 只有按天的值
+ */
+public enum StatMetric {
+    POSTS("posts"),
+    COMMENTS("comments"),
+    FAVORITES("favorites"),
+    USERS("users"),
+    ACTIVE_USERS("activeUsers");
+
+    private final String key;
+
+    StatMetric(String key) {
+        this.key = key;
+    }
+
+    /**
+     * 接口返回中使用的字段名
+     */
+    public String getKey() {
+        return key;
+    }
+}
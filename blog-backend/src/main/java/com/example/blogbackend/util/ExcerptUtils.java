@@ -0,0 +1,149 @@
+package com.example.blogbackend.util;
+
+import java.util.regex.Pattern;
+
+/**
+ * 文章摘录与阅读时长
+ * 从 Markdown/HTML 正文中提取纯文本，按显示宽度截取（中日韩字符按 2 计，其余按 1 计），
+ * 并按中文 300 字/分钟、英文 200 词/分钟估算阅读时长
+ */
+public final class ExcerptUtils {
+    /**
+     * 默认摘录宽度，约 120 个汉字
+     */
+    public static final int DEFAULT_EXCERPT_WIDTH = 240;
+
+    private static final int CJK_CHARS_PER_MINUTE = 300;
+    private static final int WORDS_PER_MINUTE = 200;
+
+    private static final Pattern FENCED_CODE = Pattern.compile("(?ms)^\\s*(```|~~~).*?^\\s*\\1[^\\n]*$");
+    private static final Pattern HTML_COMMENT = Pattern.compile("(?s)<!--.*?-->");
+    private static final Pattern HTML_BLOCK = Pattern.compile("(?is)<(script|style)[^>]*>.*?</\\1>");
+    private static final Pattern HTML_TAG = Pattern.compile("<[^>]+>");
+    private static final Pattern IMAGE = Pattern.compile("!\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern LINK = Pattern.compile("\\[([^\\]]*)\\]\\([^)]*\\)");
+    private static final Pattern REFERENCE_DEFINITION = Pattern.compile("(?m)^\\s*\\[[^\\]]+\\]:\\s*\\S+.*$");
+    private static final Pattern INLINE_CODE = Pattern.compile("`([^`]*)`");
+    private static final Pattern LINE_MARKERS = Pattern.compile("(?m)^\\s{0,3}(#{1,6}\\s+|>\\s?|[-*+]\\s+|\\d+[.)]\\s+|[-*_]{3,}\\s*$|\\|)");
+    private static final Pattern EMPHASIS = Pattern.compile("(\\*{1,3}|_{2,3}|~~)(\\S(?:.*?\\S)?)\\1");
+    private static final Pattern TABLE_SEPARATOR = Pattern.compile("(?m)^[\\s|:-]+$");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private ExcerptUtils() {
+    }
+
+    /**
+     * 去掉 Markdown 标记与 HTML 标签，返回单行纯文本（代码块整体去掉）
+     */
+    public static String toPlainText(String content) {
+        if (content == null || content.isEmpty()) {
+            return "";
+        }
+        String text = FENCED_CODE.matcher(content).replaceAll(" ");
+        text = HTML_COMMENT.matcher(text).replaceAll(" ");
+        text = HTML_BLOCK.matcher(text).replaceAll(" ");
+        text = HTML_TAG.matcher(text).replaceAll(" ");
+        text = IMAGE.matcher(text).replaceAll("$1");
+        text = LINK.matcher(text).replaceAll("$1");
+        text = REFERENCE_DEFINITION.matcher(text).replaceAll(" ");
+        text = INLINE_CODE.matcher(text).replaceAll("$1");
+        text = TABLE_SEPARATOR.matcher(text).replaceAll(" ");
+        text = LINE_MARKERS.matcher(text).replaceAll("");
+        text = EMPHASIS.matcher(text).replaceAll("$2");
+        text = text.replace("|", " ")
+                .replace("&nbsp;", " ")
+                .replace("&lt;", "<")
+                .replace("&gt;", ">")
+                .replace("&quot;", "\"")
+                .replace("&#39;", "'")
+                .replace("&amp;", "&");
+        return WHITESPACE.matcher(text).replaceAll(" ").trim();
+    }
+
+    /**
+     * 按显示宽度截取纯文本，超出时在词或标点边界处截断并追加省略号
+     * @param plainText toPlainText 的结果
+     * @param maxWidth 最大显示宽度
+     */
+    public static String excerpt(String plainText, int maxWidth) {
+        if (plainText == null || plainText.isEmpty()) {
+            return "";
+        }
+        int width = 0;
+        int end = 0;
+        int lastBreak = -1;
+        while (end < plainText.length()) {
+            int codePoint = plainText.codePointAt(end);
+            int next = end + Character.charCount(codePoint);
+            width += isWide(codePoint) ? 2 : 1;
+            if (width > maxWidth) {
+                break;
+            }
+            // 中日韩字符之间、空白与标点之后都可以断开
+            if (isWide(codePoint) || Character.isWhitespace(codePoint) || isPunctuation(codePoint)) {
+                lastBreak = next;
+            }
+            end = next;
+        }
+        if (end >= plainText.length()) {
+            return plainText;
+        }
+        // 避免截断英文单词，但不为此丢掉太多内容
+        int cut = lastBreak > end / 2 ? lastBreak : end;
+        return plainText.substring(0, cut).trim() + "…";
+    }
+
+    /**
+     * 估算阅读时长（分钟，至少 1 分钟）
+     */
+    public static int readingMinutes(String plainText) {
+        if (plainText == null || plainText.isEmpty()) {
+            return 1;
+        }
+        long cjkChars = 0;
+        long words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < plainText.length(); ) {
+            int codePoint = plainText.codePointAt(i);
+            i += Character.charCount(codePoint);
+            if (isWide(codePoint)) {
+                cjkChars++;
+                inWord = false;
+            } else if (Character.isLetterOrDigit(codePoint)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                inWord = false;
+            }
+        }
+        double minutes = (double) cjkChars / CJK_CHARS_PER_MINUTE + (double) words / WORDS_PER_MINUTE;
+        return Math.max(1, (int) Math.ceil(minutes));
+    }
+
+    private static boolean isWide(int codePoint) {
+        Character.UnicodeScript script = Character.UnicodeScript.of(codePoint);
+        if (script == Character.UnicodeScript.HAN
+                || script == Character.UnicodeScript.HIRAGANA
+                || script == Character.UnicodeScript.KATAKANA
+                || script == Character.UnicodeScript.HANGUL) {
+            return true;
+        }
+        Character.UnicodeBlock block = Character.UnicodeBlock.of(codePoint);
+        return block == Character.UnicodeBlock.CJK_SYMBOLS_AND_PUNCTUATION
+                || block == Character.UnicodeBlock.HALFWIDTH_AND_FULLWIDTH_FORMS;
+    }
+
+    private static boolean isPunctuation(int codePoint) {
+        switch (Character.getType(codePoint)) {
+            case Character.OTHER_PUNCTUATION:
+            case Character.END_PUNCTUATION:
+            case Character.FINAL_QUOTE_PUNCTUATION:
+            case Character.DASH_PUNCTUATION:
+                return true;
+            default:
+                return false;
+        }
+    }
+}
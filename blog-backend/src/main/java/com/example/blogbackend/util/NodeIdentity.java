@@ -0,0 +1,22 @@
+package com.example.blogbackend.util;
+
+import java.net.InetAddress;
+import java.util.UUID;
+
+/**
+ * 当前进程的节点标识（主机名 + 随机后缀），用于跨节点的失效记录与任务租约
+ */
+public final class NodeIdentity {
+    public static final String ID = hostName() + "-" + UUID.randomUUID().toString().substring(0, 8);
+
+    private NodeIdentity() {
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (Exception e) {
+            return "node";
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package com.example.blogbackend.vo;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * 管理后台用户列表的一行
+ */
+@Data
+public class AdminUserVO {
+    private Integer userId;
+    private String username;
+    private String email;
+    private String avatar;
+    private String bio;
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime createdAt;
+    private List<String> roles;
+    private Boolean isAdmin;
+    private Boolean disabled;
+}
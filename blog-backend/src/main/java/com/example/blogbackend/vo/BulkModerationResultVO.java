@@ -0,0 +1,39 @@
+package com.example.blogbackend.vo;
+
+import lombok.Data;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * 批量审核结果，results 按请求顺序给出每个文章ID的处理结果
+ */
+@Data
+public class BulkModerationResultVO {
+    public static final String UPDATED = "updated";
+    public static final String DELETED = "deleted";
+    public static final String UNCHANGED = "unchanged";
+    public static final String NOT_FOUND = "not_found";
+
+    private String action;
+    private int requested;
+    private int succeeded;
+    private int unchanged;
+    private int notFound;
+    private Map<Integer, String> results = new LinkedHashMap<>();
+
+    public void record(Integer postId, String outcome) {
+        results.put(postId, outcome);
+        switch (outcome) {
+            case UPDATED:
+            case DELETED:
+                succeeded++;
+                break;
+            case UNCHANGED:
+                unchanged++;
+                break;
+            default:
+                notFound++;
+        }
+    }
+}
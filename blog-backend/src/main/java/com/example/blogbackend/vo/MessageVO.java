@@ -1,5 +1,6 @@
 package com.example.blogbackend.vo;
 
+import com.example.blogbackend.entity.Message;
 import lombok.Data;
 import java.time.LocalDateTime;
 
@@ -13,4 +14,31 @@ public class MessageVO {
     private Integer postId;
     private LocalDateTime createdAt;
     private boolean isRead;
+
+    /**
+     * 将消息实体转换为前端展示用的 VO
+     */
+    public static MessageVO fromMessage(Message message) {
+        MessageVO vo = new MessageVO();
+        vo.setId(message.getMessageId());
+        vo.setType(message.getType() != null ? message.getType() : "unknown");
+        vo.setPostId(message.getPostId());
+        vo.setCreatedAt(message.getCreatedAt());
+        vo.setRead(message.getIsRead() != null ? message.getIsRead() : false);
+        
+        // 设置消息内容
+        vo.setTitle(message.getPostTitle() != null ? message.getPostTitle() : "未知文章");
+        // 我们没有发送者名称，这里设置一个默认值
+        vo.setAuthor("系统通知");
+        
+        // 根据消息类型设置内容
+        if ("comment".equals(message.getType())) {
+            vo.setContent("有人评论了您的文章");
+        } else if ("favorite".equals(message.getType())) {
+            vo.setContent("有人收藏了您的文章");
+        } else {
+            vo.setContent("新消息");
+        }
+        return vo;
+    }
 } 
\ No newline at end of file
@@ -160,4 +160,101 @@ ADD Disabled BIT NOT NULL DEFAULT 0;
 
 -- 添加文章隐藏字段
 ALTER TABLE Posts
-ADD IsHidden BIT NOT NULL DEFAULT 0;
\ No newline at end of file
+ADD IsHidden BIT NOT NULL DEFAULT 0;
+
+-- 添加文章摘录与阅读时长字段（写入时由正文生成）
+ALTER TABLE Posts
+ADD Excerpt NVARCHAR(300),
+    ReadingMinutes INT;
+
+-- 添加服务端渲染的正文 HTML 及其内容哈希
+ALTER TABLE Posts
+ADD ContentHtml NVARCHAR(MAX),
+    ContentHash NVARCHAR(80);
+
+-- 跨节点缓存失效记录（各节点按 InvalidationId 轮询）
+CREATE TABLE CacheInvalidations (
+    InvalidationId BIGINT IDENTITY(1,1) PRIMARY KEY,
+    PostId INT NULL,
+    UserId INT NULL,
+    Scopes NVARCHAR(50) NOT NULL DEFAULT '',
+    SourceNode NVARCHAR(100) NOT NULL,
+    CreatedAt DATETIME2 NOT NULL DEFAULT GETDATE()
+);
+CREATE INDEX IX_CacheInvalidations_CreatedAt ON CacheInvalidations(CreatedAt);
+
+-- 复制心跳（读写分离时检测副本延迟，BeatAt 为应用写入的毫秒时间戳）
+CREATE TABLE ReplicationHeartbeat (
+    Id INT PRIMARY KEY,
+    BeatAt BIGINT NOT NULL
+);
+INSERT INTO ReplicationHeartbeat (Id, BeatAt) VALUES (1, 0);
+
+-- 任务租约：多节点部署时一次性后台任务（如旧文章回填）只由持有租约的节点执行
+CREATE TABLE JobLeases (
+    Name NVARCHAR(64) PRIMARY KEY,
+    Owner NVARCHAR(100) NOT NULL,
+    ExpiresAt DATETIME2 NOT NULL
+);
+
+-- 软删除：删除文章/用户时只写入 DeletedAt，依赖行由后台任务分批清理后再物理删除
+ALTER TABLE Posts
+ADD DeletedAt DATETIME2 NULL;
+
+ALTER TABLE Users
+ADD DeletedAt DATETIME2 NULL;
+
+CREATE INDEX IX_Posts_DeletedAt ON Posts(DeletedAt) WHERE DeletedAt IS NOT NULL;
+CREATE INDEX IX_Users_DeletedAt ON Users(DeletedAt) WHERE DeletedAt IS NOT NULL;
+-- 删除评论时需要按 CommentId 查找引用它的消息
+CREATE INDEX IX_Messages_CommentId ON Messages(CommentId);
+
+-- 用户角色投影（逗号分隔的角色名），角色变更时刷新，管理后台用户列表不再逐行聚合 UserRoles
+ALTER TABLE Users
+ADD RolesCache NVARCHAR(200) NULL;
+
+UPDATE u
+SET u.RolesCache = (SELECT STRING_AGG(r.RoleName, ',') FROM UserRoles ur
+                    JOIN Roles r ON ur.RoleId = r.RoleId
+                    WHERE ur.UserId = u.UserId)
+FROM Users u;
+
+-- 管理后台按 (CreatedAt, Id) 游标分页
+CREATE INDEX IX_Posts_CreatedAt_PostId ON Posts(CreatedAt DESC, PostId DESC) WHERE DeletedAt IS NULL;
+CREATE INDEX IX_Users_CreatedAt_UserId ON Users(CreatedAt DESC, UserId DESC) WHERE DeletedAt IS NULL;
+
+-- 管理后台统计：各节点定时把内存中的增量 MERGE 进来，读取时不再扫描大表
+CREATE TABLE SiteStats (
+    Metric NVARCHAR(32) PRIMARY KEY,
+    Total BIGINT NOT NULL DEFAULT 0,
+    UpdatedAt DATETIME2 NOT NULL DEFAULT GETDATE()
+);
+
+CREATE TABLE DailyStats (
+    StatDate DATE NOT NULL,
+    Metric NVARCHAR(32) NOT NULL,
+    Total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (StatDate, Metric)
+);
+
+-- 每天的活跃用户（登录或发生写操作），主键保证同一用户每天只计一次
+CREATE TABLE DailyActiveUsers (
+    StatDate DATE NOT NULL,
+    UserId INT NOT NULL,
+    PRIMARY KEY (StatDate, UserId)
+);
+
+-- 上线时按现有数据统计一次，之后只做增量合并
+INSERT INTO SiteStats (Metric, Total) SELECT 'POSTS', COUNT_BIG(*) FROM Posts WHERE DeletedAt IS NULL;
+INSERT INTO SiteStats (Metric, Total) SELECT 'COMMENTS', COUNT_BIG(*) FROM Comments;
+INSERT INTO SiteStats (Metric, Total) SELECT 'FAVORITES', COUNT_BIG(*) FROM Favorites;
+INSERT INTO SiteStats (Metric, Total) SELECT 'USERS', COUNT_BIG(*) FROM Users WHERE DeletedAt IS NULL;
+
+INSERT INTO DailyStats (StatDate, Metric, Total)
+SELECT CAST(CreatedAt AS DATE), 'POSTS', COUNT_BIG(*) FROM Posts GROUP BY CAST(CreatedAt AS DATE);
+INSERT INTO DailyStats (StatDate, Metric, Total)
+SELECT CAST(CreatedAt AS DATE), 'COMMENTS', COUNT_BIG(*) FROM Comments GROUP BY CAST(CreatedAt AS DATE);
+INSERT INTO DailyStats (StatDate, Metric, Total)
+SELECT CAST(CreatedAt AS DATE), 'FAVORITES', COUNT_BIG(*) FROM Favorites GROUP BY CAST(CreatedAt AS DATE);
+INSERT INTO DailyStats (StatDate, Metric, Total)
+SELECT CAST(CreatedAt AS DATE), 'USERS', COUNT_BIG(*) FROM Users GROUP BY CAST(CreatedAt AS DATE);
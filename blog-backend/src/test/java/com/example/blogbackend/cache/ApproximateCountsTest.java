@@ -0,0 +1,53 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.exception.DeadlineExceededException;
+import com.example.blogbackend.mapper.PostMapper;
+import com.example.blogbackend.mapper.UserMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.BadSqlGrammarException;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ApproximateCountsTest {
+    private final PostMapper postMapper = mock(PostMapper.class);
+    private final UserMapper userMapper = mock(UserMapper.class);
+
+    @Test
+    void transientFailureRetriesAfterBackoff() {
+        ApproximateCounts counts = new ApproximateCounts(postMapper, userMapper, 0, 1000, 0);
+        when(postMapper.estimateRowCount())
+                .thenThrow(new DeadlineExceededException("请求已超时"))
+                .thenReturn(120L);
+        when(postMapper.countDeleted()).thenReturn(20L);
+        when(postMapper.selectCount(any())).thenReturn(99L);
+
+        ApproximateCounts.Count first = counts.posts(null);
+        assertThat(first.getTotal()).isEqualTo(99);
+        assertThat(first.isApproximate()).isFalse();
+
+        ApproximateCounts.Count second = counts.posts(null);
+        assertThat(second.getTotal()).isEqualTo(100);
+        assertThat(second.isApproximate()).isTrue();
+    }
+
+    @Test
+    void unsupportedStatsAreNotRetried() {
+        ApproximateCounts counts = new ApproximateCounts(postMapper, userMapper, 0, 1000, 0);
+        when(postMapper.estimateRowCount())
+                .thenThrow(new BadSqlGrammarException("estimateRowCount", "SELECT ...", new SQLException("Invalid object name", "42S02", 208)));
+        when(postMapper.selectCount(any())).thenReturn(99L);
+
+        counts.posts(null);
+        counts.posts(null);
+
+        verify(postMapper, times(1)).estimateRowCount();
+        verify(postMapper, times(2)).selectCount(any());
+    }
+}
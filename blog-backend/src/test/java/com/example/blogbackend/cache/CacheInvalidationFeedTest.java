@@ -0,0 +1,49 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.entity.CacheInvalidation;
+import com.example.blogbackend.mapper.CacheInvalidationMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.ApplicationEventPublisher;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CacheInvalidationFeedTest {
+    private final CacheInvalidationMapper invalidationMapper = mock(CacheInvalidationMapper.class);
+    private final ApplicationEventPublisher eventPublisher = mock(ApplicationEventPublisher.class);
+    private final CacheInvalidationFeed feed = new CacheInvalidationFeed(
+            invalidationMapper, eventPublisher, mock(ContentVersionRegistry.class), true, 500, 30, 24);
+
+    @Test
+    void lateCommittedRowBelowCursorIsAppliedOnce() {
+        when(invalidationMapper.findMaxId()).thenReturn(10L);
+        feed.poll();
+
+        // 第 9 条在启动时尚未提交，之后以较早的创建时间出现在游标之前
+        CacheInvalidation late = CacheInvalidation.builder()
+                .invalidationId(9L)
+                .postId(3)
+                .scopes("feed")
+                .sourceNode("other-node")
+                .createdAt(LocalDateTime.now().minusSeconds(5))
+                .build();
+        when(invalidationMapper.findCreatedSince(any(), eq(10L), anyInt())).thenReturn(List.of(late));
+        when(invalidationMapper.findAfter(anyLong(), anyInt())).thenReturn(List.of());
+        feed.poll();
+        feed.poll();
+
+        verify(eventPublisher, times(1)).publishEvent(argThat((Object event) -> event instanceof ContentChangedEvent
+                && ((ContentChangedEvent) event).getPostId() == 3
+                && ((ContentChangedEvent) event).isRemote()));
+    }
+}
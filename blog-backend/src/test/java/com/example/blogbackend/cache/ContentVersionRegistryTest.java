@@ -0,0 +1,66 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.entity.CacheInvalidation;
+import com.example.blogbackend.mapper.CacheInvalidationMapper;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ContentVersionRegistryTest {
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 1, 1, 12, 0);
+
+    private final CacheInvalidationMapper invalidationMapper = mock(CacheInvalidationMapper.class);
+
+    @Test
+    void seededNodesAgreeOnEtags() {
+        when(invalidationMapper.findOldest()).thenReturn(row(11L, null));
+        when(invalidationMapper.findLatestPerPost()).thenReturn(List.of(row(40L, 5)));
+        when(invalidationMapper.findLatestInScope(CacheInvalidationFeed.SCOPE_FEED)).thenReturn(row(40L, null));
+        ContentVersionRegistry first = new ContentVersionRegistry(invalidationMapper, 100);
+        ContentVersionRegistry second = new ContentVersionRegistry(invalidationMapper, 100);
+        first.seed();
+        second.seed();
+
+        assertThat(first.postEtag(5)).isEqualTo(second.postEtag(5)).isEqualTo("\"p5-s-40-10\"");
+        assertThat(first.postEtag(6)).isEqualTo(second.postEtag(6)).isEqualTo("\"p6-s-10-10\"");
+        assertThat(first.feedEtag()).isEqualTo(second.feedEtag());
+
+        // 本地变更与其他节点读到的同一条失效记录推进到相同的版本号
+        ContentChangedEvent local = ContentChangedEvent.comments(6);
+        local.setSequence(41L);
+        ContentChangedEvent remote = new ContentChangedEvent(6, null, true, false, false, true);
+        remote.setSequence(41L);
+        first.onContentChanged(local);
+        second.onContentChanged(remote);
+        assertThat(first.postEtag(6)).isEqualTo(second.postEtag(6)).isEqualTo("\"p6-s-41-10\"");
+    }
+
+    @Test
+    void tooManyPostsRaiseFloorWithoutReusingEtags() {
+        ContentVersionRegistry registry = new ContentVersionRegistry(invalidationMapper, 2);
+        String before = registry.postEtag(1);
+        for (int postId = 1; postId <= 3; postId++) {
+            registry.onContentChanged(ContentChangedEvent.comments(postId));
+        }
+        registry.onContentChanged(ContentChangedEvent.comments(4));
+
+        assertThat(registry.postEtag(1)).isNotEqualTo(before);
+        assertThat(registry.postEtag(4)).isNotEqualTo(registry.postEtag(1));
+        String afterCompaction = registry.postEtag(2);
+        registry.onContentChanged(ContentChangedEvent.comments(2));
+        assertThat(registry.postEtag(2)).isNotEqualTo(afterCompaction);
+    }
+
+    private static CacheInvalidation row(Long invalidationId, Integer postId) {
+        return CacheInvalidation.builder()
+                .invalidationId(invalidationId)
+                .postId(postId)
+                .createdAt(NOW)
+                .build();
+    }
+}
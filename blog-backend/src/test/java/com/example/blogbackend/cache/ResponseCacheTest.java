@@ -0,0 +1,69 @@
+package com.example.blogbackend.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ResponseCacheTest {
+    private final ResponseCache cache = new ResponseCache(10, 60, new SimpleMeterRegistry());
+
+    @Test
+    void invalidationOnlyCancelsPutsWithMatchingTags() {
+        Set<String> detailTags = Set.of(ResponseCache.postTag(1), ResponseCache.TAG_USERS);
+        ResponseCache.Stamp detail = cache.stamp(detailTags);
+        ResponseCache.Stamp tags = cache.stamp(Set.of(ResponseCache.TAG_TAGS));
+
+        cache.invalidate(Set.of(ResponseCache.postTag(2), ResponseCache.TAG_FEED));
+        cache.invalidate(Set.of());
+        assertThat(cache.put("/posts/1", response(detailTags), detail)).isTrue();
+
+        cache.invalidate(Set.of(ResponseCache.TAG_TAGS));
+        assertThat(cache.put("/posts/tags", response(Set.of(ResponseCache.TAG_TAGS)), tags)).isFalse();
+        assertThat(cache.get("/posts/tags")).isNull();
+    }
+
+    @Test
+    void invalidateRemovesEntriesByTag() {
+        Set<String> feedTags = Set.of(ResponseCache.TAG_FEED, ResponseCache.TAG_USERS);
+        Set<String> detailTags = Set.of(ResponseCache.postTag(1), ResponseCache.TAG_USERS);
+        cache.put("/posts", response(feedTags), cache.stamp(feedTags));
+        cache.put("/posts/1", response(detailTags), cache.stamp(detailTags));
+
+        cache.invalidate(Set.of(ResponseCache.postTag(1)));
+        assertThat(cache.get("/posts/1")).isNull();
+        assertThat(cache.get("/posts")).isNotNull();
+
+        cache.invalidate(Set.of(ResponseCache.TAG_USERS));
+        assertThat(cache.size()).isZero();
+    }
+
+    @Test
+    void evictsLeastRecentlyUsedBeyondCapacity() {
+        Set<String> tags = Set.of(ResponseCache.TAG_FEED);
+        cache.put("/posts?page=0", response(tags), cache.stamp(tags));
+        for (int page = 1; page <= 12; page++) {
+            cache.get("/posts?page=0");
+            cache.put("/posts?page=" + page, response(tags), cache.stamp(tags));
+        }
+
+        assertThat(cache.size()).isLessThanOrEqualTo(10);
+        assertThat(cache.get("/posts?page=0")).isNotNull();
+    }
+
+    @Test
+    void expiredEntriesAreMisses() {
+        ResponseCache shortLived = new ResponseCache(10, 0, new SimpleMeterRegistry());
+        Set<String> tags = Set.of(ResponseCache.TAG_TAGS);
+        shortLived.put("/posts/tags", response(tags), shortLived.stamp(tags));
+
+        assertThat(shortLived.get("/posts/tags")).isNull();
+        assertThat(shortLived.size()).isZero();
+    }
+
+    private static CachedResponse response(Set<String> tags) {
+        return new CachedResponse("application/json", null, null, null, new byte[0], tags);
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.blogbackend.cache;
+
+import com.example.blogbackend.deadline.RequestDeadline;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.UnaryOperator;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class SingleFlightTest {
+    private final SingleFlight<Integer, String> flight = new SingleFlight<>("test", UnaryOperator.identity());
+
+    @Test
+    void callersAfterForgetDoNotJoinEarlierLoad() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> before = CompletableFuture.supplyAsync(() -> flight.execute(1, () -> {
+            started.countDown();
+            await(release);
+            return "旧内容";
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        flight.forget(1);
+        String after = flight.execute(1, () -> "新内容");
+        release.countDown();
+
+        assertThat(after).isEqualTo("新内容");
+        assertThat(before.get(5, TimeUnit.SECONDS)).isEqualTo("旧内容");
+    }
+
+    @Test
+    void waiterRetriesWhenLeaderRunsOutOfTime() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<String> leader = CompletableFuture.supplyAsync(() -> {
+            RequestDeadline deadline = RequestDeadline.start(60_000);
+            try {
+                return flight.execute(1, () -> {
+                    started.countDown();
+                    await(release);
+                    deadline.markExceeded();
+                    throw new IllegalStateException("语句超时");
+                });
+            } finally {
+                RequestDeadline.clear();
+            }
+        });
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<String> waiter = CompletableFuture.supplyAsync(() -> flight.execute(1, () -> "重新加载"));
+        while (flight.getCoalesced() == 0) {
+            Thread.sleep(1);
+        }
+        release.countDown();
+
+        assertThat(waiter.get(5, TimeUnit.SECONDS)).isEqualTo("重新加载");
+        assertThat(leader).failsWithin(5, TimeUnit.SECONDS);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.example.blogbackend.datasource;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaHealthTest {
+    private final ReplicaHealth health = new ReplicaHealth(List.of("replica-1", "replica-2"), 5000);
+
+    @Test
+    void choosesOnlyReplicasCaughtUpToRequiredTime() {
+        health.update("replica-1", 0, 1000);
+        health.update("replica-2", 800, 200);
+
+        assertThat(health.choose(500)).isEqualTo("replica-1");
+        assertThat(health.choose(500)).isEqualTo("replica-1");
+        assertThat(health.choose(2000)).isNull();
+        assertThat(List.of(health.choose(0), health.choose(0))).containsExactlyInAnyOrder("replica-1", "replica-2");
+    }
+
+    @Test
+    void laggingOrDownReplicasAreNotChosen() {
+        health.update("replica-1", 6000, 1000);
+        health.update("replica-2", 0, 1000);
+        health.markDown("replica-2");
+
+        assertThat(health.choose(0)).isNull();
+    }
+}
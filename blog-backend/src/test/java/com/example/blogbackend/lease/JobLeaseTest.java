@@ -0,0 +1,42 @@
+package com.example.blogbackend.lease;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class JobLeaseTest {
+    @Autowired
+    private JobLease jobLease;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void ownerCanRenewAndRelease() {
+        assertThat(jobLease.tryAcquire("lease-own", 60)).isTrue();
+        assertThat(jobLease.tryAcquire("lease-own", 60)).isTrue();
+
+        jobLease.release("lease-own");
+
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM JobLeases WHERE Name = 'lease-own'", Integer.class)).isZero();
+    }
+
+    @Test
+    void leaseHeldByAnotherNodeIsRespectedUntilExpired() {
+        jdbcTemplate.update("INSERT INTO JobLeases (Name, Owner, ExpiresAt) VALUES ('lease-other', 'other-node', DATEADD(SECOND, 60, CURRENT_TIMESTAMP))");
+        jdbcTemplate.update("INSERT INTO JobLeases (Name, Owner, ExpiresAt) VALUES ('lease-expired', 'other-node', DATEADD(SECOND, -1, CURRENT_TIMESTAMP))");
+
+        assertThat(jobLease.tryAcquire("lease-other", 60)).isFalse();
+        assertThat(jobLease.tryAcquire("lease-expired", 60)).isTrue();
+
+        // 释放只删除本节点持有的租约
+        jobLease.release("lease-other");
+        assertThat(jdbcTemplate.queryForObject("SELECT Owner FROM JobLeases WHERE Name = 'lease-other'", String.class))
+                .isEqualTo("other-node");
+    }
+}
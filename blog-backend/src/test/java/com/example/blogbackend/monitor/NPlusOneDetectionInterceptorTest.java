@@ -0,0 +1,62 @@
+package com.example.blogbackend.monitor;
+
+import com.example.blogbackend.exception.NPlusOneQueryException;
+import com.example.blogbackend.mapper.UserMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+// 属性不同会启动新的上下文，使用独立的内存库，避免重复执行建表脚本
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:blog-nplusone;MODE=MSSQLServer;DB_CLOSE_DELAY=-1;CASE_INSENSITIVE_IDENTIFIERS=TRUE",
+        "blog.query-tracker.strict=true",
+        "blog.query-tracker.repeat-threshold=3"
+})
+@ActiveProfiles("test")
+class NPlusOneDetectionInterceptorTest {
+    @Autowired
+    private UserMapper userMapper;
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.stop();
+    }
+
+    @Test
+    void strictModeRejectsRepeatedQueries() {
+        QueryTracker tracker = QueryTracker.start();
+        for (int userId = 1; userId <= 3; userId++) {
+            userMapper.selectById(userId);
+        }
+
+        assertThatThrownBy(() -> userMapper.selectById(4))
+                .hasRootCauseInstanceOf(NPlusOneQueryException.class)
+                .hasMessageContaining("UserMapper.selectById");
+        assertThat(tracker.getTotal()).isEqualTo(4);
+    }
+
+    @Test
+    void distinctQueriesStayBelowThreshold() {
+        QueryTracker tracker = QueryTracker.start();
+        for (int i = 0; i < 3; i++) {
+            userMapper.selectById(i);
+            userMapper.countByEmail("user" + i + "@example.com");
+        }
+
+        assertThat(tracker.getRepeated(3)).isEmpty();
+        assertThat(tracker.getTotal()).isEqualTo(6);
+    }
+
+    @Test
+    void sqlShapeIgnoresLiteralsAndListLength() {
+        assertThat(MyBatisSupport.sqlShapeOf("SELECT * FROM Posts WHERE PostId IN (?, ?, ?)"))
+                .isEqualTo(MyBatisSupport.sqlShapeOf("SELECT *  FROM Posts\n WHERE PostId IN (?)"));
+        assertThat(MyBatisSupport.sqlShapeOf("SELECT TOP 10 * FROM Posts WHERE Tags LIKE N'%java%'"))
+                .isEqualTo("SELECT TOP ? * FROM Posts WHERE Tags LIKE ?");
+    }
+}
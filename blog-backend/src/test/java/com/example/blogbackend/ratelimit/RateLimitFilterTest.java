@@ -0,0 +1,55 @@
+package com.example.blogbackend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimitFilterTest {
+
+    @Test
+    void forgedForwardedForEntriesDoNotChangeClientKey() throws Exception {
+        RateLimitFilter filter = filter(1);
+
+        assertThat(login(filter, "198.51.100.1, 203.0.113.7")).isEqualTo(200);
+        assertThat(login(filter, "198.51.100.2, 203.0.113.7")).isEqualTo(429);
+        assertThat(login(filter, "203.0.113.8")).isEqualTo(200);
+    }
+
+    @Test
+    void forwardedForIsIgnoredWithoutTrustedProxies() throws Exception {
+        RateLimitFilter filter = filter(0);
+
+        assertThat(login(filter, "203.0.113.7")).isEqualTo(200);
+        assertThat(login(filter, "203.0.113.8")).isEqualTo(429);
+    }
+
+    private static RateLimitFilter filter(int trustedProxies) {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("login");
+        route.setMethod("POST");
+        route.setPattern("/auth/login");
+        route.setCapacity(1);
+        route.setRefillPerSecond(0.001);
+        route.setPerIp(true);
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setTrustedProxies(trustedProxies);
+        properties.setRoutes(List.of(route));
+        return new RateLimitFilter(properties, new RateLimiter(properties, new SimpleMeterRegistry()));
+    }
+
+    private static int login(RateLimitFilter filter, String forwardedFor) throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/auth/login");
+        request.setServletPath("/auth/login");
+        request.setRemoteAddr("10.0.0.1");
+        request.addHeader("X-Forwarded-For", forwardedFor);
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request, response, new MockFilterChain());
+        return response.getStatus();
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.blogbackend.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RateLimiterTest {
+
+    @Test
+    void newClientsShareOverflowBucketAtCapacity() {
+        RateLimitProperties properties = new RateLimitProperties();
+        properties.setMaxBuckets(2);
+        RateLimiter limiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        RateLimitProperties.Route route = route();
+
+        assertThat(limiter.tryAcquire(route, "ip:1")).isZero();
+        assertThat(limiter.tryAcquire(route, "ip:2")).isZero();
+        // 两个桶都刚被使用、未装满，不能回收
+        assertThat(limiter.tryAcquire(route, "ip:3")).isZero();
+        assertThat(limiter.tryAcquire(route, "ip:4")).isPositive();
+        assertThat(limiter.tryAcquire(route, "ip:1")).isPositive();
+    }
+
+    private static RateLimitProperties.Route route() {
+        RateLimitProperties.Route route = new RateLimitProperties.Route();
+        route.setName("login");
+        route.setCapacity(1);
+        route.setRefillPerSecond(0.001);
+        return route;
+    }
+}
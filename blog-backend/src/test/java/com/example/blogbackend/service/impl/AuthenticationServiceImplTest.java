@@ -0,0 +1,74 @@
+package com.example.blogbackend.service.impl;
+
+import com.example.blogbackend.dto.AuthenticationRequest;
+import com.example.blogbackend.dto.AuthenticationResponse;
+import com.example.blogbackend.dto.RegisterRequest;
+import com.example.blogbackend.monitor.QueryTracker;
+import com.example.blogbackend.service.AuthenticationService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class AuthenticationServiceImplTest {
+    @Autowired
+    private AuthenticationService authenticationService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.stop();
+    }
+
+    @Test
+    void loginIssuesSingleStatement() {
+        register("login-one", "login-one@example.com");
+
+        QueryTracker tracker = QueryTracker.start();
+        AuthenticationResponse response = authenticationService.authenticate(login("login-one@example.com", "secret123"));
+
+        assertThat(response.getToken()).isNotBlank();
+        assertThat(response.getRoles()).containsExactly("ROLE_USER");
+        assertThat(tracker.getTotal()).as(tracker.summary()).isEqualTo(1);
+    }
+
+    @Test
+    void disabledUserIsRejectedBeforePasswordCheck() {
+        register("login-disabled", "login-disabled@example.com");
+        jdbcTemplate.update("UPDATE Users SET Disabled = 1 WHERE Email = ?", "login-disabled@example.com");
+
+        assertThatThrownBy(() -> authenticationService.authenticate(login("login-disabled@example.com", "wrong-password")))
+                .hasMessageContaining("用户已被禁用");
+    }
+
+    @Test
+    void wrongPasswordIsRejected() {
+        register("login-wrong", "login-wrong@example.com");
+
+        assertThatThrownBy(() -> authenticationService.authenticate(login("login-wrong@example.com", "wrong-password")))
+                .hasMessage("密码错误");
+    }
+
+    private void register(String username, String email) {
+        authenticationService.register(RegisterRequest.builder()
+                .username(username)
+                .email(email)
+                .password("secret123")
+                .build());
+    }
+
+    private static AuthenticationRequest login(String email, String password) {
+        return AuthenticationRequest.builder()
+                .email(email)
+                .password(password)
+                .build();
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.blogbackend.service.impl;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class MarkdownServiceImplTest {
+    private final MarkdownServiceImpl markdownService = new MarkdownServiceImpl(100);
+
+    @Test
+    void rawScriptBlockIsEscaped() {
+        String html = markdownService.render("前文\n\n<script>alert('xss')</script>\n\n后文");
+
+        assertThat(html).doesNotContain("<script").contains("&lt;script&gt;");
+    }
+
+    @Test
+    void inlineHtmlEventHandlersAreEscaped() {
+        String html = markdownService.render("图片 <img src=x onerror=\"alert(1)\"> 与 <a href=\"#\" onclick=\"alert(1)\">链接</a>");
+
+        assertThat(html).doesNotContain("<img").doesNotContain("<a ").contains("&lt;img src=x onerror=");
+    }
+
+    @Test
+    void javascriptUrlsAreRemovedFromLinksAndImages() {
+        String html = markdownService.render("[点我](javascript:alert(1)) ![图](javascript:alert(2)) "
+                + "[大小写](JaVaScRiPt:alert(3)) [正常](https://example.com/a?b=1)");
+
+        assertThat(html.toLowerCase()).doesNotContain("javascript:");
+        assertThat(html).contains("<a rel=\"nofollow\" href=\"\">点我</a>")
+                .contains("<img src=\"\" alt=\"图\" />")
+                .contains("<a rel=\"nofollow\" href=\"https://example.com/a?b=1\">正常</a>");
+    }
+
+    @Test
+    void htmlInHeadingsIsEscapedIncludingAnchorIds() {
+        String html = markdownService.render("# 标题 <script>alert(1)</script>\n\n## \"><img src=x onerror=alert(1)>");
+
+        assertThat(html).doesNotContain("<script").doesNotContain("<img");
+        assertThat(html).containsPattern("<h1 id=\"[^\"<>]*\">标题 &lt;script&gt;");
+        assertThat(html).containsPattern("<h2 id=\"[^\"<>]*\">&quot;&gt;&lt;img");
+    }
+
+    @Test
+    void htmlInTableCellsIsEscaped() {
+        String html = markdownService.render("| 列 | 值 |\n| --- | --- |\n| <script>alert(1)</script> | <img src=x onerror=alert(1)> |");
+
+        assertThat(html).contains("<table>").doesNotContain("<script").doesNotContain("<img");
+        assertThat(html).contains("<td>&lt;script&gt;alert(1)&lt;/script&gt;</td>");
+    }
+
+    @Test
+    void contentHashCarriesRendererVersion() {
+        assertThat(markdownService.contentHash("内容")).startsWith(markdownService.hashPrefix())
+                .isNotEqualTo(markdownService.contentHash("内容2"));
+        assertThat(markdownService.render("**粗体**")).isEqualTo("<p><strong>粗体</strong></p>\n");
+    }
+}
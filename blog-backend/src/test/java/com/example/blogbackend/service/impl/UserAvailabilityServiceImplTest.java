@@ -0,0 +1,43 @@
+package com.example.blogbackend.service.impl;
+
+import com.example.blogbackend.monitor.QueryTracker;
+import com.example.blogbackend.service.UserAvailabilityService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class UserAvailabilityServiceImplTest {
+    @Autowired
+    private UserAvailabilityService userAvailabilityService;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @AfterEach
+    void tearDown() {
+        QueryTracker.stop();
+    }
+
+    @Test
+    void rebuildLoadsExistingUsers() {
+        // 绕过服务层写入，只有重建才能让过滤器看到该用户
+        jdbcTemplate.update("INSERT INTO Users (Username, Password, Email) VALUES (?, ?, ?)",
+                "scanned-user", "{noop}secret", "scanned-user@example.com");
+
+        userAvailabilityService.rebuild();
+
+        assertThat(userAvailabilityService.isUsernameTaken("scanned-user")).isTrue();
+        assertThat(userAvailabilityService.isEmailTaken("scanned-user@example.com")).isTrue();
+
+        // 过滤器已就绪时，不存在的用户名不需要查库
+        QueryTracker tracker = QueryTracker.start();
+        assertThat(userAvailabilityService.isUsernameTaken("never-registered-user")).isFalse();
+        assertThat(tracker.getTotal()).isZero();
+    }
+}
@@ -0,0 +1,71 @@
+package com.example.blogbackend.stats;
+
+import org.apache.ibatis.session.SqlSessionFactory;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+class SiteStatisticsTest {
+    @Autowired
+    private SiteStatistics siteStatistics;
+    @Autowired
+    private SqlSessionFactory sqlSessionFactory;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void checkpointMergesPendingCounts() {
+        long before = postsTotal();
+
+        siteStatistics.recordCreated(StatMetric.POSTS);
+        siteStatistics.recordCreated(StatMetric.POSTS);
+        siteStatistics.checkpoint();
+
+        assertThat(siteStatistics.overview(1).get("lastError")).isNull();
+        assertThat(postsTotal()).isEqualTo(before + 2);
+        assertThat(jdbcTemplate.queryForObject("SELECT Total FROM SiteStats WHERE Metric = 'POSTS'", Long.class))
+                .isGreaterThanOrEqualTo(2);
+    }
+
+    @Test
+    void mergesUseTheStatementForCurrentDatabase() {
+        // H2 不支持表提示，加载的是不带 HOLDLOCK 的版本
+        assertThat(sqlSessionFactory.getConfiguration().getDatabaseId()).isEqualTo("h2");
+        String sql = sqlSessionFactory.getConfiguration()
+                .getMappedStatement("com.example.blogbackend.mapper.StatsMapper.mergeTotal")
+                .getSqlSource().getBoundSql(Map.of("metric", "POSTS", "delta", 1L, "updatedAt", "")).getSql();
+        assertThat(sql).doesNotContain("HOLDLOCK");
+    }
+
+    @Test
+    void purgeKeepsRecentActiveUsers() {
+        jdbcTemplate.update("INSERT INTO Users (Username, Password, Email) VALUES (?, ?, ?)",
+                "stats-user", "{noop}secret", "stats-user@example.com");
+        Integer userId = jdbcTemplate.queryForObject("SELECT UserId FROM Users WHERE Username = ?", Integer.class, "stats-user");
+        LocalDate today = LocalDate.now();
+        for (LocalDate date : List.of(today.minusDays(30), today.minusDays(8), today.minusDays(1), today)) {
+            jdbcTemplate.update("INSERT INTO DailyActiveUsers (StatDate, UserId) VALUES (?, ?)", date, userId);
+        }
+
+        siteStatistics.purgeActiveUsers();
+
+        assertThat(jdbcTemplate.queryForList("SELECT StatDate FROM DailyActiveUsers WHERE UserId = ? ORDER BY StatDate",
+                LocalDate.class, userId)).containsExactly(today.minusDays(1), today);
+    }
+
+    @SuppressWarnings("unchecked")
+    private long postsTotal() {
+        Map<String, Object> totals = (Map<String, Object>) siteStatistics.overview(1).get("totals");
+        return (Long) totals.get(StatMetric.POSTS.getKey());
+    }
+}
@@ -0,0 +1,75 @@
+package com.example.blogbackend.util;
+
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ExcerptUtilsTest {
+
+    @Test
+    void plainTextDropsMarkdownSyntax() {
+        String markdown = "# 标题\n\n"
+                + "> 引用的**重点**内容\n\n"
+                + "- 列表项 `inline`\n"
+                + "1. [链接文字](https://example.com) 与 ![图片说明](a.png)\n\n"
+                + "```java\nSystem.out.println(\"code\");\n```\n\n"
+                + "| 列1 | 列2 |\n| --- | :-: |\n| a | b |\n\n"
+                + "[ref]: https://example.com\n";
+
+        assertThat(ExcerptUtils.toPlainText(markdown))
+                .isEqualTo("标题 引用的重点内容 列表项 inline 链接文字 与 图片说明 列1 列2 a b");
+    }
+
+    @Test
+    void plainTextDropsHtmlAndDecodesEntities() {
+        String content = "<p>前文<script>alert('x')</script><!-- 注释 --></p><style>p{}</style>"
+                + "<b>粗体</b> &lt;tag&gt; &amp; &quot;引号&quot;";
+
+        assertThat(ExcerptUtils.toPlainText(content)).isEqualTo("前文 粗体 <tag> & \"引号\"");
+    }
+
+    @Test
+    void plainTextOfEmptyContent() {
+        assertThat(ExcerptUtils.toPlainText(null)).isEmpty();
+        assertThat(ExcerptUtils.toPlainText("")).isEmpty();
+        assertThat(ExcerptUtils.toPlainText("```\n只有代码\n```")).isEmpty();
+    }
+
+    @Test
+    void excerptCountsCjkAsDoubleWidth() {
+        assertThat(ExcerptUtils.excerpt("一二三四五六七八九十", 10)).isEqualTo("一二三四五…");
+        assertThat(ExcerptUtils.excerpt("abcdefghij", 10)).isEqualTo("abcdefghij");
+        assertThat(ExcerptUtils.excerpt("一二三四五", 10)).isEqualTo("一二三四五");
+    }
+
+    @Test
+    void excerptBreaksAtWordBoundary() {
+        assertThat(ExcerptUtils.excerpt("hello world foobar", 14)).isEqualTo("hello world…");
+        assertThat(ExcerptUtils.excerpt("你好，world", 7)).isEqualTo("你好，…");
+    }
+
+    @Test
+    void excerptCutsLongWordWhenBoundaryIsTooEarly() {
+        // 最后一个边界在前半段之前时直接按宽度截断，不为保留整词丢掉大半内容
+        assertThat(ExcerptUtils.excerpt("a supercalifragilistic", 10)).isEqualTo("a supercal…");
+    }
+
+    @Test
+    void excerptKeepsSurrogatePairsIntact() {
+        String text = "ab😀cd😀ef";
+
+        String excerpt = ExcerptUtils.excerpt(text, 3);
+
+        assertThat(excerpt).isEqualTo("ab😀…");
+    }
+
+    @Test
+    void readingMinutesMixesCjkCharactersAndWords() {
+        assertThat(ExcerptUtils.readingMinutes(null)).isEqualTo(1);
+        assertThat(ExcerptUtils.readingMinutes("短文")).isEqualTo(1);
+        assertThat(ExcerptUtils.readingMinutes("字".repeat(600))).isEqualTo(2);
+        assertThat(ExcerptUtils.readingMinutes("word ".repeat(400))).isEqualTo(2);
+        // 300 个汉字 1 分钟，201 个英文单词略超 1 分钟，合计向上取整
+        assertThat(ExcerptUtils.readingMinutes("字".repeat(300) + " word".repeat(201))).isEqualTo(3);
+    }
+}
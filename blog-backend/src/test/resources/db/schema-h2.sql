@@ -0,0 +1,146 @@
+-- 集成测试与压测共用的 H2 表结构（MODE=MSSQLServer），与 src/main/resources/db/init.sql 执行完 ALTER 之后的结构保持一致
+-- 触发器、TagStats 视图等 H2 不支持的对象未包含在内
+
+CREATE TABLE Users (
+    UserId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    Username NVARCHAR(50) NOT NULL UNIQUE,
+    Password NVARCHAR(100) NOT NULL,
+    Email NVARCHAR(100) NOT NULL UNIQUE,
+    Avatar NVARCHAR(200),
+    Bio NVARCHAR(500),
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UpdatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    Disabled BIT NOT NULL DEFAULT 0,
+    DeletedAt DATETIME2,
+    RolesCache NVARCHAR(200)
+);
+
+CREATE TABLE Posts (
+    PostId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    UserId INT NOT NULL,
+    Title NVARCHAR(200) NOT NULL,
+    Content NVARCHAR(1000000) NOT NULL,
+    Summary NVARCHAR(500),
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UpdatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    IsHidden BIT NOT NULL DEFAULT 0,
+    Tags NVARCHAR(500),
+    AuthorName NVARCHAR(100),
+    AuthorAvatar NVARCHAR(500),
+    Excerpt NVARCHAR(300),
+    ReadingMinutes INT,
+    ContentHtml NVARCHAR(1000000),
+    ContentHash NVARCHAR(80),
+    DeletedAt DATETIME2,
+    FOREIGN KEY (UserId) REFERENCES Users(UserId)
+);
+
+CREATE TABLE Favorites (
+    FavoriteId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    UserId INT NOT NULL,
+    PostId INT NOT NULL,
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (UserId) REFERENCES Users(UserId),
+    FOREIGN KEY (PostId) REFERENCES Posts(PostId),
+    UNIQUE (UserId, PostId)
+);
+
+CREATE TABLE Comments (
+    CommentId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    PostId INT NOT NULL,
+    UserId INT NOT NULL,
+    Content NVARCHAR(1000) NOT NULL,
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    UpdatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (PostId) REFERENCES Posts(PostId),
+    FOREIGN KEY (UserId) REFERENCES Users(UserId)
+);
+
+CREATE TABLE Messages (
+    MessageId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    UserId INT NOT NULL,
+    PostId INT NOT NULL,
+    CommentId INT,
+    Type NVARCHAR(20) NOT NULL,
+    IsRead BIT NOT NULL DEFAULT 0,
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (UserId) REFERENCES Users(UserId),
+    FOREIGN KEY (PostId) REFERENCES Posts(PostId),
+    FOREIGN KEY (CommentId) REFERENCES Comments(CommentId)
+);
+
+CREATE INDEX IX_Posts_UserId ON Posts(UserId);
+CREATE INDEX IX_Favorites_UserId ON Favorites(UserId);
+CREATE INDEX IX_Favorites_PostId ON Favorites(PostId);
+CREATE INDEX IX_Comments_PostId ON Comments(PostId);
+CREATE INDEX IX_Comments_UserId ON Comments(UserId);
+CREATE INDEX IX_Messages_UserId ON Messages(UserId);
+CREATE INDEX IX_Messages_PostId ON Messages(PostId);
+CREATE INDEX IX_Messages_CommentId ON Messages(CommentId);
+CREATE INDEX IX_Posts_DeletedAt ON Posts(DeletedAt);
+CREATE INDEX IX_Users_DeletedAt ON Users(DeletedAt);
+CREATE INDEX IX_Posts_CreatedAt_PostId ON Posts(CreatedAt DESC, PostId DESC);
+CREATE INDEX IX_Users_CreatedAt_UserId ON Users(CreatedAt DESC, UserId DESC);
+
+CREATE TABLE Roles (
+    RoleId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    RoleName NVARCHAR(50) NOT NULL UNIQUE,
+    Description NVARCHAR(200),
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE UserRoles (
+    UserRoleId INT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    UserId INT NOT NULL,
+    RoleId INT NOT NULL,
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    FOREIGN KEY (UserId) REFERENCES Users(UserId),
+    FOREIGN KEY (RoleId) REFERENCES Roles(RoleId),
+    UNIQUE (UserId, RoleId)
+);
+
+INSERT INTO Roles (RoleName, Description) VALUES
+('ROLE_ADMIN', '管理员'),
+('ROLE_USER', '普通用户');
+
+CREATE TABLE CacheInvalidations (
+    InvalidationId BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    PostId INT NULL,
+    UserId INT NULL,
+    Scopes NVARCHAR(50) NOT NULL DEFAULT '',
+    SourceNode NVARCHAR(100) NOT NULL,
+    CreatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+CREATE INDEX IX_CacheInvalidations_CreatedAt ON CacheInvalidations(CreatedAt);
+
+CREATE TABLE ReplicationHeartbeat (
+    Id INT PRIMARY KEY,
+    BeatAt BIGINT NOT NULL
+);
+INSERT INTO ReplicationHeartbeat (Id, BeatAt) VALUES (1, 0);
+
+-- 任务租约：多节点部署时一次性后台任务（如旧文章回填）只由持有租约的节点执行
+CREATE TABLE JobLeases (
+    Name NVARCHAR(64) PRIMARY KEY,
+    Owner NVARCHAR(100) NOT NULL,
+    ExpiresAt DATETIME2 NOT NULL
+);
+
+CREATE TABLE SiteStats (
+    Metric NVARCHAR(32) PRIMARY KEY,
+    Total BIGINT NOT NULL DEFAULT 0,
+    UpdatedAt DATETIME2 NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+CREATE TABLE DailyStats (
+    StatDate DATE NOT NULL,
+    Metric NVARCHAR(32) NOT NULL,
+    Total BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (StatDate, Metric)
+);
+
+CREATE TABLE DailyActiveUsers (
+    StatDate DATE NOT NULL,
+    UserId INT NOT NULL,
+    PRIMARY KEY (StatDate, UserId)
+);
@@ -30,12 +30,19 @@ export interface AdminPost {
 export interface PaginatedResponse<T> {
   items: T[]
   total: number
+  // total 为估计值或上限时为 true
+  totalApproximate: boolean
+  // 下一页的游标，没有下一页时为 null
+  nextCursor: string | null
 }
 
-// 获取所有用户列表
-export const getAllUsers = async (page = 1, size = 10, keyword = '') => {
+const cursorQuery = (cursor: string, size: number, keyword: string) =>
+  `cursor=${encodeURIComponent(cursor)}&size=${size}&keyword=${encodeURIComponent(keyword)}`
+
+// 获取用户列表（游标分页，第一页 cursor 为空）
+export const getAllUsers = async (cursor = '', size = 10, keyword = '') => {
   const response = await request.get<any, PaginatedResponse<AdminUser>>(
-    `/admin/users?page=${page}&size=${size}&keyword=${keyword}`
+    `/admin/users?${cursorQuery(cursor, size, keyword)}`
   )
   return response
 }
@@ -60,10 +67,10 @@ export const enableUser = async (userId: number) => {
   return await request.post(`/admin/users/${userId}/enable`)
 }
 
-// 获取所有文章列表
-export const getAllPosts = async (page = 1, size = 10, keyword = '') => {
+// 获取文章列表（游标分页，第一页 cursor 为空）
+export const getAllPosts = async (cursor = '', size = 10, keyword = '') => {
   const response = await request.get<any, PaginatedResponse<AdminPost>>(
-    `/admin/posts?page=${page}&size=${size}&keyword=${keyword}`
+    `/admin/posts?${cursorQuery(cursor, size, keyword)}`
   )
   return response
 }
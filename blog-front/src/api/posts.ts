@@ -16,7 +16,10 @@ export interface Post {
   postId: number
   title: string
   content: string
+  contentHtml?: string  // 服务端预渲染的正文 HTML
   summary?: string
+  excerpt?: string  // 由正文自动生成的纯文本摘录
+  readingMinutes?: number
   tags: string[]
   author: {
     userId: number